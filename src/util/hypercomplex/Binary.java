@@ -39,27 +39,27 @@ public class Binary extends Hypercomplex {
 	/**
 	 * binary number equaling the real number ONE
 	 */
-	public final static Binary ONE = new Binary(1);
+	public final static Binary ONE = frozen(new Binary(1));
 	
 	/**
 	 * binary number equaling the real number ZERO
 	 */
-	public final static Binary ZERO = new Binary();
+	public final static Binary ZERO = frozen(new Binary());
 	
 	/**
 	 * binary number equaling the imaginary number I
 	 */
-	public final static Binary I = new Binary(0, 1);
+	public final static Binary I = frozen(new Binary(0, 1));
 	
 	/**
 	 * binary number equaling the real number E (== euler, not E == sqrt(1) != 1)
 	 */
-	public final static Binary E = new Binary(Math.E);
+	public final static Binary E = frozen(new Binary(Math.E));
 	
 	/**
 	 * binary number equaling (1 - E)/2 (E == sqrt(1) != 1)
 	 */
-	public final static Binary IDEMPOTENT_NEG = new Binary(0.5, -0.5);
+	public final static Binary IDEMPOTENT_NEG = frozen(new Binary(0.5, -0.5));
 	
 	/**
 	 * binary number equaling (1 - E)/2 (E == sqrt(1) != 1)
@@ -69,19 +69,42 @@ public class Binary extends Hypercomplex {
 	/**
 	 * binary number equaling (1 + E)/2 (E == sqrt(1) != 1)
 	 */
-	public final static Binary IDEMPOTENT_POS = new Binary(0.5, 0.5);
+	public final static Binary IDEMPOTENT_POS = frozen(new Binary(0.5, 0.5));
 	
 	/**
 	 * binary number equaling (1 + E)/2 (E == sqrt(1) != 1)
 	 */
 	public final static Binary E2 = IDEMPOTENT_POS;
 	
+	/**
+	 * the (frozen) binary numbers equaling the integers from -128 to 127, see valueOf(int).
+	 */
+	private final static Binary[] SMALL_INTEGERS = new Binary[256];
+	static {
+		for (int i = 0; i < SMALL_INTEGERS.length; ++i) {
+			SMALL_INTEGERS[i] = frozen(new Binary(i - 128));
+		}
+	}
+	
+	/**
+	 * Returns a frozen binary number equaling the given integer.
+	 * The ones from -128 to 127 are shared, so they don't need to be created again.
+	 * @param value the integer
+	 * @return a frozen binary number equaling the given integer
+	 */
+	public static Binary valueOf(int value) {
+		if (value >= -128 && value < 128) {
+			return SMALL_INTEGERS[value + 128];
+		}
+		return frozen(new Binary(value));
+	}
+	
 	/**
 	 * Constructor. Constructs a binary number containing the provided parsable data.
 	 * @param parseData the String-representation of the number
 	 */
 	public Binary(String parseData) {
-		setCartesian(parseHypercomplex(parseData).getCartesian());
+		set(parseHypercomplex(parseData));
 	}
 	
 	/**
@@ -609,6 +632,15 @@ public class Binary extends Hypercomplex {
 		return fromDiagonalBasis(a, b);
 	}
 	
+	/**
+	 * Returns this number kept in the diagonal basis, where all operations are component wise real ones.<br>
+	 * Cheaper for long chains of operations, see BinaryIdempotent.
+	 * @return this number kept in the diagonal basis
+	 */
+	public BinaryIdempotent idempotent() {
+		return BinaryIdempotent.fromCartesian(re(), im());
+	}
+	
 	/**
 	 * Returns a representation of this number as R * (D_R + D_I * E) * e^(phi * E).<br>
 	 * Specifically it returns the parameters R, D_R, D_I, phi.<br>
@@ -729,12 +761,22 @@ public class Binary extends Hypercomplex {
 		return new Binary(Math.cos(re()) * Math.cos(im()), -Math.sin(re()) * Math.sin(im()));
 	}
 
+	/**
+	 * sine and cosine, computed together
+	 * @return {sine, cosine}
+	 */
+	public Binary[] sincos() {
+		double sinRe = Math.sin(re()), cosRe = Math.cos(re()), sinIm = Math.sin(im()), cosIm = Math.cos(im());
+		return new Binary[] {new Binary(sinRe * cosIm, cosRe * sinIm), new Binary(cosRe * cosIm, -sinRe * sinIm)};
+	}
+
 	/**
 	 * hyperbolic sine
 	 * @return hyperbolic sine
 	 */
 	public Binary sinh() {
-		return new Binary(Math.sinh(re()) * Math.cosh(im()), Math.cosh(re()) * Math.sinh(im()));
+		double[] hRe = TrigBundle.coshSinh(re()), hIm = TrigBundle.coshSinh(im());
+		return new Binary(hRe[1] * hIm[0], hRe[0] * hIm[1]);
 	}
 
 	/**
@@ -742,7 +784,17 @@ public class Binary extends Hypercomplex {
 	 * @return hyperbolic cosine
 	 */
 	public Binary cosh() {
-		return new Binary(Math.cosh(re()) * Math.cosh(im()), Math.sinh(re()) * Math.sinh(im()));
+		double[] hRe = TrigBundle.coshSinh(re()), hIm = TrigBundle.coshSinh(im());
+		return new Binary(hRe[0] * hIm[0], hRe[1] * hIm[1]);
+	}
+
+	/**
+	 * hyperbolic sine and hyperbolic cosine, computed together
+	 * @return {hyperbolic sine, hyperbolic cosine}
+	 */
+	public Binary[] sinhcosh() {
+		double[] hRe = TrigBundle.coshSinh(re()), hIm = TrigBundle.coshSinh(im());
+		return new Binary[] {new Binary(hRe[1] * hIm[0], hRe[0] * hIm[1]), new Binary(hRe[0] * hIm[0], hRe[1] * hIm[1])};
 	}
 
 	/**
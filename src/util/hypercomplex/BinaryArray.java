@@ -0,0 +1,226 @@
+package util.hypercomplex;
+
+import java.util.Collection;
+
+/**
+ * Many binary (split-complex) numbers, stored as two columns of doubles.<p>
+ *
+ * <b>examples:</b><br>
+ * BinaryArray z = new BinaryArray(1000); <- a thousand zeros<br>
+ * BinaryArray z = new BinaryArray(re, im); <- uses the given columns (no copy)<br>
+ * z.set(k, 2, 1); <- z[k] = 2 + 1E<br>
+ * z.ln(); <- ln(z[k]) for all k (NaN outside of the principal cone re > |im|)<br>
+ * @see HypercomplexArray
+ * @see Binary
+ */
+public class BinaryArray extends HypercomplexArray<BinaryArray> {
+
+	/**
+	 * Constructor. Constructs an array of the given size holding zeros.
+	 * @param size the number of numbers
+	 */
+	public BinaryArray(int size) {
+		super(size);
+	}
+
+	/**
+	 * Constructor. Constructs an array that uses the provided columns (without copying them).
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 */
+	public BinaryArray(double[] re, double[] im) {
+		super(re, im, 0, Math.min(re.length, im.length));
+	}
+
+	/**
+	 * Constructor. Constructs an array holding the cartesian values of the provided numbers.
+	 * @param values the numbers
+	 */
+	public BinaryArray(Collection<? extends Hypercomplex> values) {
+		super(values.size());
+		fill(values, re, im);
+	}
+
+	private BinaryArray(double[] re, double[] im, int offset, int size) {
+		super(re, im, offset, size);
+	}
+
+	protected BinaryArray create(double[] re, double[] im, int offset, int size) {
+		return new BinaryArray(re, im, offset, size);
+	}
+
+	protected Binary number(double re, double im) {
+		return new Binary(re, im);
+	}
+
+	public Binary get(int k) {
+		return number(re(k), im(k));
+	}
+
+	// ------------------------- ELEMENT WISE CALCULATION -------------------------
+
+	public BinaryArray times(BinaryArray factor) {
+		checkSize(factor);
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, yRe = factor.re, yIm = factor.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = factor.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = yRe[p + k], d = yIm[p + k];
+			rRe[k] = a * c + b * d;
+			rIm[k] = a * d + b * c;
+		}
+		return result;
+	}
+
+	public BinaryArray by(BinaryArray divisor) {
+		checkSize(divisor);
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, yRe = divisor.re, yIm = divisor.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = divisor.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = yRe[p + k], d = yIm[p + k];
+			double det = c * c - d * d;
+			rRe[k] = (a * c - b * d) / det;
+			rIm[k] = (b * c - a * d) / det;
+		}
+		return result;
+	}
+
+	public BinaryArray inverse() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			double det = a * a - b * b;
+			rRe[k] = a / det;
+			rIm[k] = -b / det;
+		}
+		return result;
+	}
+
+	public BinaryArray exp() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double length = Math.exp(xRe[o + k]), b = xIm[o + k];
+			rRe[k] = length * Math.cosh(b);
+			rIm[k] = length * Math.sinh(b);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the natural logarithms of the numbers (NaN outside of the principal cone re > |im|).
+	 * @return the natural logarithms of the numbers
+	 */
+	public BinaryArray ln() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			if (a > Math.abs(b)) {
+				double r = Math.sqrt(a * a - b * b);
+				rRe[k] = Math.log(r);
+				rIm[k] = Hypercomplex.asinh(b / r);
+			} else {
+				rRe[k] = rIm[k] = Double.NaN;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers to the power of the exponents (element wise).
+	 * Inside the principal cone (re > |im|) this is exp(ln(z) * w) in closed form,
+	 * the other numbers are left to {@link Binary#pow(Hypercomplex)}.
+	 * @param w the exponents
+	 * @return the numbers to the power of the exponents
+	 */
+	public BinaryArray pow(BinaryArray w) {
+		checkSize(w);
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, wRe = w.re, wIm = w.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = w.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = wRe[p + k], d = wIm[p + k];
+			if (a > Math.abs(b)) {
+				double r = Math.sqrt(a * a - b * b);
+				double lnR = Math.log(r), lnPhi = Hypercomplex.asinh(b / r);
+				double length = Math.exp(lnR * c + lnPhi * d), angle = lnR * d + lnPhi * c;
+				rRe[k] = length * Math.cosh(angle);
+				rIm[k] = length * Math.sinh(angle);
+			} else {
+				put(new Binary(a, b).pow(new Binary(c, d)), rRe, rIm, k);
+			}
+		}
+		return result;
+	}
+
+	// ------------------------- TRIGONOMETRIC FUNCTIONS -------------------------
+
+	public BinaryArray sin() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.sin(a) * Math.cos(b);
+			rIm[k] = Math.cos(a) * Math.sin(b);
+		}
+		return result;
+	}
+
+	public BinaryArray cos() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.cos(a) * Math.cos(b);
+			rIm[k] = -Math.sin(a) * Math.sin(b);
+		}
+		return result;
+	}
+
+	public BinaryArray sinh() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.sinh(a) * Math.cosh(b);
+			rIm[k] = Math.cosh(a) * Math.sinh(b);
+		}
+		return result;
+	}
+
+	public BinaryArray cosh() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.cosh(a) * Math.cosh(b);
+			rIm[k] = Math.sinh(a) * Math.sinh(b);
+		}
+		return result;
+	}
+
+	public BinaryArray asin() {
+		BinaryArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			double det = a * a - b * b;
+			double root = Math.sqrt((det - 1) * (det - 1) - 4 * b * b);
+			rRe[k] = Math.signum(a) / 2 * Math.acos(root - det);
+			rIm[k] = Math.signum(b) / 2 * Math.acos(root + det);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,442 @@
+package util.hypercomplex;
+
+import java.io.Serializable;
+
+/**
+ * A binary number kept in the diagonal (or null or idempotent) basis: Z = a * (1 - E)/2 + b * (1 + E)/2.<p>
+ *
+ * The bases E1 = (1 - E)/2 and E2 = (1 + E)/2 are idempotent (E1 * E1 == E1, E2 * E2 == E2) and E1 * E2 == 0,
+ * so in this basis the binary algebra is just two independent real numbers:
+ * multiplication, division, powers, exp, ln and all the trigonometric functions work component wise
+ * (f(Z) == f(a) * E1 + f(b) * E2 for any real analytic f).
+ * There are no hyperbolic angles, sectors or euler directions involved.<p>
+ *
+ * So for long chains of binary operations convert once (see {@link Binary#idempotent()}),
+ * calculate with this and convert back at the end (see toBinary()).
+ * Like in {@link Binary}, functions that are undefined for one of the parts (like ln of a number outside the main sector)
+ * return null.<p>
+ *
+ * The numbers are immutable.<p>
+ *
+ * <b>examples:</b><br>
+ * BinaryIdempotent z = new Binary(3, 1).idempotent(); <- a == 2, b == 4<br>
+ * z.times(z).exp().ln().toBinary(); <- (3 + E)²<br>
+ * z.pow(0.5); <- sqrt(2) * E1 + 2 * E2<br>
+ * @see Binary#diagonalBasis()
+ */
+public final class BinaryIdempotent implements Serializable {
+
+	private static final long serialVersionUID = -6207440328311845406L;
+
+	/**
+	 * binary number equaling the real number ONE
+	 */
+	public final static BinaryIdempotent ONE = new BinaryIdempotent(1, 1);
+
+	/**
+	 * binary number equaling the real number ZERO
+	 */
+	public final static BinaryIdempotent ZERO = new BinaryIdempotent(0, 0);
+
+	/**
+	 * binary number equaling (1 - E)/2
+	 */
+	public final static BinaryIdempotent E1 = new BinaryIdempotent(1, 0);
+
+	/**
+	 * binary number equaling (1 + E)/2
+	 */
+	public final static BinaryIdempotent E2 = new BinaryIdempotent(0, 1);
+
+	private final double a;
+	private final double b;
+
+	/**
+	 * Constructor. Constructs the binary number a * (1 - E)/2 + b * (1 + E)/2.
+	 * @param a the factor for (1 - E)/2
+	 * @param b the factor for (1 + E)/2
+	 */
+	public BinaryIdempotent(double a, double b) {
+		this.a = a;
+		this.b = b;
+	}
+
+	/**
+	 * Returns the given number (only its cartesian values) in the diagonal basis.
+	 * @param z the number
+	 * @return the given number in the diagonal basis
+	 */
+	public static BinaryIdempotent valueOf(Hypercomplex z) {
+		return fromCartesian(z.re(), z.im());
+	}
+
+	/**
+	 * Returns the binary number re + im * E in the diagonal basis.
+	 * @param re the real part
+	 * @param im the imaginary part
+	 * @return the binary number re + im * E in the diagonal basis
+	 */
+	public static BinaryIdempotent fromCartesian(double re, double im) {
+		return new BinaryIdempotent(re - im, re + im);
+	}
+
+	/**
+	 * Returns a binary number of the given parts, or null if one of them isn't defined.
+	 */
+	private static BinaryIdempotent defined(double a, double b) {
+		if (Double.isNaN(a) || Double.isNaN(b)) {
+			return null;
+		}
+		return new BinaryIdempotent(a, b);
+	}
+
+	/**
+	 * Returns the factor for (1 - E)/2.
+	 * @return the factor for (1 - E)/2
+	 */
+	public double a() {
+		return a;
+	}
+
+	/**
+	 * Returns the factor for (1 + E)/2.
+	 * @return the factor for (1 + E)/2
+	 */
+	public double b() {
+		return b;
+	}
+
+	/**
+	 * Returns the real part.
+	 * @return the real part
+	 */
+	public double re() {
+		return (a + b) / 2;
+	}
+
+	/**
+	 * Returns the imaginary part.
+	 * @return the imaginary part
+	 */
+	public double im() {
+		return (b - a) / 2;
+	}
+
+	/**
+	 * Returns this number as a Binary.
+	 * @return this number as a Binary
+	 */
+	public Binary toBinary() {
+		return new Binary(re(), im());
+	}
+
+	/**
+	 * Returns the determinant (re² - im² == a * b).
+	 * @return the determinant
+	 */
+	public double det() {
+		return a * b;
+	}
+
+	/**
+	 * Returns true if this number is inside the main sector (re > abs(im), so a > 0 and b > 0).
+	 * Only those numbers have a logarithm and arbitrary powers.
+	 * @return true if this number is inside the main sector
+	 */
+	public boolean isInMainSector() {
+		return a > 0 && b > 0;
+	}
+
+	// ------------------------- ARITHMETIC -------------------------
+
+	/**
+	 * Returns the sum of this and the given number.
+	 * @param other the other number
+	 * @return the sum of this and the given number
+	 */
+	public BinaryIdempotent plus(BinaryIdempotent other) {
+		return new BinaryIdempotent(a + other.a, b + other.b);
+	}
+
+	/**
+	 * Returns the sum of this and the given real number.
+	 * @param other the real number
+	 * @return the sum of this and the given real number
+	 */
+	public BinaryIdempotent plus(double other) {
+		return new BinaryIdempotent(a + other, b + other);
+	}
+
+	/**
+	 * Returns the difference of this and the given number.
+	 * @param other the other number
+	 * @return the difference of this and the given number
+	 */
+	public BinaryIdempotent minus(BinaryIdempotent other) {
+		return new BinaryIdempotent(a - other.a, b - other.b);
+	}
+
+	/**
+	 * Returns the product of this and the given number.
+	 * @param factor the factor
+	 * @return the product of this and the given number
+	 */
+	public BinaryIdempotent times(BinaryIdempotent factor) {
+		return new BinaryIdempotent(a * factor.a, b * factor.b);
+	}
+
+	/**
+	 * Returns the product of this and the given real factor.
+	 * @param factor the real factor
+	 * @return the product of this and the given real factor
+	 */
+	public BinaryIdempotent times(double factor) {
+		return new BinaryIdempotent(a * factor, b * factor);
+	}
+
+	/**
+	 * Returns the quotient of this and the given number.
+	 * @param divisor the divisor
+	 * @return the quotient of this and the given number
+	 */
+	public BinaryIdempotent by(BinaryIdempotent divisor) {
+		return new BinaryIdempotent(a / divisor.a, b / divisor.b);
+	}
+
+	/**
+	 * Returns the quotient of this and the given real divisor.
+	 * @param divisor the real divisor
+	 * @return the quotient of this and the given real divisor
+	 */
+	public BinaryIdempotent by(double divisor) {
+		return new BinaryIdempotent(a / divisor, b / divisor);
+	}
+
+	/**
+	 * Returns the (binary) inverse.
+	 * @return the (binary) inverse
+	 */
+	public BinaryIdempotent inverse() {
+		return new BinaryIdempotent(1 / a, 1 / b);
+	}
+
+	/**
+	 * Returns the binary conjugate (re - im * E, so the parts are swapped).
+	 * @return the binary conjugate
+	 */
+	public BinaryIdempotent conjugate() {
+		return new BinaryIdempotent(b, a);
+	}
+
+	/**
+	 * Returns the negative of this number.
+	 * @return the negative of this number
+	 */
+	public BinaryIdempotent negate() {
+		return new BinaryIdempotent(-a, -b);
+	}
+
+	// ------------------------- POWERS AND LOGARITHMS -------------------------
+
+	/**
+	 * Returns e to the power of this number.
+	 * @return e to the power of this number
+	 */
+	public BinaryIdempotent exp() {
+		return new BinaryIdempotent(Math.exp(a), Math.exp(b));
+	}
+
+	/**
+	 * Returns the natural logarithm (null outside the main sector).
+	 * @return the natural logarithm
+	 */
+	public BinaryIdempotent ln() {
+		if (!isInMainSector()) {
+			return null;
+		}
+		return new BinaryIdempotent(Math.log(a), Math.log(b));
+	}
+
+	/**
+	 * Returns the logarithm to the given base (null if one of the logarithms doesn't exist).
+	 * @param base the base
+	 * @return the logarithm to the given base
+	 */
+	public BinaryIdempotent log(BinaryIdempotent base) {
+		if (!isInMainSector() || !base.isInMainSector()) {
+			return null;
+		}
+		return new BinaryIdempotent(Math.log(a) / Math.log(base.a), Math.log(b) / Math.log(base.b));
+	}
+
+	/**
+	 * Returns this number to the given real power
+	 * (null if one part is negative and the power isn't an integer).
+	 * @param p the power
+	 * @return this number to the given real power
+	 */
+	public BinaryIdempotent pow(double p) {
+		return defined(Math.pow(a, p), Math.pow(b, p));
+	}
+
+	/**
+	 * Returns this number to the given power.
+	 * Outside the main sector only real integer powers exist, otherwise null is returned.
+	 * @param w the power
+	 * @return this number to the given power
+	 */
+	public BinaryIdempotent pow(BinaryIdempotent w) {
+		if (w.a == w.b) {
+			return pow(w.a);
+		}
+		if (!isInMainSector()) {
+			return null;
+		}
+		return new BinaryIdempotent(Math.pow(a, w.a), Math.pow(b, w.b));
+	}
+
+	/**
+	 * Returns the principal square root (null outside the main sector and its border).
+	 * @return the principal square root
+	 */
+	public BinaryIdempotent sqrt() {
+		return defined(Math.sqrt(a), Math.sqrt(b));
+	}
+
+	// ------------------------- TRIGONOMETRIC FUNCTIONS -------------------------
+
+	/**
+	 * sine
+	 * @return sine
+	 */
+	public BinaryIdempotent sin() {
+		return new BinaryIdempotent(Math.sin(a), Math.sin(b));
+	}
+
+	/**
+	 * cosine
+	 * @return cosine
+	 */
+	public BinaryIdempotent cos() {
+		return new BinaryIdempotent(Math.cos(a), Math.cos(b));
+	}
+
+	/**
+	 * tangent
+	 * @return tangent
+	 */
+	public BinaryIdempotent tan() {
+		return new BinaryIdempotent(Math.tan(a), Math.tan(b));
+	}
+
+	/**
+	 * hyperbolic sine
+	 * @return hyperbolic sine
+	 */
+	public BinaryIdempotent sinh() {
+		return new BinaryIdempotent(Math.sinh(a), Math.sinh(b));
+	}
+
+	/**
+	 * hyperbolic cosine
+	 * @return hyperbolic cosine
+	 */
+	public BinaryIdempotent cosh() {
+		return new BinaryIdempotent(Math.cosh(a), Math.cosh(b));
+	}
+
+	/**
+	 * hyperbolic tangent
+	 * @return hyperbolic tangent
+	 */
+	public BinaryIdempotent tanh() {
+		return new BinaryIdempotent(Math.tanh(a), Math.tanh(b));
+	}
+
+	/**
+	 * inverse sine (null if a part isn't within [-1, 1])
+	 * @return inverse sine
+	 */
+	public BinaryIdempotent asin() {
+		return defined(Math.asin(a), Math.asin(b));
+	}
+
+	/**
+	 * inverse cosine (null if a part isn't within [-1, 1])
+	 * @return inverse cosine
+	 */
+	public BinaryIdempotent acos() {
+		return defined(Math.acos(a), Math.acos(b));
+	}
+
+	/**
+	 * inverse tangent
+	 * @return inverse tangent
+	 */
+	public BinaryIdempotent atan() {
+		return new BinaryIdempotent(Math.atan(a), Math.atan(b));
+	}
+
+	/**
+	 * inverse hyperbolic sine
+	 * @return inverse hyperbolic sine
+	 */
+	public BinaryIdempotent asinh() {
+		return new BinaryIdempotent(Hypercomplex.asinh(a), Hypercomplex.asinh(b));
+	}
+
+	/**
+	 * inverse hyperbolic cosine (null if a part is smaller than 1)
+	 * @return inverse hyperbolic cosine
+	 */
+	public BinaryIdempotent acosh() {
+		return defined(Hypercomplex.acosh(a), Hypercomplex.acosh(b));
+	}
+
+	/**
+	 * inverse hyperbolic tangent (null if a part isn't within (-1, 1))
+	 * @return inverse hyperbolic tangent
+	 */
+	public BinaryIdempotent atanh() {
+		return defined(atanh(a), atanh(b));
+	}
+
+	private static double atanh(double x) {
+		if (Math.abs(x) >= 1) {
+			return Double.NaN;
+		}
+		return 0.5 * Math.log((1 + x) / (1 - x));
+	}
+
+	// ------------------------- OBJECT -------------------------
+
+	/**
+	 * Returns true if the given object is a BinaryIdempotent with exactly the same parts.
+	 * @param obj the other object
+	 * @return true if the given object is a BinaryIdempotent with exactly the same parts
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof BinaryIdempotent)) {
+			return false;
+		}
+		BinaryIdempotent other = (BinaryIdempotent)obj;
+		return Double.compare(a, other.a) == 0 && Double.compare(b, other.b) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		long bits = Double.doubleToLongBits(a) * 31 + Double.doubleToLongBits(b);
+		return (int)(bits ^ (bits >>> 32));
+	}
+
+	/**
+	 * Returns a String representing this number (like Binary does).
+	 * @return a String representing this number
+	 */
+	@Override
+	public String toString() {
+		return toBinary().toString();
+	}
+
+}
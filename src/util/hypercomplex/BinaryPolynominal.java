@@ -0,0 +1,127 @@
+package util.hypercomplex;
+
+import java.util.ArrayList;
+
+/**
+ * A polynominal with binary coefficients: p(z) = c[0] + c[1] * z + ... + c[n] * z^n.<p>
+ *
+ * In the diagonal basis (A * (1/2 - 1/2*E) + B * (1/2 + 1/2*E)) the binary numbers multiply component wise,
+ * so p splits into two real polynominals: one of the A parts and one of the B parts of the coefficients.
+ * A binary number z is a root of p exactly if its A part is a (real) root of the first one
+ * and its B part is a (real) root of the second one.
+ * So the roots of both real polynominals are found (see {@link Polynominal}) and all real ones are paired up.
+ * Unlike the complex case there may be none, or more than the degree.<p>
+ *
+ * <b>examples:</b><br>
+ * BinaryPolynominal p = new BinaryPolynominal(new Binary(-1), new Binary(0), new Binary(1)); <- z² - 1<br>
+ * p.roots(); <- 1, -1, E and -E<br>
+ * @see Binary#diagonalBasis()
+ */
+public class BinaryPolynominal {
+
+	/**
+	 * the imaginary part up to which a root of one of the two real polynominals counts as real
+	 */
+	public static final double REAL_TOLERANCE = 1e-8;
+
+	private final Polynominal a;
+	private final Polynominal b;
+
+	/**
+	 * Constructor. Constructs the polynominal with the given coefficients (starting with the constant one).
+	 * @param coefficients the coefficients of z^0, z^1, ...
+	 */
+	public BinaryPolynominal(Binary... coefficients) {
+		double[] aCoefficients = new double[coefficients.length], bCoefficients = new double[coefficients.length];
+		for (int k = 0; k < coefficients.length; ++k) {
+			ArrayList<Double> diagonal = coefficients[k].diagonalBasis();
+			aCoefficients[k] = diagonal.get(0);
+			bCoefficients[k] = diagonal.get(1);
+		}
+		a = new Polynominal(aCoefficients);
+		b = new Polynominal(bCoefficients);
+	}
+
+	/**
+	 * Returns the real polynominal of the (1 - E)/2 parts.
+	 * @return the real polynominal of the (1 - E)/2 parts
+	 */
+	public Polynominal diagonalA() {
+		return a;
+	}
+
+	/**
+	 * Returns the real polynominal of the (1 + E)/2 parts.
+	 * @return the real polynominal of the (1 + E)/2 parts
+	 */
+	public Polynominal diagonalB() {
+		return b;
+	}
+
+	/**
+	 * Returns the degree (the higher one of the two real polynominals).
+	 * @return the degree
+	 */
+	public int degree() {
+		return Math.max(a.degree(), b.degree());
+	}
+
+	/**
+	 * Returns p(z) (horner scheme on both parts).
+	 * @param z the argument
+	 * @return p(z)
+	 */
+	public Binary evaluate(Binary z) {
+		ArrayList<Double> diagonal = z.diagonalBasis();
+		return Binary.fromDiagonalBasis(a.evaluate(new Complex(diagonal.get(0))).re(), b.evaluate(new Complex(diagonal.get(1))).re());
+	}
+
+	/**
+	 * Returns all roots: every pair of a real root of the A part and a real root of the B part.
+	 * If one of the parts is constant zero, every number is a root of it, so there are infinitely many roots
+	 * (and null is returned) unless the other part has no real root at all.
+	 * @return all roots (or null if there are infinitely many)
+	 */
+	public BinaryArray roots() {
+		boolean aZero = isZero(a), bZero = isZero(b);
+		double[] aRoots = aZero ? null : realRoots(a), bRoots = bZero ? null : realRoots(b);
+		if ((aZero && (bZero || bRoots.length > 0)) || (bZero && aRoots.length > 0)) {
+			return null;
+		}
+		if (aZero || bZero) {
+			return new BinaryArray(0);
+		}
+		BinaryArray result = new BinaryArray(aRoots.length * bRoots.length);
+		int k = 0;
+		for (double aRoot : aRoots) {
+			for (double bRoot : bRoots) {
+				result.set(k++, Binary.fromDiagonalBasis(aRoot, bRoot));
+			}
+		}
+		return result;
+	}
+
+	private static boolean isZero(Polynominal p) {
+		return p.degree() == 0 && p.coefficient(0).re() == 0;
+	}
+
+	private static double[] realRoots(Polynominal p) {
+		ComplexArray roots = p.roots();
+		double[] result = new double[roots.size()];
+		int count = 0;
+		for (int k = 0; k < roots.size(); ++k) {
+			if (Math.abs(roots.im(k)) <= REAL_TOLERANCE * Math.max(1, Math.abs(roots.re(k)))) {
+				result[count++] = roots.re(k);
+			}
+		}
+		double[] trimmed = new double[count];
+		System.arraycopy(result, 0, trimmed, 0, count);
+		return trimmed;
+	}
+
+	@Override
+	public String toString() {
+		return "A: " + a + ", B: " + b;
+	}
+
+}
@@ -85,16 +85,6 @@ public class Complex extends Hypercomplex {
 	 */
 	private static final long serialVersionUID = -7717000598475609597L;
 
-	/**
-	 * the cartesian version of this vector.
-	 */
-	private Cartesian2D cartVec = null;
-
-	/**
-	 * the polynominal version of this vector.
-	 */
-	private Polynominal2D polVec = null;
-
 	// ------------------------- STATIC INTERFACE (CONSTANTS) -------------------------
 	
 	/**
@@ -105,22 +95,45 @@ public class Complex extends Hypercomplex {
 	/**
 	 * complex number equaling the real number ONE
 	 */
-	public final static Complex ONE = new Complex(1);
+	public final static Complex ONE = frozen(new Complex(1));
 	
 	/**
 	 * complex number equaling the real number ZERO
 	 */
-	public final static Complex ZERO = new Complex();
+	public final static Complex ZERO = frozen(new Complex());
 	
 	/**
 	 * complex number equaling the imaginary number I
 	 */
-	public final static Complex I = new Complex(0, 1);
+	public final static Complex I = frozen(new Complex(0, 1));
 	
 	/**
 	 * complex number equaling the real number E
 	 */
-	public final static Complex E = new Complex(Math.E);
+	public final static Complex E = frozen(new Complex(Math.E));
+	
+	/**
+	 * the (frozen) complex numbers equaling the integers from -128 to 127, see valueOf(int).
+	 */
+	private final static Complex[] SMALL_INTEGERS = new Complex[256];
+	static {
+		for (int i = 0; i < SMALL_INTEGERS.length; ++i) {
+			SMALL_INTEGERS[i] = frozen(new Complex(i - 128));
+		}
+	}
+	
+	/**
+	 * Returns a frozen complex number equaling the given integer.
+	 * The ones from -128 to 127 are shared, so they don't need to be created again.
+	 * @param value the integer
+	 * @return a frozen complex number equaling the given integer
+	 */
+	public static Complex valueOf(int value) {
+		if (value >= -128 && value < 128) {
+			return SMALL_INTEGERS[value + 128];
+		}
+		return frozen(new Complex(value));
+	}
 
 	// ------------------------- STATIC INTERFACE (FUNCTIONS) -------------------------
 	
@@ -189,7 +202,7 @@ public class Complex extends Hypercomplex {
 	 * @param parseData the String-representation of the number
 	 */
 	public Complex(String parseData) {
-		setCartesian(parseHypercomplex(parseData).getCartesian());
+		set(parseHypercomplex(parseData));
 	}
 	
 	/**
@@ -247,106 +260,6 @@ public class Complex extends Hypercomplex {
 		return new Complex(c.re(), c.im());
 	}
 
-	// ------------------------- PRIVATE SETTER -------------------------
-
-	/**
-	 * Set the vector with cartesian parameters.
-	 * @param cart the cartesian vector
-	 */
-	protected void setCartesian(Cartesian2D cart) {
-		if (cartVec == null) {
-			cartVec = new Cartesian2D();
-		}
-		cartVec.set(0, cart.get(0));
-		cartVec.set(1, cart.get(1));
-		polVec = cartVec.getPolynominal();
-	}
-
-	/**
-	 * Set the vector with polynominal parameters.
-	 * @param pol the polynominal vector
-	 */
-	private void setPolynominal(Polynominal2D pol) {
-		if (polVec == null) {
-			polVec = new Polynominal2D();
-		}
-		polVec.set(0, pol.get(0));
-		polVec.set(1, pol.get(1));
-		polVec.checkDirectionAndAngle();
-		cartVec = polVec.getCartesian();
-	}
-
-	// ------------------------- NON-STATIC INTERFACE (VALUE SETTING) -------------------------
-	
-	/**
-	 * Copies the values of the given vector into this vector.
-	 * @param original the vector that is to copy
-	 */
-	public void set(Hypercomplex original) {
-		setCartesian(original.getCartesian());
-	}
-
-	/**
-	 * Set the vector with cartesian parameters.
-	 * @param x the x ordinate of the vector
-	 * @param y the y ordinate of the vector
-	 */
-	public void setCartesian(double x, double y) {
-		if (cartVec == null) {
-			cartVec = new Cartesian2D();
-		}
-		cartVec.set(0, x);
-		cartVec.set(1, y);
-		polVec = cartVec.getPolynominal();
-	}
-
-	/**
-	 * Set the vector with polynominal parameters.
-	 * @param r the length of the vector
-	 * @param phi the angle of the vector
-	 */
-	public void setPolynominal(double r, double phi) {
-		if (polVec == null) {
-			polVec = new Polynominal2D();
-		}
-		polVec.set(0, r);
-		polVec.set(1, phi);
-		polVec.checkDirectionAndAngle();
-		cartVec = polVec.getCartesian();
-	}
-
-	/**
-	 * Set the real part of this complex number.
-	 * @param real the real part
-	 */
-	public void setReal(double real) {
-		setCartesian(real, im());
-	}
-
-	/**
-	 * Set the imaginary part of this complex number.
-	 * @param imaginary the real part
-	 */
-	public void setImaginary(double imaginary) {
-		setCartesian(re(), imaginary);
-	}
-
-	/**
-	 * Set the length of this complex number.
-	 * @param r the length
-	 */
-	public void setR(double r) {
-		setPolynominal(r, phi());
-	}
-
-	/**
-	 * Set the angle of this complex number.
-	 * @param phi the angle
-	 */
-	public void setPhi(double phi) {
-		setPolynominal(r(), phi);
-	}
-
 	// ------------------------- NON-STATIC INTERFACE (COMPLEX CALCULATION) -------------------------
 
 	/**
@@ -355,10 +268,7 @@ public class Complex extends Hypercomplex {
 	 * @return a vector that is the sum of this vector and the given vector
 	 */
 	public Complex plus(Hypercomplex other) {
-		Complex result = new Complex();
-		result.setCartesian(getCartesian().plus(other.getCartesian()));
-		result.setPolynominal(result.getCartesian().getPolynominal());
-		return result;
+		return new Complex(re() + other.re(), im() + other.im());
 	}
 
 	/**
@@ -367,10 +277,7 @@ public class Complex extends Hypercomplex {
 	 * @return a vector that is the difference of this vector and the given vector
 	 */
 	public Complex minus(Hypercomplex other) {
-		Complex result = new Complex();
-		result.setCartesian(getCartesian().minus(other.getCartesian()));
-		result.setPolynominal(result.getCartesian().getPolynominal());
-		return result;
+		return new Complex(re() - other.re(), im() - other.im());
 	}
 
 	/**
@@ -379,10 +286,7 @@ public class Complex extends Hypercomplex {
 	 * @return a vector that is the product of this vector and the given factor
 	 */
 	public Complex times(double factor) {
-		Complex result = (new Complex());
-		result.setPolynominal(getPolynominal().times(factor));
-		result.setCartesian(result.getPolynominal().getCartesian());
-		return result;
+		return new Complex(re() * factor, im() * factor);
 	}
 
 	/**
@@ -391,10 +295,7 @@ public class Complex extends Hypercomplex {
 	 * @return a vector that is the quotient of this vector and the given divisor
 	 */
 	public Complex by(double divisor) {
-		Complex result = new Complex();
-		result.setPolynominal(getPolynominal().by(divisor));
-		result.setCartesian(result.getPolynominal().getCartesian());
-		return result;
+		return new Complex(re() / divisor, im() / divisor);
 	}
 
 	/**
@@ -670,10 +571,7 @@ public class Complex extends Hypercomplex {
 	 * @return a copy of the vector that is that is turned by the provided angle
 	 */
 	public Complex turnedBy(double rad) {
-		Complex result = new Complex();
-		result.setPolynominal(getPolynominal().turnedBy(rad));
-		result.setCartesian(result.getPolynominal().getCartesian());
-		return result;
+		return new Complex("p", r(), phi() + rad);
 	}
 
 	/**
@@ -682,7 +580,7 @@ public class Complex extends Hypercomplex {
 	 * @return the dot product of this vector with the provided vector
 	 */
 	public double dot(Hypercomplex other) {
-		return getCartesian().dot(other.getCartesian());
+		return re() * other.re() + im() * other.im();
 	}
 
 	/**
@@ -800,100 +698,6 @@ public class Complex extends Hypercomplex {
 	}
 
 	// ------------------------- MERE GETTER FUNCTIONS -------------------------
-
-	/**
-	 * Returns the cartesian version of this vector
-	 * @return the cartesian version of this vector
-	 */
-	public Cartesian2D getCartesian() {
-		if (cartVec == null) {
-			cartVec = polVec.getCartesian();
-		}
-		return cartVec;
-	}
-
-	/**
-	 * Returns the polynominal version of this vector
-	 * @return the polynominal version of this vector
-	 */
-	public Polynominal2D getPolynominal() {
-		if (polVec == null) {
-			polVec = cartVec.getPolynominal();
-		}
-		return polVec;
-	}
-
-	/**
-	 * Returns the (cartesian) x ordinate of this vector.
-	 * @return the (cartesian) x ordinate of this vector
-	 */
-	public double x() { return getCartesian().getX(); }
-
-	/**
-	 * Returns the (cartesian) y ordinate of this vector.
-	 * @return the (cartesian) y ordinate of this vector
-	 */
-	public double y() { return getCartesian().getY(); }
-
-	/**
-	 * Returns the (polynominal) length of this vector.
-	 * @return the (polynominal) length of this vector
-	 */
-	public double length() { return getPolynominal().getLength(); }
-
-	/**
-	 * Returns the (polynominal) length of this vector.
-	 * @return the (polynominal) length of this vector
-	 */
-	public double r() { return length(); }
-
-	/**
-	 * Returns the (polynominal) length of this vector.
-	 * @return the (polynominal) length of this vector
-	 */
-	public double abs() { return length(); }
-
-	/**
-	 * Returns the (polynominal) angle/direction of this vector.
-	 * @return the (polynominal) angle/direction of this vector
-	 */
-	public double direction() { return getPolynominal().getDirection(); }
-
-	/**
-	 * Returns the (polynominal) angle/direction of this vector.
-	 * @return the (polynominal) angle/direction of this vector
-	 */
-	public double angle() { return getPolynominal().getDirection(); }
-
-	/**
-	 * Returns the (polynominal) angle/direction of this vector.
-	 * @return the (polynominal) angle/direction of this vector
-	 */
-	public double phi() { return direction(); }
-
-	/**
-	 * Returns the real part of this complex number.
-	 * @return the real part of this complex number
-	 */
-	public double real() { return x(); }
-
-	/**
-	 * Returns the real part of this complex number.
-	 * @return the real part of this complex number
-	 */
-	public double re() { return x(); }
-
-	/**
-	 * Returns the imaginary part of this complex number.
-	 * @return the imaginary part of this complex number
-	 */
-	public double imaginary() { return y(); }
-
-	/**
-	 * Returns the imaginary part of this complex number.
-	 * @return the imaginary part of this complex number
-	 */
-	public double im() { return y(); }
 	
 	/**
 	 * Returns the angle phi for the Z = r * e^(phi * i) equation (with positive r).
@@ -954,7 +758,8 @@ public class Complex extends Hypercomplex {
 	 * @return sine
 	 */
 	public Complex sin() {
-		return new Complex(Math.sin(re()) * Math.cosh(im()), Math.cos(re()) * Math.sinh(im()));
+		double[] h = TrigBundle.coshSinh(im());
+		return new Complex(Math.sin(re()) * h[0], Math.cos(re()) * h[1]);
 	}
 	
 	/**
@@ -962,7 +767,18 @@ public class Complex extends Hypercomplex {
 	 * @return cosine
 	 */
 	public Complex cos() {
-		return new Complex(Math.cos(re()) * Math.cosh(im()), -Math.sin(re()) * Math.sinh(im()));
+		double[] h = TrigBundle.coshSinh(im());
+		return new Complex(Math.cos(re()) * h[0], -Math.sin(re()) * h[1]);
+	}
+
+	/**
+	 * sine and cosine, computed together
+	 * @return {sine, cosine}
+	 */
+	public Complex[] sincos() {
+		double sin = Math.sin(re()), cos = Math.cos(re());
+		double[] h = TrigBundle.coshSinh(im());
+		return new Complex[] {new Complex(sin * h[0], cos * h[1]), new Complex(cos * h[0], -sin * h[1])};
 	}
 
 	/**
@@ -1028,7 +844,8 @@ public class Complex extends Hypercomplex {
 	 * @return hyperbolic sine
 	 */
 	public Complex sinh() {
-		return new Complex(Math.sinh(re()) * Math.cos(im()), Math.cosh(re()) * Math.sin(im()));
+		double[] h = TrigBundle.coshSinh(re());
+		return new Complex(h[1] * Math.cos(im()), h[0] * Math.sin(im()));
 	}
 
 	/**
@@ -1036,7 +853,18 @@ public class Complex extends Hypercomplex {
 	 * @return hyperbolic cosine
 	 */
 	public Complex cosh() {
-		return new Complex(Math.cosh(re()) * Math.cos(im()), Math.sinh(re()) * Math.sin(im()));
+		double[] h = TrigBundle.coshSinh(re());
+		return new Complex(h[0] * Math.cos(im()), h[1] * Math.sin(im()));
+	}
+
+	/**
+	 * hyperbolic sine and hyperbolic cosine, computed together
+	 * @return {hyperbolic sine, hyperbolic cosine}
+	 */
+	public Complex[] sinhcosh() {
+		double sin = Math.sin(im()), cos = Math.cos(im());
+		double[] h = TrigBundle.coshSinh(re());
+		return new Complex[] {new Complex(h[1] * cos, h[0] * sin), new Complex(h[0] * cos, h[1] * sin)};
 	}
 
 	/**
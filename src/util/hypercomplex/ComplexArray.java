@@ -0,0 +1,243 @@
+package util.hypercomplex;
+
+import java.util.Collection;
+
+/**
+ * Many complex numbers, stored as two columns of doubles.<p>
+ *
+ * <b>examples:</b><br>
+ * ComplexArray z = new ComplexArray(1000); <- a thousand zeros<br>
+ * ComplexArray z = new ComplexArray(re, im); <- uses the given columns (no copy)<br>
+ * z.set(k, 1, 2); <- z[k] = 1 + 2i<br>
+ * z.exp().times(Complex.I); <- i * e^z[k] for all k<br>
+ * @see HypercomplexArray
+ * @see Complex
+ */
+public class ComplexArray extends HypercomplexArray<ComplexArray> {
+
+	/**
+	 * Constructor. Constructs an array of the given size holding zeros.
+	 * @param size the number of numbers
+	 */
+	public ComplexArray(int size) {
+		super(size);
+	}
+
+	/**
+	 * Constructor. Constructs an array that uses the provided columns (without copying them).
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 */
+	public ComplexArray(double[] re, double[] im) {
+		super(re, im, 0, Math.min(re.length, im.length));
+	}
+
+	/**
+	 * Constructor. Constructs an array holding the cartesian values of the provided numbers.
+	 * @param values the numbers
+	 */
+	public ComplexArray(Collection<? extends Hypercomplex> values) {
+		super(values.size());
+		fill(values, re, im);
+	}
+
+	private ComplexArray(double[] re, double[] im, int offset, int size) {
+		super(re, im, offset, size);
+	}
+
+	protected ComplexArray create(double[] re, double[] im, int offset, int size) {
+		return new ComplexArray(re, im, offset, size);
+	}
+
+	protected Complex number(double re, double im) {
+		return new Complex(re, im);
+	}
+
+	public Complex get(int k) {
+		return number(re(k), im(k));
+	}
+
+	// ------------------------- ELEMENT WISE CALCULATION -------------------------
+
+	public ComplexArray times(ComplexArray factor) {
+		checkSize(factor);
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, yRe = factor.re, yIm = factor.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = factor.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = yRe[p + k], d = yIm[p + k];
+			rRe[k] = a * c - b * d;
+			rIm[k] = a * d + b * c;
+		}
+		return result;
+	}
+
+	public ComplexArray by(ComplexArray divisor) {
+		checkSize(divisor);
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, yRe = divisor.re, yIm = divisor.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = divisor.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = yRe[p + k], d = yIm[p + k];
+			double det = c * c + d * d;
+			rRe[k] = (a * c + b * d) / det;
+			rIm[k] = (b * c - a * d) / det;
+		}
+		return result;
+	}
+
+	public ComplexArray inverse() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			double det = a * a + b * b;
+			rRe[k] = a / det;
+			rIm[k] = -b / det;
+		}
+		return result;
+	}
+
+	public ComplexArray exp() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double length = Math.exp(xRe[o + k]), b = xIm[o + k];
+			rRe[k] = length * Math.cos(b);
+			rIm[k] = length * Math.sin(b);
+		}
+		return result;
+	}
+
+	public ComplexArray ln() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			double r = Math.sqrt(a * a + b * b);
+			rRe[k] = Math.log(r);
+			rIm[k] = phi(a, b, r);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers to the power of p (principal values), like {@link Complex#pow(double)}.
+	 * @param p the real exponent
+	 * @return the numbers to the power of p
+	 */
+	public ComplexArray pow(double p) {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			double r = Math.sqrt(a * a + b * b);
+			double length = Math.pow(r, p), angle = phi(a, b, r) * p;
+			rRe[k] = length * Math.cos(angle);
+			rIm[k] = length * Math.sin(angle);
+		}
+		return result;
+	}
+
+	public ComplexArray pow(ComplexArray w) {
+		checkSize(w);
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, wRe = w.re, wIm = w.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = w.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = wRe[p + k], d = wIm[p + k];
+			double r = Math.sqrt(a * a + b * b), phi = phi(a, b, r);
+			// |z^w| = r^c * e^(-d * phi), arg(z^w) = d * ln(r) + c * phi
+			double length = Math.pow(r, c) * Math.exp(-d * phi);
+			double angle = (d == 0 ? 0 : d * Math.log(r)) + c * phi;
+			rRe[k] = length * Math.cos(angle);
+			rIm[k] = length * Math.sin(angle);
+		}
+		return result;
+	}
+
+	// ------------------------- TRIGONOMETRIC FUNCTIONS -------------------------
+
+	public ComplexArray sin() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.sin(a) * Math.cosh(b);
+			rIm[k] = Math.cos(a) * Math.sinh(b);
+		}
+		return result;
+	}
+
+	public ComplexArray cos() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.cos(a) * Math.cosh(b);
+			rIm[k] = -Math.sin(a) * Math.sinh(b);
+		}
+		return result;
+	}
+
+	public ComplexArray sinh() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.sinh(a) * Math.cos(b);
+			rIm[k] = Math.cosh(a) * Math.sin(b);
+		}
+		return result;
+	}
+
+	public ComplexArray cosh() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = Math.cosh(a) * Math.cos(b);
+			rIm[k] = Math.sinh(a) * Math.sin(b);
+		}
+		return result;
+	}
+
+	public ComplexArray asin() {
+		ComplexArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			double dot = a * a + b * b;
+			double root = Math.sqrt((dot - 1) * (dot - 1) + 4 * b * b);
+			rRe[k] = Math.signum(a) / 2 * Math.acos(root - dot);
+			rIm[k] = Math.signum(b) / 2 * Hypercomplex.acosh(root + dot);
+		}
+		return result;
+	}
+
+	/**
+	 * inverse hyperbolic tangent (NaN where the real part isn't between -1 and 1, like {@link Complex#atanh()})
+	 * @return inverse hyperbolic tangent
+	 */
+	public ComplexArray atanh() {
+		ComplexArray result = super.atanh();
+		double[] xRe = re, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			if (Math.abs(xRe[o + k]) >= 1) {
+				rRe[k] = rIm[k] = Double.NaN;
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,18 @@
+package util.hypercomplex;
+
+/**
+ * A linear operator on complex vectors, for the iterative solvers of {@link KrylovSolver} (and their preconditioners).<p>
+ *
+ * The solvers only need the product with a vector, so the matrix never has to be stored (matrix-free).
+ * {@link SparseComplexMatrix} is the stored one.
+ */
+public interface ComplexOperator {
+
+	/**
+	 * Writes A * x into result.
+	 * @param x the vector (isn't changed)
+	 * @param result gets A * x (of the same size as x, never the same array)
+	 */
+	void apply(ComplexArray x, ComplexArray result);
+
+}
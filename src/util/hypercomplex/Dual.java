@@ -37,29 +37,52 @@ public class Dual extends Hypercomplex {
 	/**
 	 * dual number equaling the real number ONE
 	 */
-	public final static Dual ONE = new Dual(1);
+	public final static Dual ONE = frozen(new Dual(1));
 	
 	/**
 	 * dual number equaling the real number ZERO
 	 */
-	public final static Dual ZERO = new Dual();
+	public final static Dual ZERO = frozen(new Dual());
 	
 	/**
 	 * dual number equaling the imaginary number I
 	 */
-	public final static Dual I = new Dual(0, 1);
+	public final static Dual I = frozen(new Dual(0, 1));
 	
 	/**
 	 * dual number equaling the real number E
 	 */
-	public final static Dual E = new Dual(Math.E);
+	public final static Dual E = frozen(new Dual(Math.E));
+	
+	/**
+	 * the (frozen) dual numbers equaling the integers from -128 to 127, see valueOf(int).
+	 */
+	private final static Dual[] SMALL_INTEGERS = new Dual[256];
+	static {
+		for (int i = 0; i < SMALL_INTEGERS.length; ++i) {
+			SMALL_INTEGERS[i] = frozen(new Dual(i - 128));
+		}
+	}
+	
+	/**
+	 * Returns a frozen dual number equaling the given integer.
+	 * The ones from -128 to 127 are shared, so they don't need to be created again.
+	 * @param value the integer
+	 * @return a frozen dual number equaling the given integer
+	 */
+	public static Dual valueOf(int value) {
+		if (value >= -128 && value < 128) {
+			return SMALL_INTEGERS[value + 128];
+		}
+		return frozen(new Dual(value));
+	}
 	
 	/**
 	 * Constructor. Constructs a dual number containing the provided parsable data.
 	 * @param parseData the String-representation of the number
 	 */
 	public Dual(String parseData) {
-		setCartesian(parseHypercomplex(parseData).getCartesian());
+		set(parseHypercomplex(parseData));
 	}
 	
 	/**
@@ -654,6 +677,15 @@ public class Dual extends Hypercomplex {
 		return new Dual(Math.cos(re()), -Math.sin(re()) * im());
 	}
 
+	/**
+	 * sine and cosine, computed together
+	 * @return {sine, cosine}
+	 */
+	public Dual[] sincos() {
+		double sin = Math.sin(re()), cos = Math.cos(re());
+		return new Dual[] {new Dual(sin, cos * im()), new Dual(cos, -sin * im())};
+	}
+
 	/**
 	 * hyperbolic sine
 	 * @return hyperbolic sine
@@ -670,6 +702,15 @@ public class Dual extends Hypercomplex {
 		return new Dual(Math.cosh(re()), Math.sinh(re()) * im());
 	}
 
+	/**
+	 * hyperbolic sine and hyperbolic cosine, computed together
+	 * @return {hyperbolic sine, hyperbolic cosine}
+	 */
+	public Dual[] sinhcosh() {
+		double[] h = TrigBundle.coshSinh(re());
+		return new Dual[] {new Dual(h[1], h[0] * im()), new Dual(h[0], h[1] * im())};
+	}
+
 	// sin(a, b) = sin(a), cos(a) * b => asin(a, b) = asin(a), b / cos(asin(a))
 	/**
 	 * inverse sine
@@ -0,0 +1,249 @@
+package util.hypercomplex;
+
+import java.util.Collection;
+
+/**
+ * Many dual numbers, stored as two columns of doubles.<p>
+ *
+ * Since f(a + b * e) = f(a) + f'(a) * b * e, the dual parts carry derivatives,
+ * so for example x.sin() of an array with the dual parts 1 gives sin and cos of all real parts at once.<p>
+ *
+ * <b>examples:</b><br>
+ * DualArray z = new DualArray(1000); <- a thousand zeros<br>
+ * DualArray z = new DualArray(re, im); <- uses the given columns (no copy)<br>
+ * z.set(k, 2, 1); <- z[k] = 2 + 1e<br>
+ * @see HypercomplexArray
+ * @see Dual
+ */
+public class DualArray extends HypercomplexArray<DualArray> {
+
+	/**
+	 * Constructor. Constructs an array of the given size holding zeros.
+	 * @param size the number of numbers
+	 */
+	public DualArray(int size) {
+		super(size);
+	}
+
+	/**
+	 * Constructor. Constructs an array that uses the provided columns (without copying them).
+	 * @param re the real parts
+	 * @param im the dual parts
+	 */
+	public DualArray(double[] re, double[] im) {
+		super(re, im, 0, Math.min(re.length, im.length));
+	}
+
+	/**
+	 * Constructor. Constructs an array holding the cartesian values of the provided numbers.
+	 * @param values the numbers
+	 */
+	public DualArray(Collection<? extends Hypercomplex> values) {
+		super(values.size());
+		fill(values, re, im);
+	}
+
+	private DualArray(double[] re, double[] im, int offset, int size) {
+		super(re, im, offset, size);
+	}
+
+	protected DualArray create(double[] re, double[] im, int offset, int size) {
+		return new DualArray(re, im, offset, size);
+	}
+
+	protected Dual number(double re, double im) {
+		return new Dual(re, im);
+	}
+
+	public Dual get(int k) {
+		return number(re(k), im(k));
+	}
+
+	// ------------------------- ELEMENT WISE CALCULATION -------------------------
+
+	public DualArray times(DualArray factor) {
+		checkSize(factor);
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, yRe = factor.re, yIm = factor.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = factor.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = yRe[p + k], d = yIm[p + k];
+			rRe[k] = a * c;
+			rIm[k] = a * d + b * c;
+		}
+		return result;
+	}
+
+	public DualArray by(DualArray divisor) {
+		checkSize(divisor);
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, yRe = divisor.re, yIm = divisor.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = divisor.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = yRe[p + k], d = yIm[p + k];
+			rRe[k] = a / c;
+			rIm[k] = (b * c - a * d) / (c * c);
+		}
+		return result;
+	}
+
+	public DualArray inverse() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k];
+			rRe[k] = 1 / a;
+			rIm[k] = -b / (a * a);
+		}
+		return result;
+	}
+
+	public DualArray exp() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double length = Math.exp(xRe[o + k]);
+			rRe[k] = length;
+			rIm[k] = length * xIm[o + k];
+		}
+		return result;
+	}
+
+	public DualArray ln() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k];
+			rRe[k] = Math.log(a);
+			rIm[k] = xIm[o + k] / a;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers to the power of the exponents (element wise).
+	 * Numbers with a positive real part are done in closed form,
+	 * the other ones are left to {@link Dual#pow(Hypercomplex)}.
+	 * @param w the exponents
+	 * @return the numbers to the power of the exponents
+	 */
+	public DualArray pow(DualArray w) {
+		checkSize(w);
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, wRe = w.re, wIm = w.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = w.offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k], b = xIm[o + k], c = wRe[p + k], d = wIm[p + k];
+			if (a > 0) {
+				double power = Math.pow(a, c);
+				rRe[k] = power;
+				rIm[k] = power * (Math.log(a) * d + b * c / a);
+			} else {
+				put(new Dual(a, b).pow(new Dual(c, d)), rRe, rIm, k);
+			}
+		}
+		return result;
+	}
+
+	// ------------------------- TRIGONOMETRIC FUNCTIONS -------------------------
+
+	public DualArray sin() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k];
+			rRe[k] = Math.sin(a);
+			rIm[k] = Math.cos(a) * xIm[o + k];
+		}
+		return result;
+	}
+
+	public DualArray cos() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k];
+			rRe[k] = Math.cos(a);
+			rIm[k] = -Math.sin(a) * xIm[o + k];
+		}
+		return result;
+	}
+
+	public DualArray sinh() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k];
+			rRe[k] = Math.sinh(a);
+			rIm[k] = Math.cosh(a) * xIm[o + k];
+		}
+		return result;
+	}
+
+	public DualArray cosh() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double a = xRe[o + k];
+			rRe[k] = Math.cosh(a);
+			rIm[k] = Math.sinh(a) * xIm[o + k];
+		}
+		return result;
+	}
+
+	public DualArray asin() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double asin = Math.asin(xRe[o + k]);
+			rRe[k] = asin;
+			rIm[k] = xIm[o + k] / Math.cos(asin);
+		}
+		return result;
+	}
+
+	public DualArray acos() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double acos = Math.acos(xRe[o + k]);
+			rRe[k] = acos;
+			rIm[k] = xIm[o + k] / -Math.sin(acos);
+		}
+		return result;
+	}
+
+	public DualArray asinh() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double asinh = Hypercomplex.asinh(xRe[o + k]);
+			rRe[k] = asinh;
+			rIm[k] = xIm[o + k] / Math.cosh(asinh);
+		}
+		return result;
+	}
+
+	public DualArray acosh() {
+		DualArray result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			double acosh = Hypercomplex.acosh(xRe[o + k]);
+			rRe[k] = acosh;
+			rIm[k] = xIm[o + k] / Math.sinh(acosh);
+		}
+		return result;
+	}
+
+}
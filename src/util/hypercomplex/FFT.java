@@ -0,0 +1,232 @@
+package util.hypercomplex;
+
+/**
+ * Fast fourier transforms over the column containers ({@link ComplexArray}, {@link BinaryArray}, {@link DualArray}).<p>
+ *
+ * The complex transforms work in place on the columns of the array (or of the slice).
+ * X[k] = sum of x[j] * e^(-2 * PI * i * j * k / n), the inverse divides by n.
+ * Any size works: powers of two directly, all others with Bluestein's algorithm (see FFTPlan).<p>
+ *
+ * The binary and dual numbers aren't closed under the complex twiddle factors,
+ * so their transforms are split into two real sequences that are transformed with the same plans:<br>
+ * binary numbers along the null basis a + bE = (a + b) * (1 + E) / 2 + (a - b) * (1 - E) / 2,<br>
+ * dual numbers into their real and dual parts.<br>
+ * Both real sequences are packed into one complex transform.
+ * The convolutions (products of polynomials) stay in their algebra.<p>
+ *
+ * <b>examples:</b><br>
+ * FFT.fft(z); <- transforms z in place<br>
+ * FFT.ifft(z); <- and back<br>
+ * ComplexArray[] spectra = FFT.fft(b); <- the spectra of the (1 + E) / 2 and (1 - E) / 2 parts of b<br>
+ * FFT.convolve(x, y); <- the cyclic convolution of x and y (both binary, dual or complex)<br>
+ * @see ComplexArray
+ */
+public class FFT {
+
+	private FFT() {
+	}
+
+	// ------------------------- COMPLEX -------------------------
+
+	/**
+	 * Transforms the numbers in place.
+	 * @param x the numbers
+	 */
+	public static void fft(ComplexArray x) {
+		fft(x.re, x.im, x.offset, x.size);
+	}
+
+	/**
+	 * Transforms the numbers back in place (including the division by n).
+	 * @param x the spectrum
+	 */
+	public static void ifft(ComplexArray x) {
+		ifft(x.re, x.im, x.offset, x.size);
+	}
+
+	/**
+	 * Transforms the n numbers starting at offset in place.
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 * @param offset the index of the first number
+	 * @param n the number of numbers
+	 */
+	public static void fft(double[] re, double[] im, int offset, int n) {
+		if (n > 0) {
+			FFTPlan.of(n).transform(re, im, offset, false);
+		}
+	}
+
+	/**
+	 * Transforms the n numbers starting at offset back in place (including the division by n).
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 * @param offset the index of the first number
+	 * @param n the number of numbers
+	 */
+	public static void ifft(double[] re, double[] im, int offset, int n) {
+		if (n > 0) {
+			FFTPlan.of(n).transform(re, im, offset, true);
+			for (int k = offset; k < offset + n; ++k) {
+				re[k] /= n;
+				im[k] /= n;
+			}
+		}
+	}
+
+	/**
+	 * Returns the cyclic convolution of x and y (of the same size).
+	 * @param x the first numbers
+	 * @param y the second numbers
+	 * @return the cyclic convolution of x and y
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public static ComplexArray convolve(ComplexArray x, ComplexArray y) {
+		x.checkSize(y);
+		ComplexArray a = x.copy(), b = y.copy();
+		fft(a);
+		fft(b);
+		ComplexArray result = a.times(b);
+		ifft(result);
+		return result;
+	}
+
+	// ------------------------- BINARY -------------------------
+
+	/**
+	 * Returns the spectra of the two null basis parts of the binary numbers:
+	 * the one of re + im (the part along (1 + E) / 2) and the one of re - im (along (1 - E) / 2).
+	 * @param x the binary numbers
+	 * @return the two spectra
+	 */
+	public static ComplexArray[] fft(BinaryArray x) {
+		int n = x.size;
+		double[] re = new double[n], im = new double[n];
+		for (int k = 0; k < n; ++k) {
+			double a = x.re[x.offset + k], b = x.im[x.offset + k];
+			re[k] = a + b;
+			im[k] = a - b;
+		}
+		return split(re, im);
+	}
+
+	/**
+	 * Returns the binary numbers with the given spectra of their null basis parts (see fft(BinaryArray)).
+	 * @param plus the spectrum of re + im
+	 * @param minus the spectrum of re - im
+	 * @return the binary numbers
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public static BinaryArray ifftBinary(ComplexArray plus, ComplexArray minus) {
+		double[][] parts = join(plus, minus);
+		int n = plus.size;
+		BinaryArray result = new BinaryArray(n);
+		for (int k = 0; k < n; ++k) {
+			double u = parts[0][k], v = parts[1][k];
+			result.re[k] = (u + v) / 2;
+			result.im[k] = (u - v) / 2;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the cyclic convolution of x and y (of the same size),
+	 * done separately on the two null basis parts, where the binary product is just the real one.
+	 * @param x the first numbers
+	 * @param y the second numbers
+	 * @return the cyclic convolution of x and y
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public static BinaryArray convolve(BinaryArray x, BinaryArray y) {
+		x.checkSize(y);
+		ComplexArray[] a = fft(x), b = fft(y);
+		return ifftBinary(a[0].times(b[0]), a[1].times(b[1]));
+	}
+
+	// ------------------------- DUAL -------------------------
+
+	/**
+	 * Returns the spectra of the real parts and of the dual parts of the dual numbers.
+	 * @param x the dual numbers
+	 * @return the two spectra
+	 */
+	public static ComplexArray[] fft(DualArray x) {
+		int n = x.size;
+		double[] re = new double[n], im = new double[n];
+		System.arraycopy(x.re, x.offset, re, 0, n);
+		System.arraycopy(x.im, x.offset, im, 0, n);
+		return split(re, im);
+	}
+
+	/**
+	 * Returns the dual numbers with the given spectra of their real and dual parts (see fft(DualArray)).
+	 * @param real the spectrum of the real parts
+	 * @param dual the spectrum of the dual parts
+	 * @return the dual numbers
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public static DualArray ifftDual(ComplexArray real, ComplexArray dual) {
+		double[][] parts = join(real, dual);
+		return new DualArray(parts[0], parts[1]);
+	}
+
+	/**
+	 * Returns the cyclic convolution of x and y (of the same size):
+	 * (a + b * e) * (c + d * e) == a * c + (a * d + b * c) * e.
+	 * @param x the first numbers
+	 * @param y the second numbers
+	 * @return the cyclic convolution of x and y
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	public static DualArray convolve(DualArray x, DualArray y) {
+		x.checkSize(y);
+		ComplexArray[] a = fft(x), b = fft(y);
+		return ifftDual(a[0].times(b[0]), a[0].times(b[1]).plus(a[1].times(b[0])));
+	}
+
+	// ------------------------- PACKING -------------------------
+
+	/**
+	 * Transforms two real sequences with one complex transform (of u + i * v).
+	 * Since the spectra of real sequences are hermitian, they can be told apart afterwards:
+	 * U[k] = (Z[k] + conj(Z[n - k])) / 2, V[k] = (Z[k] - conj(Z[n - k])) / (2i).
+	 * @param u the first real sequence (is overwritten)
+	 * @param v the second real sequence (is overwritten)
+	 * @return the spectra of u and v
+	 */
+	private static ComplexArray[] split(double[] u, double[] v) {
+		int n = u.length;
+		fft(u, v, 0, n);
+		ComplexArray first = new ComplexArray(n), second = new ComplexArray(n);
+		for (int k = 0; k < n; ++k) {
+			int l = k == 0 ? 0 : n - k;
+			double aRe = u[k], aIm = v[k], bRe = u[l], bIm = -v[l];
+			first.re[k] = (aRe + bRe) / 2;
+			first.im[k] = (aIm + bIm) / 2;
+			second.re[k] = (aIm - bIm) / 2;
+			second.im[k] = (bRe - aRe) / 2;
+		}
+		return new ComplexArray[] {first, second};
+	}
+
+	/**
+	 * Transforms two hermitian spectra back with one complex transform (of U + i * V)
+	 * and returns the (real) sequences.
+	 * @param first the spectrum of the first sequence
+	 * @param second the spectrum of the second sequence
+	 * @return the two real sequences
+	 */
+	private static double[][] join(ComplexArray first, ComplexArray second) {
+		first.checkSize(second);
+		int n = first.size;
+		double[] re = new double[n], im = new double[n];
+		for (int k = 0; k < n; ++k) {
+			int i = first.offset + k, j = second.offset + k;
+			re[k] = first.re[i] - second.im[j];
+			im[k] = first.im[i] + second.re[j];
+		}
+		ifft(re, im, 0, n);
+		return new double[][] {re, im};
+	}
+
+}
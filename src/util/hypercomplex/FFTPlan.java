@@ -0,0 +1,239 @@
+package util.hypercomplex;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The precomputed tables for the fourier transforms of one size, see {@link FFT}.<p>
+ *
+ * Powers of two are transformed in place with the iterative radix-2 algorithm
+ * (bit reversal, then log2(n) stages of butterflies using the twiddle table).
+ * Other sizes use Bluestein's algorithm: the transform is written as a convolution with a chirp,
+ * which is done by a power of two transform of at least 2n - 1 numbers.<p>
+ *
+ * The plans are cached per size, so the tables are computed only once.
+ * Large transforms split each stage over the threads of a fork/join pool.
+ */
+final class FFTPlan {
+
+	/**
+	 * from this size on the butterflies of a stage are split over several threads
+	 */
+	static final int PARALLEL_SIZE = 1 << 15;
+
+	/**
+	 * the number of butterflies a thread does at least
+	 */
+	private static final int GRAIN = 1 << 12;
+
+	private static final ConcurrentHashMap<Integer, FFTPlan> PLANS = new ConcurrentHashMap<Integer, FFTPlan>();
+
+	private final int n;
+
+	/**
+	 * radix-2: cos(2 * PI * j / n) and sin(2 * PI * j / n) for j < n / 2, and the bit reversed indices
+	 */
+	private final double[] cos;
+	private final double[] sin;
+	private final int[] reversed;
+
+	/**
+	 * bluestein: the chirp e^(-i * PI * k² / n), the transformed filter and the plan of the convolution
+	 */
+	private final double[] chirpRe;
+	private final double[] chirpIm;
+	private final double[] filterRe;
+	private final double[] filterIm;
+	private final FFTPlan convolution;
+
+	/**
+	 * Returns the (cached) plan for the given size.
+	 * @param n the size
+	 * @return the plan for the given size
+	 */
+	static FFTPlan of(int n) {
+		if (n < 1) {
+			throw new IllegalArgumentException("size " + n);
+		}
+		FFTPlan plan = PLANS.get(n);
+		if (plan == null) {
+			plan = new FFTPlan(n);
+			FFTPlan other = PLANS.putIfAbsent(n, plan);
+			if (other != null) {
+				plan = other;
+			}
+		}
+		return plan;
+	}
+
+	private FFTPlan(int n) {
+		this.n = n;
+		if (Integer.bitCount(n) == 1) {
+			cos = new double[n / 2];
+			sin = new double[n / 2];
+			for (int j = 0; j < n / 2; ++j) {
+				cos[j] = Math.cos(2 * Math.PI * j / n);
+				sin[j] = Math.sin(2 * Math.PI * j / n);
+			}
+			reversed = new int[n];
+			int bits = Integer.numberOfTrailingZeros(n);
+			for (int k = 0; k < n; ++k) {
+				reversed[k] = bits == 0 ? 0 : Integer.reverse(k) >>> (32 - bits);
+			}
+			chirpRe = chirpIm = filterRe = filterIm = null;
+			convolution = null;
+		} else {
+			cos = sin = null;
+			reversed = null;
+			int m = Integer.highestOneBit(2 * n - 1) << 1;
+			convolution = of(m);
+			chirpRe = new double[n];
+			chirpIm = new double[n];
+			for (int k = 0; k < n; ++k) {
+				// k² modulo 2n keeps the angle small (and exact)
+				double angle = Math.PI * ((long)k * k % (2L * n)) / n;
+				chirpRe[k] = Math.cos(angle);
+				chirpIm[k] = -Math.sin(angle);
+			}
+			filterRe = new double[m];
+			filterIm = new double[m];
+			filterRe[0] = chirpRe[0];
+			filterIm[0] = -chirpIm[0];
+			for (int k = 1; k < n; ++k) {
+				filterRe[k] = filterRe[m - k] = chirpRe[k];
+				filterIm[k] = filterIm[m - k] = -chirpIm[k];
+			}
+			convolution.transform(filterRe, filterIm, 0, false);
+		}
+	}
+
+	int size() {
+		return n;
+	}
+
+	/**
+	 * Transforms the n numbers starting at offset in place (not scaled, the inverse uses e^(+i...)).
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 * @param offset the index of the first number
+	 * @param inverse true for the inverse transform
+	 */
+	void transform(double[] re, double[] im, int offset, boolean inverse) {
+		if (reversed != null) {
+			radix2(re, im, offset, inverse ? 1 : -1);
+		} else {
+			bluestein(re, im, offset, inverse);
+		}
+	}
+
+	private void radix2(double[] re, double[] im, int offset, int sign) {
+		for (int k = 0; k < n; ++k) {
+			int r = reversed[k];
+			if (r > k) {
+				double t = re[offset + k];
+				re[offset + k] = re[offset + r];
+				re[offset + r] = t;
+				t = im[offset + k];
+				im[offset + k] = im[offset + r];
+				im[offset + r] = t;
+			}
+		}
+		for (int half = 1; half < n; half <<= 1) {
+			if (n >= PARALLEL_SIZE) {
+				Parallel.POOL.invoke(new Stage(re, im, offset, sign, half, 0, n / 2));
+			} else {
+				stage(re, im, offset, sign, half);
+			}
+		}
+	}
+
+	private void stage(double[] re, double[] im, int offset, int sign, int half) {
+		int step = n / (2 * half);
+		for (int block = offset; block < offset + n; block += 2 * half) {
+			for (int j = 0; j < half; ++j) {
+				double wRe = cos[j * step], wIm = sign * sin[j * step];
+				int a = block + j, b = a + half;
+				double tRe = re[b] * wRe - im[b] * wIm;
+				double tIm = re[b] * wIm + im[b] * wRe;
+				re[b] = re[a] - tRe;
+				im[b] = im[a] - tIm;
+				re[a] += tRe;
+				im[a] += tIm;
+			}
+		}
+	}
+
+	/**
+	 * the butterflies from (inclusive) to (exclusive) of one stage, numbered through all blocks.
+	 */
+	private class Stage extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final double[] re;
+		private final double[] im;
+		private final int offset;
+		private final int sign;
+		private final int half;
+		private final int from;
+		private final int to;
+
+		Stage(double[] re, double[] im, int offset, int sign, int half, int from, int to) {
+			this.re = re;
+			this.im = im;
+			this.offset = offset;
+			this.sign = sign;
+			this.half = half;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > GRAIN) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Stage(re, im, offset, sign, half, from, middle), new Stage(re, im, offset, sign, half, middle, to));
+				return;
+			}
+			int shift = Integer.numberOfTrailingZeros(half);
+			int step = n / (2 * half);
+			for (int t = from; t < to; ++t) {
+				int j = t & (half - 1);
+				int a = offset + ((t >>> shift) << (shift + 1)) + j, b = a + half;
+				double wRe = cos[j * step], wIm = sign * sin[j * step];
+				double tRe = re[b] * wRe - im[b] * wIm;
+				double tIm = re[b] * wIm + im[b] * wRe;
+				re[b] = re[a] - tRe;
+				im[b] = im[a] - tIm;
+				re[a] += tRe;
+				im[a] += tIm;
+			}
+		}
+
+	}
+
+	private void bluestein(double[] re, double[] im, int offset, boolean inverse) {
+		// the inverse transform is the conjugate of the transform of the conjugate
+		double sign = inverse ? -1 : 1;
+		int m = convolution.size();
+		double[] aRe = new double[m], aIm = new double[m];
+		for (int k = 0; k < n; ++k) {
+			double xRe = re[offset + k], xIm = sign * im[offset + k];
+			aRe[k] = xRe * chirpRe[k] - xIm * chirpIm[k];
+			aIm[k] = xRe * chirpIm[k] + xIm * chirpRe[k];
+		}
+		convolution.transform(aRe, aIm, 0, false);
+		for (int k = 0; k < m; ++k) {
+			double xRe = aRe[k], xIm = aIm[k];
+			aRe[k] = xRe * filterRe[k] - xIm * filterIm[k];
+			aIm[k] = xRe * filterIm[k] + xIm * filterRe[k];
+		}
+		convolution.transform(aRe, aIm, 0, true);
+		for (int k = 0; k < n; ++k) {
+			double xRe = aRe[k] / m, xIm = aIm[k] / m;
+			re[offset + k] = xRe * chirpRe[k] - xIm * chirpIm[k];
+			im[offset + k] = sign * (xRe * chirpIm[k] + xIm * chirpRe[k]);
+		}
+	}
+
+}
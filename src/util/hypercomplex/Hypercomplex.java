@@ -45,14 +45,26 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	private static final long serialVersionUID = -7717000598475609597L;
 
 	/**
-	 * the cartesian version of this vector.
+	 * the cartesian values of this vector.
 	 */
-	private Cartesian2D cartVec = null;
+	private double cartX;
+	private double cartY;
 
 	/**
-	 * the polynominal version of this vector.
+	 * the polynominal values of this vector, just computed when needed.
 	 */
-	private Polynominal2D polVec = null;
+	private double polR;
+	private double polPhi;
+
+	/**
+	 * whether polR and polPhi belong to the current cartesian values.
+	 */
+	private boolean polarKnown = false;
+
+	/**
+	 * whether this number can't be changed anymore, see freeze().
+	 */
+	private boolean frozen = false;
 
 	// ------------------------- STATIC INTERFACE (CONSTANTS) -------------------------
 	
@@ -68,7 +80,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @param parseData the String-representation of the number
 	 */
 	protected Hypercomplex(String parseData) {
-		setCartesian(parseHypercomplex(parseData).getCartesian());
+		set(parseHypercomplex(parseData));
 	}
 	
 	/**
@@ -119,11 +131,17 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * 
 	 * parsable examples:<br>
 	 * "1", "î", "3.1î", "3.1*î", "1 + î", "pi + eî", "1e-2 + 1e5î", "cos(1/2*phi) + tan(pi)î", "sqrt(-1)" == î, ...<br>
+	 * Plain literals are read directly by the HypercomplexScanner, only other expressions are calculated.
+	 * The unit of a literal decides its kind: "1 + 2ê" is a Dual and "1 - 1Ê" a Binary number.
 	 * @see util.hypercomplex.Hypercomplex.toString()
 	 * @param expression the hyper-complex number as a string
 	 * @return the hyper-complex number as a Hypercomplex
 	 */
 	public static Hypercomplex parseHypercomplex(String expression) {
+		Hypercomplex literal = HypercomplexScanner.parse(expression);
+		if (literal != null) {
+			return literal;
+		}
 		return new SimpleCalculation(expression).result(); // TODO: check if ok - had to be simplified cuz new Calculation(str).result() now parsed Ultra
 	}
 	
@@ -468,12 +486,39 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @param cart the cartesian vector
 	 */
 	protected void setCartesian(Cartesian2D cart) {
-		if (cartVec == null) {
-			cartVec = new Cartesian2D();
+		setCartesian(cart.get(0), cart.get(1));
+	}
+
+	/**
+	 * Freezes the given number and returns it (for the constants).
+	 * @param value the number to freeze
+	 * @return the frozen number
+	 */
+	protected static <T extends Hypercomplex> T frozen(T value) {
+		value.freeze();
+		return value;
+	}
+
+	/**
+	 * Makes sure this number isn't frozen before it's changed.
+	 */
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("the number " + this + " is frozen, use a clone() to change it");
 		}
-		cartVec.set(0, cart.get(0));
-		cartVec.set(1, cart.get(1));
-		polVec = cartVec.getPolynominal();
+	}
+
+	/**
+	 * Computes the polynominal values from the cartesian ones (like Cartesian2D.getPolynominal()).
+	 */
+	private void computePolar() {
+		polR = Math.sqrt(cartX * cartX + cartY * cartY);
+		if (polR != 0) {
+			polPhi = cartY < 0 ? -Math.acos(cartX / polR) : Math.acos(cartX / polR);
+		} else {
+			polPhi = 0;
+		}
+		polarKnown = true;
 	}
 
 	// ------------------------- NON-STATIC INTERFACE (VALUE SETTING) -------------------------
@@ -483,7 +528,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @param original the vector that is to copy
 	 */
 	public void set(Hypercomplex original) {
-		setCartesian(original.getCartesian());
+		setCartesian(original.x(), original.y());
 	}
 
 	/**
@@ -492,12 +537,10 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @param y the y ordinate of the vector
 	 */
 	public void setCartesian(double x, double y) {
-		if (cartVec == null) {
-			cartVec = new Cartesian2D();
-		}
-		cartVec.set(0, x);
-		cartVec.set(1, y);
-		polVec = cartVec.getPolynominal();
+		checkNotFrozen();
+		cartX = x;
+		cartY = y;
+		polarKnown = false;
 	}
 
 	/**
@@ -506,13 +549,29 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @param phi the angle of the vector
 	 */
 	public void setPolynominal(double r, double phi) {
-		if (polVec == null) {
-			polVec = new Polynominal2D();
+		checkNotFrozen();
+		// positive length, angle between -PI and PI (like Polynominal2D.checkDirectionAndAngle())
+		if (r < 0) {
+			r = -r;
+			phi += Math.PI;
+		}
+		if (phi > Math.PI) {
+			phi %= 2 * Math.PI;
+			if (phi > Math.PI) {
+				phi -= 2 * Math.PI;
+			}
 		}
-		polVec.set(0, r);
-		polVec.set(1, phi);
-		polVec.checkDirectionAndAngle();
-		cartVec = polVec.getCartesian();
+		if (phi < -Math.PI) {
+			phi %= -2 * Math.PI;
+			if (phi < -Math.PI) {
+				phi += 2 * Math.PI;
+			}
+		}
+		polR = r;
+		polPhi = phi;
+		polarKnown = true;
+		cartX = r * Math.cos(phi);
+		cartY = r * Math.sin(phi);
 	}
 
 	/**
@@ -1460,44 +1519,49 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 
 
 	/**
-	 * Returns the cartesian version of this vector
+	 * Returns the cartesian version of this vector (a copy, changing it doesn't change this vector)
 	 * @return the cartesian version of this vector
 	 */
 	public Cartesian2D getCartesian() {
-		if (cartVec == null) {
-			cartVec = polVec.getCartesian();
-		}
-		return cartVec;
+		Cartesian2D result = new Cartesian2D();
+		result.set(0, cartX);
+		result.set(1, cartY);
+		return result;
 	}
 
 	/**
-	 * Returns the polynominal version of this vector
+	 * Returns the polynominal version of this vector (a copy, changing it doesn't change this vector)
 	 * @return the polynominal version of this vector
 	 */
 	public Polynominal2D getPolynominal() {
-		if (polVec == null) {
-			polVec = cartVec.getPolynominal();
-		}
-		return polVec;
+		Polynominal2D result = new Polynominal2D();
+		result.set(0, length());
+		result.set(1, direction());
+		return result;
 	}
 
 	/**
 	 * Returns the (cartesian) x ordinate of this vector.
 	 * @return the (cartesian) x ordinate of this vector
 	 */
-	public double x() { return getCartesian().getX(); }
+	public double x() { return cartX; }
 
 	/**
 	 * Returns the (cartesian) y ordinate of this vector.
 	 * @return the (cartesian) y ordinate of this vector
 	 */
-	public double y() { return getCartesian().getY(); }
+	public double y() { return cartY; }
 
 	/**
 	 * Returns the (polynominal) length of this vector.
 	 * @return the (polynominal) length of this vector
 	 */
-	public double length() { return getPolynominal().getLength(); }
+	public double length() {
+		if (!polarKnown) {
+			computePolar();
+		}
+		return polR;
+	}
 
 	/**
 	 * Returns the (polynominal) length of this vector.
@@ -1515,13 +1579,18 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * Returns the (polynominal) angle/direction of this vector.
 	 * @return the (polynominal) angle/direction of this vector
 	 */
-	public double direction() { return getPolynominal().getDirection(); }
+	public double direction() {
+		if (!polarKnown) {
+			computePolar();
+		}
+		return polPhi;
+	}
 
 	/**
 	 * Returns the (polynominal) angle/direction of this vector.
 	 * @return the (polynominal) angle/direction of this vector
 	 */
-	public double angle() { return getPolynominal().getDirection(); }
+	public double angle() { return direction(); }
 
 	/**
 	 * Returns the (polynominal) angle/direction of this vector.
@@ -1658,39 +1727,47 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 		}
 		return null;
 	}
-	
+
 	/**
-	 * tangent
-	 * @return tangent
+	 * sine and cosine, computed together (they share their intermediate values)
+	 * @return {sine, cosine}
 	 */
-	public Hypercomplex tan() {
+	public Hypercomplex[] sincos() {
 		if (isComplex()) {
-			return ((Complex)this).sin().by(((Complex)this).cos());
+			return ((Complex)this).sincos();
 		}
 		if (isBinary()) {
-			return ((Binary)this).sin().by(((Binary)this).cos());
+			return ((Binary)this).sincos();
 		}
 		if (isDual()) {
-			return ((Dual)this).sin().by(((Dual)this).cos());
+			return ((Dual)this).sincos();
 		}
 		return null;
 	}
 
+	/**
+	 * Returns all trigonometric functions of this number, from one evaluation of the sine and cosine.
+	 * @return all trigonometric functions of this number
+	 */
+	public TrigBundle trig() {
+		Hypercomplex[] sincos = sincos();
+		return new TrigBundle(sincos[0], sincos[1]);
+	}
+	
+	/**
+	 * tangent
+	 * @return tangent
+	 */
+	public Hypercomplex tan() {
+		return trig().tan();
+	}
+
 	/**
 	 * cotangent
 	 * @return cotangent
 	 */
 	public Hypercomplex cot() {
-		if (isComplex()) {
-			return ((Complex)this).cos().by(((Complex)this).sin());
-		}
-		if (isBinary()) {
-			return ((Binary)this).cos().by(((Binary)this).sin());
-		}
-		if (isDual()) {
-			return ((Dual)this).cos().by(((Dual)this).sin());
-		}
-		return null;
+		return trig().cot();
 	}
 	
 	/**
@@ -1698,16 +1775,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @return secant
 	 */
 	public Hypercomplex sec() {
-		if (isComplex()) {
-			return ((Complex)this).cos().inverse();
-		}
-		if (isBinary()) {
-			return ((Binary)this).cos().inverse();
-		}
-		if (isDual()) {
-			return ((Dual)this).cos().inverse();
-		}
-		return null;
+		return trig().sec();
 	}
 
 	/**
@@ -1715,16 +1783,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @return cosecant
 	 */
 	public Hypercomplex csc() {
-		if (isComplex()) {
-			return ((Complex)this).sin().inverse();
-		}
-		if (isBinary()) {
-			return ((Binary)this).sin().inverse();
-		}
-		if (isDual()) {
-			return ((Dual)this).sin().inverse();
-		}
-		return null;
+		return trig().csc();
 	}
 
 	/**
@@ -1864,37 +1923,45 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	}
 
 	/**
-	 * hyperbolic tangent
-	 * @return hyperbolic tan
+	 * hyperbolic sine and hyperbolic cosine, computed together (they share their intermediate values)
+	 * @return {hyperbolic sine, hyperbolic cosine}
 	 */
-	public Hypercomplex tanh() {
+	public Hypercomplex[] sinhcosh() {
 		if (isComplex()) {
-			return ((Complex)this).sinh().by(((Complex)this).cosh());
+			return ((Complex)this).sinhcosh();
 		}
 		if (isBinary()) {
-			return ((Binary)this).sinh().by(((Binary)this).cosh());
+			return ((Binary)this).sinhcosh();
 		}
 		if (isDual()) {
-			return ((Dual)this).sinh().by(((Dual)this).cosh());
+			return ((Dual)this).sinhcosh();
 		}
 		return null;
 	}
 
+	/**
+	 * Returns all hyperbolic functions of this number, from one evaluation of the hyperbolic sine and cosine.
+	 * @return all hyperbolic functions of this number (sin() of the bundle is sinh, ...)
+	 */
+	public TrigBundle trigh() {
+		Hypercomplex[] sinhcosh = sinhcosh();
+		return new TrigBundle(sinhcosh[0], sinhcosh[1]);
+	}
+
+	/**
+	 * hyperbolic tangent
+	 * @return hyperbolic tan
+	 */
+	public Hypercomplex tanh() {
+		return trigh().tan();
+	}
+
 	/**
 	 * hyperbolic cotangent
 	 * @return hyperbolic cotan
 	 */
 	public Hypercomplex coth() {
-		if (isComplex()) {
-			return ((Complex)this).cosh().by(((Complex)this).sinh());
-		}
-		if (isBinary()) {
-			return ((Binary)this).cosh().by(((Binary)this).sinh());
-		}
-		if (isDual()) {
-			return ((Dual)this).cosh().by(((Dual)this).sinh());
-		}
-		return null;
+		return trigh().cot();
 	}
 
 	/**
@@ -1902,16 +1969,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @return hyperbolic secant
 	 */
 	public Hypercomplex sech() {
-		if (isComplex()) {
-			return ((Complex)this).cosh().inverse();
-		}
-		if (isBinary()) {
-			return ((Binary)this).cosh().inverse();
-		}
-		if (isDual()) {
-			return ((Dual)this).cosh().inverse();
-		}
-		return null;
+		return trigh().sec();
 	}
 
 	/**
@@ -1919,16 +1977,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @return hyperbolic cosecant
 	 */
 	public Hypercomplex csch() {
-		if (isComplex()) {
-			return ((Complex)this).sinh().inverse();
-		}
-		if (isBinary()) {
-			return ((Binary)this).sinh().inverse();
-		}
-		if (isDual()) {
-			return ((Dual)this).sinh().inverse();
-		}
-		return null;
+		return trigh().csc();
 	}
 
 	/**
@@ -2051,23 +2100,16 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	 * @return true if the provided complex numbers are (to the greatest extend) equals, otherwise false
 	 */
 	public boolean equals(Object other, double inaccuracy) {
+		if (this == other) {
+			return true;
+		}
 		if (!(other instanceof Number)) {
 			return false;
 		}
 		if (other instanceof Hypercomplex) {
-			if (!((Hypercomplex)other).isReal() || !this.isReal()) {
-				if ((Complex.class.isInstance(this) && !Complex.class.isInstance(other))
-						|| (Complex.class.isInstance(other) && !Complex.class.isInstance(this))) {
-					return false;
-				}
-				if ((Binary.class.isInstance(this) && !Binary.class.isInstance(other))
-						|| (Binary.class.isInstance(other) && !Binary.class.isInstance(this))) {
-					return false;
-				}
-				if ((Dual.class.isInstance(this) && !Dual.class.isInstance(other))
-						|| (Dual.class.isInstance(other) && !Dual.class.isInstance(this))) {
-					return false;
-				}
+			// different kinds of numbers are just equal if both are real
+			if (getClass() != other.getClass() && (!((Hypercomplex)other).isReal() || !this.isReal())) {
+				return false;
 			}
 			return Tests.compareValue(re(), ((Hypercomplex)other).re(), inaccuracy)
 				&& Tests.compareValue(im(), ((Hypercomplex)other).im(), inaccuracy);
@@ -2076,12 +2118,26 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	}
 
 	/**
-	 * Returns the hashCode of the String representing this complex number.
-	 * @return the hashCode of the String representing this complex number
+	 * Returns true if the provided number is of the same kind and has exactly the same values (0 == -0), otherwise false.
+	 * @param other the number to compare with
+	 * @return true if the provided number is of the same kind and has exactly the same values, otherwise false
+	 */
+	public boolean equalsExact(Hypercomplex other) {
+		return other != null && getClass() == other.getClass() && re() == other.re() && im() == other.im();
+	}
+
+	/**
+	 * Returns a hash code fitting equals(): the values are rounded (see Tests.hashValue())
+	 * and the kind of number just counts if it isn't real.
+	 * @return the hash code of this number
 	 */
 	@Override
 	public int hashCode() {
-		return toString().hashCode();
+		int hash = 31 * Tests.hashValue(re()) + Tests.hashValue(im());
+		if (Math.abs(im()) > Tests.DELTA) {
+			hash = 31 * hash + getClass().getName().hashCode();
+		}
+		return hash;
 	}
 
 	/**
@@ -2172,7 +2228,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	}
 
 	/**
-	 * Returns a copy of this complex number.
+	 * Returns a copy of this complex number (never frozen).
 	 * @return a copy of this complex number
 	 */
 	@Override
@@ -2180,11 +2236,30 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 		return this.times(1);
 	}
 
+	/**
+	 * Makes this number unchangeable, like the constants Complex.ONE, Binary.ZERO, ...<br>
+	 * Afterwards all the setters and all functions changing the value (add(), multiply(), setExp(), ...)
+	 * throw an UnsupportedOperationException. All the other functions still return new numbers as usual.
+	 * So frozen numbers can be shared, even between threads. clone() returns a changeable copy.
+	 * @return this number
+	 */
+	public Hypercomplex freeze() {
+		// the polynominal values are computed now, so nothing is written later
+		length();
+		frozen = true;
+		return this;
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
 	public boolean isComplex() {
 		return complex;
 	}
 
 	public void setComplex(boolean complex) {
+		checkNotFrozen();
 		this.complex = complex;
 	}
 
@@ -2193,6 +2268,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	}
 
 	public void setBinary(boolean binary) {
+		checkNotFrozen();
 		this.binary = binary;
 	}
 
@@ -2201,6 +2277,7 @@ abstract public class Hypercomplex extends Number implements Comparable<Number>,
 	}
 
 	public void setDual(boolean dual) {
+		checkNotFrozen();
 		this.dual = dual;
 	}
 	
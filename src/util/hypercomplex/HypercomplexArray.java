@@ -0,0 +1,654 @@
+package util.hypercomplex;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Many hypercomplex numbers of one kind, stored as two columns of doubles (real and imaginary parts).<p>
+ *
+ * All operations work element by element in straight loops over the columns and return a new array,
+ * just like the operations of {@link Hypercomplex} return a new number.
+ * That way no object per number is created and the jit can use simd instructions for the simple loops.<p>
+ *
+ * <b>examples:</b><br>
+ * ComplexArray z = new ComplexArray(list); <- copies the numbers of a list<br>
+ * z.times(w).plus(v).exp(); <- e^(z[k] * w[k] + v[k]) for all k<br>
+ * z.slice(10, 20); <- the numbers 10 to 19, sharing the columns with z<br>
+ * z.reBuffer(); <- the real parts as a DoubleBuffer, sharing the column with z<br>
+ * z.get(k); <- the k-th number as a Complex<p>
+ *
+ * Where the scalar operation would return null (for example the logarithm of a binary number outside of the
+ * principal cone) the element becomes NaN (in both parts).
+ * The inverse functions are composed the same way as for the single numbers,
+ * so they give the same principal values.
+ * @param <A> the kind of array that is returned by the operations
+ * @see ComplexArray
+ * @see BinaryArray
+ * @see DualArray
+ */
+public abstract class HypercomplexArray<A extends HypercomplexArray<A>> {
+
+	/**
+	 * the real parts
+	 */
+	protected final double[] re;
+
+	/**
+	 * the imaginary parts
+	 */
+	protected final double[] im;
+
+	/**
+	 * the index of the first number in the columns (not 0 for slices)
+	 */
+	protected final int offset;
+
+	/**
+	 * the number of numbers
+	 */
+	protected final int size;
+
+	/**
+	 * Constructor. Constructs an array of the given size holding zeros.
+	 * @param size the number of numbers
+	 */
+	protected HypercomplexArray(int size) {
+		this(new double[size], new double[size], 0, size);
+	}
+
+	/**
+	 * Constructor. Constructs an array that uses the provided columns (without copying them).
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 * @param offset the index of the first number
+	 * @param size the number of numbers
+	 */
+	protected HypercomplexArray(double[] re, double[] im, int offset, int size) {
+		if (offset < 0 || size < 0 || offset + size > re.length || offset + size > im.length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", size " + size);
+		}
+		this.re = re;
+		this.im = im;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	// ------------------------- ABSTRACT INTERFACE -------------------------
+
+	/**
+	 * Returns an array of this kind that uses the provided columns (without copying them).
+	 * @param re the real parts
+	 * @param im the imaginary parts
+	 * @param offset the index of the first number
+	 * @param size the number of numbers
+	 * @return an array of this kind that uses the provided columns
+	 */
+	protected abstract A create(double[] re, double[] im, int offset, int size);
+
+	/**
+	 * Returns a single number of this kind.
+	 * @param re the real part
+	 * @param im the imaginary part
+	 * @return a single number of this kind
+	 */
+	protected abstract Hypercomplex number(double re, double im);
+
+	/**
+	 * Returns the element wise products of this array and the other array.
+	 * @param factor the factors
+	 * @return the element wise products
+	 */
+	public abstract A times(A factor);
+
+	/**
+	 * Returns the element wise quotients of this array and the other array.
+	 * @param divisor the divisors
+	 * @return the element wise quotients
+	 */
+	public abstract A by(A divisor);
+
+	/**
+	 * Returns the element wise inverses.
+	 * @return the element wise inverses
+	 */
+	public abstract A inverse();
+
+	/**
+	 * Returns e to the power of the numbers.
+	 * @return e to the power of the numbers
+	 */
+	public abstract A exp();
+
+	/**
+	 * Returns the principal natural logarithms of the numbers.
+	 * @return the principal natural logarithms of the numbers
+	 */
+	public abstract A ln();
+
+	/**
+	 * Returns the numbers to the power of the exponents (element wise).
+	 * @param w the exponents
+	 * @return the numbers to the power of the exponents
+	 */
+	public abstract A pow(A w);
+
+	/**
+	 * sine
+	 * @return sine
+	 */
+	public abstract A sin();
+
+	/**
+	 * cosine
+	 * @return cosine
+	 */
+	public abstract A cos();
+
+	/**
+	 * hyperbolic sine
+	 * @return hyperbolic sine
+	 */
+	public abstract A sinh();
+
+	/**
+	 * hyperbolic cosine
+	 * @return hyperbolic cosine
+	 */
+	public abstract A cosh();
+
+	/**
+	 * inverse sine
+	 * @return inverse sine
+	 */
+	public abstract A asin();
+
+	// ------------------------- ACCESS -------------------------
+
+	/**
+	 * Returns the number of numbers.
+	 * @return the number of numbers
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the k-th number.
+	 * @param k the index
+	 * @return the k-th number
+	 */
+	public Hypercomplex get(int k) {
+		return number(re(k), im(k));
+	}
+
+	/**
+	 * Returns the real part of the k-th number.
+	 * @param k the index
+	 * @return the real part of the k-th number
+	 */
+	public double re(int k) {
+		return re[offset + check(k)];
+	}
+
+	/**
+	 * Returns the imaginary part of the k-th number.
+	 * @param k the index
+	 * @return the imaginary part of the k-th number
+	 */
+	public double im(int k) {
+		return im[offset + check(k)];
+	}
+
+	/**
+	 * Sets the k-th number.
+	 * @param k the index
+	 * @param re the real part
+	 * @param im the imaginary part
+	 */
+	public void set(int k, double re, double im) {
+		this.re[offset + check(k)] = re;
+		this.im[offset + k] = im;
+	}
+
+	/**
+	 * Sets the k-th number (just using its cartesian values).
+	 * @param k the index
+	 * @param value the number
+	 */
+	public void set(int k, Hypercomplex value) {
+		set(k, value.re(), value.im());
+	}
+
+	/**
+	 * Returns the numbers from index from (inclusive) to index to (exclusive).
+	 * The slice shares its columns with this array, so changing one changes the other.
+	 * @param from the first index
+	 * @param to the index after the last one
+	 * @return the numbers from index from (inclusive) to index to (exclusive)
+	 */
+	public A slice(int from, int to) {
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException("slice " + from + " to " + to + " of " + size);
+		}
+		return create(re, im, offset + from, to - from);
+	}
+
+	/**
+	 * Returns a copy of this array, that doesn't share its columns with it.
+	 * @return a copy of this array
+	 */
+	public A copy() {
+		double[] rRe = new double[size], rIm = new double[size];
+		System.arraycopy(re, offset, rRe, 0, size);
+		System.arraycopy(im, offset, rIm, 0, size);
+		return create(rRe, rIm, 0, size);
+	}
+
+	/**
+	 * Returns the real parts as a buffer, that shares the column with this array (no copy).
+	 * @return the real parts as a buffer
+	 */
+	public DoubleBuffer reBuffer() {
+		return DoubleBuffer.wrap(re, offset, size).slice();
+	}
+
+	/**
+	 * Returns the imaginary parts as a buffer, that shares the column with this array (no copy).
+	 * @return the imaginary parts as a buffer
+	 */
+	public DoubleBuffer imBuffer() {
+		return DoubleBuffer.wrap(im, offset, size).slice();
+	}
+
+	/**
+	 * Returns the numbers as a list of single numbers.
+	 * @return the numbers as a list of single numbers
+	 */
+	public ArrayList<Hypercomplex> toList() {
+		ArrayList<Hypercomplex> result = new ArrayList<Hypercomplex>(size);
+		for (int k = 0; k < size; ++k) {
+			result.add(get(k));
+		}
+		return result;
+	}
+
+	// ------------------------- ELEMENT WISE CALCULATION -------------------------
+
+	/**
+	 * Returns the element wise sums of this array and the other array.
+	 * @param addend the addends
+	 * @return the element wise sums
+	 */
+	public A plus(A addend) {
+		checkSize(addend);
+		A result = empty();
+		double[] xRe = re, xIm = im, yRe = addend.re, yIm = addend.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = addend.offset;
+		for (int k = 0; k < size; ++k) {
+			rRe[k] = xRe[o + k] + yRe[p + k];
+			rIm[k] = xIm[o + k] + yIm[p + k];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the element wise differences of this array and the other array.
+	 * @param subtrahend the subtrahends
+	 * @return the element wise differences
+	 */
+	public A minus(A subtrahend) {
+		checkSize(subtrahend);
+		A result = empty();
+		double[] xRe = re, xIm = im, yRe = subtrahend.re, yIm = subtrahend.im, rRe = result.re, rIm = result.im;
+		int o = offset, p = subtrahend.offset;
+		for (int k = 0; k < size; ++k) {
+			rRe[k] = xRe[o + k] - yRe[p + k];
+			rIm[k] = xIm[o + k] - yIm[p + k];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers plus the given number.
+	 * @param addend the addend
+	 * @return the numbers plus the given number
+	 */
+	public A plus(Hypercomplex addend) {
+		A result = empty();
+		double aRe = addend.re(), aIm = addend.im();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			rRe[k] = xRe[o + k] + aRe;
+			rIm[k] = xIm[o + k] + aIm;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers times the given real factor.
+	 * @param factor the factor
+	 * @return the numbers times the given real factor
+	 */
+	public A times(double factor) {
+		A result = empty();
+		double[] xRe = re, xIm = im, rRe = result.re, rIm = result.im;
+		int o = offset;
+		for (int k = 0; k < size; ++k) {
+			rRe[k] = xRe[o + k] * factor;
+			rIm[k] = xIm[o + k] * factor;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers divided by the given real divisor.
+	 * @param divisor the divisor
+	 * @return the numbers divided by the given real divisor
+	 */
+	public A by(double divisor) {
+		return times(1 / divisor);
+	}
+
+	/**
+	 * Returns the numbers times the given number.
+	 * @param factor the factor
+	 * @return the numbers times the given number
+	 */
+	public A times(Hypercomplex factor) {
+		return times(broadcast(factor));
+	}
+
+	/**
+	 * Returns the numbers divided by the given number.
+	 * @param divisor the divisor
+	 * @return the numbers divided by the given number
+	 */
+	public A by(Hypercomplex divisor) {
+		return by(broadcast(divisor));
+	}
+
+	/**
+	 * Returns the conjugates of the numbers.
+	 * @return the conjugates of the numbers
+	 */
+	public A conjugate() {
+		A result = copy();
+		double[] rIm = result.im;
+		for (int k = 0; k < size; ++k) {
+			rIm[k] = -rIm[k];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the numbers to the power of the given number.
+	 * @param w the exponent
+	 * @return the numbers to the power of the given number
+	 */
+	public A pow(Hypercomplex w) {
+		return pow(broadcast(w));
+	}
+
+	/**
+	 * Returns the numbers to the power of p.
+	 * @param p the real exponent
+	 * @return the numbers to the power of p
+	 */
+	public A pow(double p) {
+		return pow(number(p, 0));
+	}
+
+	// ------------------------- TRIGONOMETRIC FUNCTIONS -------------------------
+
+	/**
+	 * tangent
+	 * @return tangent
+	 */
+	public A tan() {
+		return sin().by(cos());
+	}
+
+	/**
+	 * cotangent
+	 * @return cotangent
+	 */
+	public A cot() {
+		return cos().by(sin());
+	}
+
+	/**
+	 * secant
+	 * @return secant
+	 */
+	public A sec() {
+		return cos().inverse();
+	}
+
+	/**
+	 * cosecant
+	 * @return cosecant
+	 */
+	public A csc() {
+		return sin().inverse();
+	}
+
+	/**
+	 * inverse cosine
+	 * @return inverse cosine
+	 */
+	public A acos() {
+		return asin().times(-1).plus(number(Math.PI / 2, 0));
+	}
+
+	/**
+	 * inverse tangent
+	 * @return inverse tangent
+	 */
+	public A atan() {
+		return times(self()).plus(number(1, 0)).pow(-0.5d).acos();
+	}
+
+	/**
+	 * inverse cotangent
+	 * @return inverse cotangent
+	 */
+	public A acot() {
+		return atan().times(-1).plus(number(Math.PI / 2, 0));
+	}
+
+	/**
+	 * inverse secant
+	 * @return inverse secant
+	 */
+	public A asec() {
+		return inverse().acos();
+	}
+
+	/**
+	 * inverse cosecant
+	 * @return inverse cosecant
+	 */
+	public A acsc() {
+		return inverse().asin();
+	}
+
+	/**
+	 * hyperbolic tangent
+	 * @return hyperbolic tangent
+	 */
+	public A tanh() {
+		return sinh().by(cosh());
+	}
+
+	/**
+	 * hyperbolic cotangent
+	 * @return hyperbolic cotangent
+	 */
+	public A coth() {
+		return cosh().by(sinh());
+	}
+
+	/**
+	 * hyperbolic secant
+	 * @return hyperbolic secant
+	 */
+	public A sech() {
+		return cosh().inverse();
+	}
+
+	/**
+	 * hyperbolic cosecant
+	 * @return hyperbolic cosecant
+	 */
+	public A csch() {
+		return sinh().inverse();
+	}
+
+	/**
+	 * inverse hyperbolic sine
+	 * @return inverse hyperbolic sine
+	 */
+	public A asinh() {
+		return plus(times(self()).plus(number(1, 0)).pow(0.5)).ln();
+	}
+
+	/**
+	 * inverse hyperbolic cosine
+	 * @return inverse hyperbolic cosine
+	 */
+	public A acosh() {
+		return plus(times(self()).plus(number(-1, 0)).pow(0.5)).ln();
+	}
+
+	/**
+	 * inverse hyperbolic tangent
+	 * @return inverse hyperbolic tangent
+	 */
+	public A atanh() {
+		return plus(number(1, 0)).by(times(-1).plus(number(1, 0))).ln().by(2);
+	}
+
+	/**
+	 * inverse hyperbolic cotangent
+	 * @return inverse hyperbolic cotangent
+	 */
+	public A acoth() {
+		return inverse().atanh();
+	}
+
+	/**
+	 * inverse hyperbolic secant
+	 * @return inverse hyperbolic secant
+	 */
+	public A asech() {
+		return inverse().acosh();
+	}
+
+	/**
+	 * inverse hyperbolic cosecant
+	 * @return inverse hyperbolic cosecant
+	 */
+	public A acsch() {
+		return inverse().asinh();
+	}
+
+	// ------------------------- HELPERS -------------------------
+
+	/**
+	 * Returns a new array of this kind and size holding zeros.
+	 * @return a new array of this kind and size
+	 */
+	protected A empty() {
+		return create(new double[size], new double[size], 0, size);
+	}
+
+	/**
+	 * Checks that the other array of an element wise operation has the same size as this one.
+	 * @param other the other array
+	 * @throws IllegalArgumentException if the sizes differ
+	 */
+	protected void checkSize(HypercomplexArray<?> other) {
+		if (other.size != size) {
+			throw new IllegalArgumentException("arrays of size " + size + " and " + other.size);
+		}
+	}
+
+	/**
+	 * Returns an array of this kind and size holding the given number in every element.
+	 * @param value the number
+	 * @return an array holding the given number in every element
+	 */
+	protected A broadcast(Hypercomplex value) {
+		A result = empty();
+		Arrays.fill(result.re, value.re());
+		Arrays.fill(result.im, value.im());
+		return result;
+	}
+
+	/**
+	 * Writes a number computed by the scalar operation into the given columns (NaN if it is null).
+	 * Used for the elements the closed forms of the arrays don't cover.
+	 * @param value the number (or null)
+	 * @param rRe the real parts to write to
+	 * @param rIm the imaginary parts to write to
+	 * @param k the index to write to
+	 */
+	protected static void put(Hypercomplex value, double[] rRe, double[] rIm, int k) {
+		if (value == null) {
+			rRe[k] = rIm[k] = Double.NaN;
+		} else {
+			rRe[k] = value.re();
+			rIm[k] = value.im();
+		}
+	}
+
+	/**
+	 * Copies the cartesian values of the numbers into the given columns.
+	 * @param values the numbers
+	 * @param re the real parts to write to
+	 * @param im the imaginary parts to write to
+	 */
+	protected static void fill(Collection<? extends Hypercomplex> values, double[] re, double[] im) {
+		int k = 0;
+		for (Hypercomplex value : values) {
+			re[k] = value.re();
+			im[k] = value.im();
+			++k;
+		}
+	}
+
+	/**
+	 * Returns the angle of the vector (x, y) with the length r, the same way {@link Hypercomplex#phi()} does.
+	 * @param x the x ordinate
+	 * @param y the y ordinate
+	 * @param r the length
+	 * @return the angle (-PI < phi <= PI)
+	 */
+	protected static double phi(double x, double y, double r) {
+		if (r == 0) {
+			return 0;
+		}
+		return y < 0 ? -Math.acos(x / r) : Math.acos(x / r);
+	}
+
+	@SuppressWarnings("unchecked")
+	private A self() {
+		return (A)this;
+	}
+
+	private int check(int k) {
+		if (k < 0 || k >= size) {
+			throw new IndexOutOfBoundsException("index " + k + " of " + size);
+		}
+		return k;
+	}
+
+	@Override
+	public String toString() {
+		return toList().toString();
+	}
+
+}
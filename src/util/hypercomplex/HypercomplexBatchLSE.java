@@ -0,0 +1,497 @@
+package util.hypercomplex;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves many small linear systems of complex, binary or dual numbers (all of the same size) at once.<p>
+ *
+ * The systems are packed one after the other into primitive arrays, all values interleaved (re, im, re, im, ...):
+ * the matrices row by row (2 * n * n doubles each), the right hand sides and the solutions (2 * n doubles each).
+ * There are no objects created per system.
+ * Systems of 2, 3 and 4 unknowns are solved in closed form (the adjugate times the right hand side, divided by the determinant,
+ * which works in all three algebras since they are commutative), the others by gaussian elimination with partial pivoting.
+ * Binary systems are eliminated in the diagonal basis a + b * E == (a + b) * (1 + E) / 2 + (a - b) * (1 - E) / 2,
+ * as two real systems with their own pivots, since a column can hold only zero divisors although the matrix is invertible.
+ * Each matrix is scaled to a biggest absolute value of 1 first, then it counts as singular like in {@link HypercomplexLU}:
+ * if its determinant (or a pivot) has an absolute determinant below SINGULAR_TOLERANCE².<p>
+ *
+ * Every system gets a status code (OK, SINGULAR or NOT_FINITE), the solutions of the ones that aren't OK are NaN.
+ * Big batches are split into chunks of systems that are solved by the threads of a fork/join pool.<p>
+ *
+ * <b>examples:</b><br>
+ * HypercomplexBatchLSE batch = new HypercomplexBatchLSE("complex", 3);<br>
+ * batch.solve(matrices, rightHandSides, solutions, status, count); <- returns the number of solved systems<br>
+ * batch.solve(matrices, x, x, status, count); <- the right hand sides are overwritten by the solutions<br>
+ * @see HypercomplexLU
+ */
+public class HypercomplexBatchLSE {
+
+	/**
+	 * the status of a solved system
+	 */
+	public static final byte OK = 0;
+
+	/**
+	 * the status of a system with a singular matrix
+	 */
+	public static final byte SINGULAR = 1;
+
+	/**
+	 * the status of a system with a value (or a solution) that is infinite or NaN
+	 */
+	public static final byte NOT_FINITE = 2;
+
+	/**
+	 * the number of multiplications a thread does at least
+	 */
+	private static final int GRAIN = 1 << 16;
+
+	private static final double TOLERANCE = HypercomplexLU.SINGULAR_TOLERANCE * HypercomplexLU.SINGULAR_TOLERANCE;
+
+	private final double square;
+	private final int n;
+
+	/**
+	 * the parts of the scratch array of a thread: the matrix (at 0), the right hand side,
+	 * the solution, the determinant, the adjugate and the 2x2 minors of the 4x4 kernel
+	 */
+	private final int b;
+	private final int x;
+	private final int det;
+	private final int adjugate;
+	private final int minors;
+	private final int scratch;
+
+	/**
+	 * Constructor.
+	 * @param type string starting with "c" or "C" for complex data, "b" or "B" for binary data, "d" or "D" for dual data
+	 * @param n the number of unknowns (and equations) of each system
+	 */
+	public HypercomplexBatchLSE(String type, int n) {
+		char c = Character.toLowerCase(type.charAt(0));
+		if (c == 'c') {
+			square = -1;
+		} else if (c == 'b') {
+			square = 1;
+		} else if (c == 'd') {
+			square = 0;
+		} else {
+			throw new IllegalArgumentException("unknown type " + type);
+		}
+		if (n < 1) {
+			throw new IllegalArgumentException("size " + n);
+		}
+		this.n = n;
+		b = 2 * n * n;
+		x = b + 2 * n;
+		det = x + 2 * n;
+		adjugate = det + 2;
+		minors = adjugate + 2 * n * n;
+		scratch = minors + 24;
+	}
+
+	/**
+	 * Returns the number of unknowns of each system.
+	 * @return the number of unknowns of each system
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Solves count systems A * x == b. The solutions may be written into the array of the right hand sides.
+	 * @param matrices the matrices, one after the other, row by row, interleaved (2 * n * n doubles each)
+	 * @param rightHandSides the right hand sides, one after the other, interleaved (2 * n doubles each)
+	 * @param solutions gets the solutions, one after the other, interleaved (2 * n doubles each)
+	 * @param status gets the status of each system (OK, SINGULAR or NOT_FINITE)
+	 * @param count the number of systems
+	 * @return the number of solved systems (with status OK)
+	 */
+	public int solve(double[] matrices, double[] rightHandSides, double[] solutions, byte[] status, int count) {
+		if (matrices.length < 2L * n * n * count || rightHandSides.length < 2L * n * count
+				|| solutions.length < 2L * n * count || status.length < count) {
+			throw new IllegalArgumentException("the arrays are too short for " + count + " systems of size " + n);
+		}
+		int chunk = Math.max(1, GRAIN / (n * n * (n + 1)));
+		Chunk task = new Chunk(matrices, rightHandSides, solutions, status, 0, count, chunk);
+		// small batches aren't worth handing over to the pool
+		if (count <= chunk) {
+			task.invoke();
+		} else {
+			Parallel.POOL.invoke(task);
+		}
+		int result = 0;
+		for (int k = 0; k < count; ++k) {
+			if (status[k] == OK) {
+				++result;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * the systems from (inclusive) to (exclusive), with one scratch array for all of them
+	 */
+	private class Chunk extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final double[] matrices;
+		private final double[] rightHandSides;
+		private final double[] solutions;
+		private final byte[] status;
+		private final int from;
+		private final int to;
+		private final int chunk;
+
+		Chunk(double[] matrices, double[] rightHandSides, double[] solutions, byte[] status, int from, int to, int chunk) {
+			this.matrices = matrices;
+			this.rightHandSides = rightHandSides;
+			this.solutions = solutions;
+			this.status = status;
+			this.from = from;
+			this.to = to;
+			this.chunk = chunk;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > chunk) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Chunk(matrices, rightHandSides, solutions, status, from, middle, chunk),
+						new Chunk(matrices, rightHandSides, solutions, status, middle, to, chunk));
+				return;
+			}
+			double[] w = new double[scratch];
+			for (int k = from; k < to; ++k) {
+				status[k] = solve(matrices, 2 * n * n * k, rightHandSides, solutions, 2 * n * k, w);
+			}
+		}
+
+	}
+
+	/**
+	 * solves one system with the scratch array w
+	 * @return the status
+	 */
+	private byte solve(double[] matrices, int matrix, double[] rightHandSides, double[] solutions, int vector, double[] w) {
+		System.arraycopy(matrices, matrix, w, 0, 2 * n * n);
+		System.arraycopy(rightHandSides, vector, w, b, 2 * n);
+		// infinity * 0 and NaN * 0 are NaN
+		double check = 0, scale = 0;
+		for (int k = 0; k < b; k += 2) {
+			check += w[k] * 0 + w[k + 1] * 0;
+			scale = Math.max(scale, Math.hypot(w[k], w[k + 1]));
+		}
+		for (int k = b; k < x; ++k) {
+			check += w[k] * 0;
+		}
+		byte result;
+		if (check != 0) {
+			result = NOT_FINITE;
+		} else if (scale == 0) {
+			result = SINGULAR;
+		} else {
+			for (int k = 0; k < x; ++k) {
+				w[k] /= scale;
+			}
+			boolean solved;
+			switch (n) {
+			case 2:
+				solved = solve2(w);
+				break;
+			case 3:
+				solved = solve3(w);
+				break;
+			case 4:
+				solved = solve4(w);
+				break;
+			default:
+				solved = square == 1 ? eliminateDiagonal(w) : eliminate(w);
+			}
+			result = solved ? OK : SINGULAR;
+			for (int k = x; k < det && solved; ++k) {
+				if (Double.isNaN(w[k]) || Double.isInfinite(w[k])) {
+					result = NOT_FINITE;
+				}
+			}
+		}
+		if (result == OK) {
+			System.arraycopy(w, x, solutions, vector, 2 * n);
+		} else {
+			Arrays.fill(solutions, vector, vector + 2 * n, Double.NaN);
+		}
+		return result;
+	}
+
+	private int at(int i, int j) {
+		return 2 * (i * n + j);
+	}
+
+	// ------------------------- CLOSED FORMS -------------------------
+
+	private boolean solve2(double[] w) {
+		double s = square;
+		det2(w, det, at(0, 0), at(0, 1), at(1, 0), at(1, 1), s);
+		// cramer's rule
+		det2(w, x, b, at(0, 1), b + 2, at(1, 1), s);
+		det2(w, x + 2, at(0, 0), b, at(1, 0), b + 2, s);
+		return divide(w);
+	}
+
+	private boolean solve3(double[] w) {
+		double s = square;
+		// the adjugate is the transposed matrix of the cofactors
+		det2(w, adjugate + at(0, 0), at(1, 1), at(1, 2), at(2, 1), at(2, 2), s);
+		det2(w, adjugate + at(1, 0), at(1, 2), at(1, 0), at(2, 2), at(2, 0), s);
+		det2(w, adjugate + at(2, 0), at(1, 0), at(1, 1), at(2, 0), at(2, 1), s);
+		det2(w, adjugate + at(0, 1), at(0, 2), at(0, 1), at(2, 2), at(2, 1), s);
+		det2(w, adjugate + at(1, 1), at(0, 0), at(0, 2), at(2, 0), at(2, 2), s);
+		det2(w, adjugate + at(2, 1), at(0, 1), at(0, 0), at(2, 1), at(2, 0), s);
+		det2(w, adjugate + at(0, 2), at(0, 1), at(0, 2), at(1, 1), at(1, 2), s);
+		det2(w, adjugate + at(1, 2), at(0, 2), at(0, 0), at(1, 2), at(1, 0), s);
+		det2(w, adjugate + at(2, 2), at(0, 0), at(0, 1), at(1, 0), at(1, 1), s);
+		return adjugateTimes(w);
+	}
+
+	private boolean solve4(double[] w) {
+		double s = square;
+		// the 2x2 minors of the upper two rows (s0 to s5) and of the lower two rows (c0 to c5)
+		int s0 = minors, s1 = s0 + 2, s2 = s0 + 4, s3 = s0 + 6, s4 = s0 + 8, s5 = s0 + 10;
+		int c0 = s0 + 12, c1 = s0 + 14, c2 = s0 + 16, c3 = s0 + 18, c4 = s0 + 20, c5 = s0 + 22;
+		det2(w, s0, at(0, 0), at(0, 1), at(1, 0), at(1, 1), s);
+		det2(w, s1, at(0, 0), at(0, 2), at(1, 0), at(1, 2), s);
+		det2(w, s2, at(0, 0), at(0, 3), at(1, 0), at(1, 3), s);
+		det2(w, s3, at(0, 1), at(0, 2), at(1, 1), at(1, 2), s);
+		det2(w, s4, at(0, 1), at(0, 3), at(1, 1), at(1, 3), s);
+		det2(w, s5, at(0, 2), at(0, 3), at(1, 2), at(1, 3), s);
+		det2(w, c0, at(2, 0), at(2, 1), at(3, 0), at(3, 1), s);
+		det2(w, c1, at(2, 0), at(2, 2), at(3, 0), at(3, 2), s);
+		det2(w, c2, at(2, 0), at(2, 3), at(3, 0), at(3, 3), s);
+		det2(w, c3, at(2, 1), at(2, 2), at(3, 1), at(3, 2), s);
+		det2(w, c4, at(2, 1), at(2, 3), at(3, 1), at(3, 3), s);
+		det2(w, c5, at(2, 2), at(2, 3), at(3, 2), at(3, 3), s);
+		// each entry of the adjugate (a 3x3 cofactor) from the minors of the other two rows
+		cofactor(w, adjugate + at(0, 0), 1, at(1, 1), c5, at(1, 2), c4, at(1, 3), c3, s);
+		cofactor(w, adjugate + at(0, 1), -1, at(0, 1), c5, at(0, 2), c4, at(0, 3), c3, s);
+		cofactor(w, adjugate + at(0, 2), 1, at(3, 1), s5, at(3, 2), s4, at(3, 3), s3, s);
+		cofactor(w, adjugate + at(0, 3), -1, at(2, 1), s5, at(2, 2), s4, at(2, 3), s3, s);
+		cofactor(w, adjugate + at(1, 0), -1, at(1, 0), c5, at(1, 2), c2, at(1, 3), c1, s);
+		cofactor(w, adjugate + at(1, 1), 1, at(0, 0), c5, at(0, 2), c2, at(0, 3), c1, s);
+		cofactor(w, adjugate + at(1, 2), -1, at(3, 0), s5, at(3, 2), s2, at(3, 3), s1, s);
+		cofactor(w, adjugate + at(1, 3), 1, at(2, 0), s5, at(2, 2), s2, at(2, 3), s1, s);
+		cofactor(w, adjugate + at(2, 0), 1, at(1, 0), c4, at(1, 1), c2, at(1, 3), c0, s);
+		cofactor(w, adjugate + at(2, 1), -1, at(0, 0), c4, at(0, 1), c2, at(0, 3), c0, s);
+		cofactor(w, adjugate + at(2, 2), 1, at(3, 0), s4, at(3, 1), s2, at(3, 3), s0, s);
+		cofactor(w, adjugate + at(2, 3), -1, at(2, 0), s4, at(2, 1), s2, at(2, 3), s0, s);
+		cofactor(w, adjugate + at(3, 0), -1, at(1, 0), c3, at(1, 1), c1, at(1, 2), c0, s);
+		cofactor(w, adjugate + at(3, 1), 1, at(0, 0), c3, at(0, 1), c1, at(0, 2), c0, s);
+		cofactor(w, adjugate + at(3, 2), -1, at(3, 0), s3, at(3, 1), s1, at(3, 2), s0, s);
+		cofactor(w, adjugate + at(3, 3), 1, at(2, 0), s3, at(2, 1), s1, at(2, 2), s0, s);
+		return adjugateTimes(w);
+	}
+
+	/**
+	 * w[o] = w[p] * w[t] - w[q] * w[r]
+	 */
+	private static void det2(double[] w, int o, int p, int q, int r, int t, double s) {
+		double re = w[p] * w[t] + s * w[p + 1] * w[t + 1] - w[q] * w[r] - s * w[q + 1] * w[r + 1];
+		double im = w[p] * w[t + 1] + w[p + 1] * w[t] - w[q] * w[r + 1] - w[q + 1] * w[r];
+		w[o] = re;
+		w[o + 1] = im;
+	}
+
+	/**
+	 * w[o] = sign * (w[a0] * w[m0] - w[a1] * w[m1] + w[a2] * w[m2])
+	 */
+	private static void cofactor(double[] w, int o, double sign, int a0, int m0, int a1, int m1, int a2, int m2, double s) {
+		double re = w[a0] * w[m0] + s * w[a0 + 1] * w[m0 + 1] - w[a1] * w[m1] - s * w[a1 + 1] * w[m1 + 1]
+				+ w[a2] * w[m2] + s * w[a2 + 1] * w[m2 + 1];
+		double im = w[a0] * w[m0 + 1] + w[a0 + 1] * w[m0] - w[a1] * w[m1 + 1] - w[a1 + 1] * w[m1]
+				+ w[a2] * w[m2 + 1] + w[a2 + 1] * w[m2];
+		w[o] = sign * re;
+		w[o + 1] = sign * im;
+	}
+
+	/**
+	 * the determinant (along the first row) and the adjugate times the right hand side
+	 */
+	private boolean adjugateTimes(double[] w) {
+		double s = square;
+		double dRe = 0, dIm = 0;
+		for (int j = 0; j < n; ++j) {
+			int a = at(0, j), c = adjugate + at(j, 0);
+			dRe += w[a] * w[c] + s * w[a + 1] * w[c + 1];
+			dIm += w[a] * w[c + 1] + w[a + 1] * w[c];
+		}
+		w[det] = dRe;
+		w[det + 1] = dIm;
+		for (int i = 0; i < n; ++i) {
+			double re = 0, im = 0;
+			for (int j = 0, c = adjugate + at(i, 0), v = b; j < n; ++j, c += 2, v += 2) {
+				re += w[c] * w[v] + s * w[c + 1] * w[v + 1];
+				im += w[c] * w[v + 1] + w[c + 1] * w[v];
+			}
+			w[x + 2 * i] = re;
+			w[x + 2 * i + 1] = im;
+		}
+		return divide(w);
+	}
+
+	/**
+	 * divides the solution by the determinant
+	 * @return false if the determinant isn't invertible
+	 */
+	private boolean divide(double[] w) {
+		double s = square;
+		double dRe = w[det], dIm = w[det + 1];
+		double abs = dRe * dRe - s * dIm * dIm;
+		if (!(Math.abs(abs) > TOLERANCE)) {
+			return false;
+		}
+		double invRe = dRe / abs, invIm = -dIm / abs;
+		for (int k = x; k < det; k += 2) {
+			double re = w[k] * invRe + s * w[k + 1] * invIm;
+			w[k + 1] = w[k] * invIm + w[k + 1] * invRe;
+			w[k] = re;
+		}
+		return true;
+	}
+
+	// ------------------------- ELIMINATION -------------------------
+
+	/**
+	 * gaussian elimination with partial pivoting (the biggest absolute determinant) and back substitution
+	 * @return false if the matrix is singular
+	 */
+	private boolean eliminate(double[] w) {
+		double s = square;
+		for (int k = 0; k < n; ++k) {
+			int pivot = k;
+			double best = -1;
+			for (int i = k; i < n; ++i) {
+				int ik = at(i, k);
+				double abs = Math.abs(w[ik] * w[ik] - s * w[ik + 1] * w[ik + 1]);
+				if (abs > best) {
+					best = abs;
+					pivot = i;
+				}
+			}
+			if (!(best > TOLERANCE)) {
+				return false;
+			}
+			if (pivot != k) {
+				for (int j = at(k, k), p = at(pivot, k); j < at(k + 1, 0); ++j, ++p) {
+					double t = w[j];
+					w[j] = w[p];
+					w[p] = t;
+				}
+				for (int j = b + 2 * k, p = b + 2 * pivot; j < b + 2 * k + 2; ++j, ++p) {
+					double t = w[j];
+					w[j] = w[p];
+					w[p] = t;
+				}
+			}
+			int kk = at(k, k);
+			double abs = w[kk] * w[kk] - s * w[kk + 1] * w[kk + 1];
+			double invRe = w[kk] / abs, invIm = -w[kk + 1] / abs;
+			for (int i = k + 1; i < n; ++i) {
+				int ik = at(i, k);
+				double lRe = w[ik] * invRe + s * w[ik + 1] * invIm;
+				double lIm = w[ik] * invIm + w[ik + 1] * invRe;
+				for (int ij = ik + 2, kj = kk + 2; ij < at(i + 1, 0); ij += 2, kj += 2) {
+					w[ij] -= lRe * w[kj] + s * lIm * w[kj + 1];
+					w[ij + 1] -= lRe * w[kj + 1] + lIm * w[kj];
+				}
+				int bi = b + 2 * i, bk = b + 2 * k;
+				w[bi] -= lRe * w[bk] + s * lIm * w[bk + 1];
+				w[bi + 1] -= lRe * w[bk + 1] + lIm * w[bk];
+			}
+		}
+		for (int i = n - 1; i >= 0; --i) {
+			double re = w[b + 2 * i], im = w[b + 2 * i + 1];
+			for (int j = i + 1, ij = at(i, i + 1); j < n; ++j, ij += 2) {
+				re -= w[ij] * w[x + 2 * j] + s * w[ij + 1] * w[x + 2 * j + 1];
+				im -= w[ij] * w[x + 2 * j + 1] + w[ij + 1] * w[x + 2 * j];
+			}
+			int ii = at(i, i);
+			double abs = w[ii] * w[ii] - s * w[ii + 1] * w[ii + 1];
+			double invRe = w[ii] / abs, invIm = -w[ii + 1] / abs;
+			w[x + 2 * i] = re * invRe + s * im * invIm;
+			w[x + 2 * i + 1] = re * invIm + im * invRe;
+		}
+		return true;
+	}
+
+	/**
+	 * the elimination of a binary system as two real systems in the diagonal basis
+	 * @return false if the matrix is singular
+	 */
+	private boolean eliminateDiagonal(double[] w) {
+		for (int k = 0; k < x; k += 2) {
+			double re = w[k];
+			w[k] = re + w[k + 1];
+			w[k + 1] = re - w[k + 1];
+		}
+		if (!eliminateReal(w, 0) || !eliminateReal(w, 1)) {
+			return false;
+		}
+		for (int k = x; k < det; k += 2) {
+			double plus = w[k];
+			w[k] = (plus + w[k + 1]) / 2;
+			w[k + 1] = (plus - w[k + 1]) / 2;
+		}
+		return true;
+	}
+
+	/**
+	 * gaussian elimination with partial pivoting and back substitution of the real system
+	 * in every second value of the matrix, the right hand side and the solution, starting at part
+	 * @return false if the matrix is singular
+	 */
+	private boolean eliminateReal(double[] w, int part) {
+		for (int k = 0; k < n; ++k) {
+			int pivot = k;
+			double best = -1;
+			for (int i = k; i < n; ++i) {
+				double abs = Math.abs(w[at(i, k) + part]);
+				if (abs > best) {
+					best = abs;
+					pivot = i;
+				}
+			}
+			if (!(best * best > TOLERANCE)) {
+				return false;
+			}
+			if (pivot != k) {
+				for (int j = at(k, k) + part, p = at(pivot, k) + part; j < at(k + 1, 0); j += 2, p += 2) {
+					double t = w[j];
+					w[j] = w[p];
+					w[p] = t;
+				}
+				double t = w[b + 2 * k + part];
+				w[b + 2 * k + part] = w[b + 2 * pivot + part];
+				w[b + 2 * pivot + part] = t;
+			}
+			int kk = at(k, k) + part;
+			for (int i = k + 1; i < n; ++i) {
+				int ik = at(i, k) + part;
+				double l = w[ik] / w[kk];
+				for (int ij = ik + 2, kj = kk + 2; ij < at(i + 1, 0); ij += 2, kj += 2) {
+					w[ij] -= l * w[kj];
+				}
+				w[b + 2 * i + part] -= l * w[b + 2 * k + part];
+			}
+		}
+		for (int i = n - 1; i >= 0; --i) {
+			double sum = w[b + 2 * i + part];
+			for (int j = i + 1, ij = at(i, i + 1) + part; j < n; ++j, ij += 2) {
+				sum -= w[ij] * w[x + 2 * j + part];
+			}
+			w[x + 2 * i + part] = sum / w[at(i, i) + part];
+		}
+		return true;
+	}
+
+}
@@ -140,7 +140,7 @@ public class HypercomplexLSE {
 			for (int i = 0; i < count; ++i) {
 				// finally check if unused equations are still valid
 				int index = complexData.size() - 1;
-				Hypercomplex sum = Complex.ZERO;
+				Hypercomplex sum = new Complex();
 				for (int j = 0; j < numVariables; ++j) {
 					sum.add(complexData.get(index).get(j).times(complexData.get(j).get(numVariables)));
 				}
@@ -183,7 +183,7 @@ public class HypercomplexLSE {
 			for (int i = 0; i < count; ++i) {
 				// finally check if unused equations are still valid
 				int index = binaryData.size() - 1;
-				Binary sum = Binary.ZERO;
+				Binary sum = new Binary();
 				for (int j = 0; j < numVariables; ++j) {
 					sum.add(binaryData.get(index).get(j).times(binaryData.get(j).get(numVariables)));
 				}
@@ -226,7 +226,7 @@ public class HypercomplexLSE {
 			for (int i = 0; i < count; ++i) {
 				// finally check if unused equations are still valid
 				int index = dualData.size() - 1;
-				Dual sum = Dual.ZERO;
+				Dual sum = new Dual();
 				for (int j = 0; j < numVariables; ++j) {
 					sum.add(dualData.get(index).get(j).times(dualData.get(j).get(numVariables)));
 				}
@@ -240,6 +240,26 @@ public class HypercomplexLSE {
 		setSolved(true);
 	}
 
+	/**
+	 * Returns the LU decomposition of the coefficients (as they are now, so before solve()),
+	 * to solve the same system for many right hand sides.
+	 * @return the LU decomposition of the coefficients (or null if the system isn't square)
+	 */
+	public HypercomplexLU lu() {
+		if (numEquations != numVariables || numVariables == 0) {
+			return null;
+		}
+		double[] matrix = new double[2 * numVariables * numVariables];
+		for (int i = 0; i < numEquations; ++i) {
+			for (int j = 0; j < numVariables; ++j) {
+				Hypercomplex value = isComplex() ? complexData.get(i).get(j) : isBinary() ? binaryData.get(i).get(j) : dualData.get(i).get(j);
+				matrix[2 * (i * numVariables + j)] = value.re();
+				matrix[2 * (i * numVariables + j) + 1] = value.im();
+			}
+		}
+		return new HypercomplexLU(isComplex() ? "complex" : isBinary() ? "binary" : "dual", numVariables, matrix);
+	}
+
 	public boolean isComplex() {
 		return complex;
 	}
@@ -0,0 +1,611 @@
+package util.hypercomplex;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The LU decomposition (with partial pivoting) of a square matrix of complex, binary or dual numbers.<p>
+ *
+ * The matrix is factored once (PA = LU, O(n³)), after that every right hand side is solved in O(n²).
+ * All values are kept interleaved in one double[] (re, im, re, im, ...) with the rows one after the other,
+ * so there are no Hypercomplex objects created during the factorisation or the solving.<p>
+ *
+ * The three algebras only differ in the square of their imaginary unit (-1, 1 or 0),
+ * so (a + b * u) * (c + d * u) == a * c + u² * b * d + (a * d + b * c) * u and det(c + d * u) == c² - u² * d².
+ * The pivot of each column is the number with the biggest absolute determinant,
+ * which is the squared modulus for complex numbers and avoids the zero divisors (a * e) of the dual numbers.
+ * If there's no pivot that is invertible (compared to the biggest value of the matrix) the matrix is singular
+ * and solve() returns null.<p>
+ *
+ * A column of binary numbers can hold only zero divisors (a + a * E, a - a * E) although the matrix is invertible,
+ * so binary matrices are factored in the diagonal basis a + b * E == (a + b) * (1 + E) / 2 + (a - b) * (1 - E) / 2 instead,
+ * where they are two real matrices, each with its own LU decomposition (and pivots).
+ * The binary matrix is singular if one of them is.<p>
+ *
+ * Big matrices are factored in blocks of PANEL columns: the panel is eliminated alone,
+ * then the rows of U right of it are solved and the trailing matrix gets all updates of the panel at once
+ * (A22 -= L21 * U12), tile by tile, so the rows of U12 stay in the cache instead of being read once per column.
+ * The rows of the trailing update are split over the threads of a fork/join pool.
+ * Both ways choose the same pivots.<p>
+ *
+ * <b>examples:</b><br>
+ * HypercomplexLU lu = new HypercomplexLU(2, new Complex(2, 1), new Complex(1), new Complex(0, 1), new Complex(3));<br>
+ * lu.solve(new Complex(1), new Complex(2)); <- x with A * x == (1, 2)<br>
+ * lu.solve(rightHandSides, 10); <- 10 right hand sides at once, in place<br>
+ * lu.determinant(); lu.conditionEstimate();<br>
+ * @see HypercomplexLSE#lu()
+ */
+public class HypercomplexLU {
+
+	/**
+	 * a pivot with an absolute value below this (relative to the biggest value of the matrix) counts as zero
+	 */
+	public static final double SINGULAR_TOLERANCE = 1e-14;
+
+	/**
+	 * from this size on the matrix is factored in blocks
+	 */
+	static final int BLOCKED_SIZE = 96;
+
+	/**
+	 * the number of columns of a block (a row of it is 1 KB)
+	 */
+	private static final int PANEL = 64;
+
+	/**
+	 * the number of columns of a tile of the trailing update, PANEL rows of it (256 KB) fit into the L2 cache
+	 */
+	private static final int TILE = 256;
+
+	/**
+	 * the number of multiplications a thread does at least
+	 */
+	private static final int GRAIN = 1 << 16;
+
+	private final char type;
+	private final double square;
+	private final int n;
+	private final double[] lu;
+	private final int[] swaps;
+	private final double[] inverseDiagonal;
+	private final boolean singular;
+	private final double norm;
+	private double condition = Double.NaN;
+
+	/**
+	 * the real decompositions of the (1 + E) / 2 and the (1 - E) / 2 parts of a binary matrix (otherwise null)
+	 */
+	private final HypercomplexLU[] parts;
+
+	/**
+	 * Constructor. Factors the given matrix.
+	 * @param type string starting with "c" or "C" for complex data, "b" or "B" for binary data, "d" or "D" for dual data
+	 * @param n the size of the matrix
+	 * @param matrix the values of the matrix, row by row, interleaved (re, im, re, im, ...) - is copied
+	 */
+	public HypercomplexLU(String type, int n, double[] matrix) {
+		this.type = Character.toLowerCase(type.charAt(0));
+		if (this.type == 'c') {
+			square = -1;
+		} else if (this.type == 'b') {
+			square = 1;
+		} else if (this.type == 'd') {
+			square = 0;
+		} else {
+			throw new IllegalArgumentException("unknown type " + type);
+		}
+		if (matrix.length != 2 * n * n) {
+			throw new IllegalArgumentException(matrix.length / 2 + " values for a " + n + "x" + n + " matrix");
+		}
+		this.n = n;
+		if (this.type == 'b') {
+			double[] plus = new double[2 * n * n], minus = new double[2 * n * n];
+			for (int k = 0; k < matrix.length; k += 2) {
+				plus[k] = matrix[k] + matrix[k + 1];
+				minus[k] = matrix[k] - matrix[k + 1];
+			}
+			parts = new HypercomplexLU[] {new HypercomplexLU(n, plus), new HypercomplexLU(n, minus)};
+			lu = null;
+			swaps = null;
+			inverseDiagonal = null;
+			norm = Math.max(parts[0].norm, parts[1].norm);
+			singular = parts[0].singular || parts[1].singular;
+			return;
+		}
+		parts = null;
+		lu = matrix.clone();
+		swaps = new int[n];
+		inverseDiagonal = new double[2 * n];
+		norm = norm1(lu, n);
+		singular = !factor();
+	}
+
+	/**
+	 * Constructor. Factors a real matrix (a part of a binary one), interleaved with imaginary parts that are zero.
+	 */
+	private HypercomplexLU(int n, double[] matrix) {
+		type = 'd';
+		square = 0;
+		this.n = n;
+		parts = null;
+		lu = matrix;
+		swaps = new int[n];
+		inverseDiagonal = new double[2 * n];
+		norm = norm1(lu, n);
+		singular = !factor();
+	}
+
+	/**
+	 * Constructor. Factors the given matrix.
+	 * @param type string starting with "c" or "C" for complex data, "b" or "B" for binary data, "d" or "D" for dual data
+	 * @param n the size of the matrix
+	 * @param matrix the values of the matrix, row by row
+	 */
+	public HypercomplexLU(String type, int n, Hypercomplex... matrix) {
+		this(type, n, interleave(matrix));
+	}
+
+	/**
+	 * Constructor. Factors the given matrix, the type is the one of its first value.
+	 * @param n the size of the matrix
+	 * @param matrix the values of the matrix, row by row
+	 */
+	public HypercomplexLU(int n, Hypercomplex... matrix) {
+		this(typeOf(matrix[0]), n, interleave(matrix));
+	}
+
+	static String typeOf(Hypercomplex value) {
+		if (value.isBinary()) {
+			return "binary";
+		}
+		if (value.isDual()) {
+			return "dual";
+		}
+		return "complex";
+	}
+
+	static double[] interleave(Hypercomplex... values) {
+		double[] result = new double[2 * values.length];
+		for (int i = 0; i < values.length; ++i) {
+			result[2 * i] = values[i].re();
+			result[2 * i + 1] = values[i].im();
+		}
+		return result;
+	}
+
+	/**
+	 * the biggest sum of the absolute values of a column
+	 */
+	private static double norm1(double[] a, int n) {
+		double result = 0;
+		for (int j = 0; j < n; ++j) {
+			double sum = 0;
+			for (int i = 0; i < n; ++i) {
+				int k = 2 * (i * n + j);
+				sum += Math.hypot(a[k], a[k + 1]);
+			}
+			result = Math.max(result, sum);
+		}
+		return result;
+	}
+
+	/**
+	 * right-looking elimination, blocked for big matrices
+	 * @return false if the matrix is singular
+	 */
+	private boolean factor() {
+		double biggest = 0;
+		for (int k = 0; k < lu.length; k += 2) {
+			biggest = Math.max(biggest, Math.hypot(lu[k], lu[k + 1]));
+		}
+		double tolerance = SINGULAR_TOLERANCE * biggest;
+		tolerance *= tolerance;
+		if (n < BLOCKED_SIZE) {
+			for (int k = 0; k < n; ++k) {
+				if (!eliminate(k, n, tolerance)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		for (int k0 = 0; k0 < n; k0 += PANEL) {
+			int k1 = Math.min(k0 + PANEL, n);
+			for (int k = k0; k < k1; ++k) {
+				if (!eliminate(k, k1, tolerance)) {
+					return false;
+				}
+			}
+			if (k1 < n) {
+				solveUpper(k0, k1);
+				Parallel.POOL.invoke(new Update(k0, k1, k1, n));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * one step of the elimination, row by row so the inner loop runs along the storage:
+	 * chooses the pivot of column k, swaps the whole rows, computes column k of L
+	 * and updates the columns up to end (exclusive)
+	 * @return false if there's no invertible pivot
+	 */
+	private boolean eliminate(int k, int end, double tolerance) {
+		// pivot: the biggest absolute determinant in the column
+		int pivot = k;
+		double best = -1;
+		for (int i = k; i < n; ++i) {
+			int ik = 2 * (i * n + k);
+			double det = Math.abs(lu[ik] * lu[ik] - square * lu[ik + 1] * lu[ik + 1]);
+			if (det > best) {
+				best = det;
+				pivot = i;
+			}
+		}
+		if (best <= tolerance || best == 0) {
+			return false;
+		}
+		swaps[k] = pivot;
+		if (pivot != k) {
+			for (int j = 2 * k * n, p = 2 * pivot * n; j < 2 * (k + 1) * n; ++j, ++p) {
+				double t = lu[j];
+				lu[j] = lu[p];
+				lu[p] = t;
+			}
+		}
+		int kk = 2 * (k * n + k);
+		double det = lu[kk] * lu[kk] - square * lu[kk + 1] * lu[kk + 1];
+		double invRe = lu[kk] / det, invIm = -lu[kk + 1] / det;
+		inverseDiagonal[2 * k] = invRe;
+		inverseDiagonal[2 * k + 1] = invIm;
+		for (int i = k + 1; i < n; ++i) {
+			int ik = 2 * (i * n + k);
+			double lRe = lu[ik] * invRe + square * lu[ik + 1] * invIm;
+			double lIm = lu[ik] * invIm + lu[ik + 1] * invRe;
+			lu[ik] = lRe;
+			lu[ik + 1] = lIm;
+			if (lRe == 0 && lIm == 0) {
+				continue;
+			}
+			for (int ij = ik + 2, kj = kk + 2; ij < 2 * (i * n + end); ij += 2, kj += 2) {
+				double uRe = lu[kj], uIm = lu[kj + 1];
+				lu[ij] -= lRe * uRe + square * lIm * uIm;
+				lu[ij + 1] -= lRe * uIm + lIm * uRe;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * U12: the rows k0 to k1 (exclusive) right of the panel, L11 * U12 == A12
+	 */
+	private void solveUpper(int k0, int k1) {
+		for (int i = k0 + 1; i < k1; ++i) {
+			for (int p = k0; p < i; ++p) {
+				int ip = 2 * (i * n + p);
+				double lRe = lu[ip], lIm = lu[ip + 1];
+				if (lRe == 0 && lIm == 0) {
+					continue;
+				}
+				for (int ij = 2 * (i * n + k1), pj = 2 * (p * n + k1); ij < 2 * (i + 1) * n; ij += 2, pj += 2) {
+					double uRe = lu[pj], uIm = lu[pj + 1];
+					lu[ij] -= lRe * uRe + square * lIm * uIm;
+					lu[ij + 1] -= lRe * uIm + lIm * uRe;
+				}
+			}
+		}
+	}
+
+	/**
+	 * the update A22 -= L21 * U12 of the rows from (inclusive) to (exclusive), after the panel k0 to k1 (exclusive)
+	 */
+	private class Update extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int k0;
+		private final int k1;
+		private final int from;
+		private final int to;
+
+		Update(int k0, int k1, int from, int to) {
+			this.k0 = k0;
+			this.k1 = k1;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1 && (long)(to - from) * (k1 - k0) * (n - k1) > GRAIN) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Update(k0, k1, from, middle), new Update(k0, k1, middle, to));
+				return;
+			}
+			for (int j0 = k1; j0 < n; j0 += TILE) {
+				int j1 = Math.min(j0 + TILE, n);
+				for (int i = from; i < to; ++i) {
+					int end = 2 * (i * n + j1);
+					for (int p = k0; p < k1; ++p) {
+						int ip = 2 * (i * n + p);
+						double lRe = lu[ip], lIm = lu[ip + 1];
+						if (lRe == 0 && lIm == 0) {
+							continue;
+						}
+						for (int ij = 2 * (i * n + j0), pj = 2 * (p * n + j0); ij < end; ij += 2, pj += 2) {
+							double uRe = lu[pj], uIm = lu[pj + 1];
+							lu[ij] -= lRe * uRe + square * lIm * uIm;
+							lu[ij + 1] -= lRe * uIm + lIm * uRe;
+						}
+					}
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Returns the size of the matrix.
+	 * @return the size of the matrix
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Returns true if the matrix is singular (then there are no solutions).
+	 * @return true if the matrix is singular
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * Returns the solution x of A * x == b.
+	 * @param b the right hand side
+	 * @return the solution (or null if the matrix is singular)
+	 */
+	public Hypercomplex[] solve(Hypercomplex... b) {
+		if (singular) {
+			return null;
+		}
+		double[] x = interleave(b);
+		substitute(x, 0);
+		Hypercomplex[] result = new Hypercomplex[n];
+		for (int i = 0; i < n; ++i) {
+			result[i] = number(x[2 * i], x[2 * i + 1]);
+		}
+		return result;
+	}
+
+	/**
+	 * Solves A * x == b for count right hand sides, one after the other (each interleaved), in place.
+	 * @param b the right hand sides, overwritten by the solutions
+	 * @param count the number of right hand sides
+	 * @return false if the matrix is singular (then b is unchanged)
+	 */
+	public boolean solve(double[] b, int count) {
+		if (singular) {
+			return false;
+		}
+		for (int k = 0; k < count; ++k) {
+			substitute(b, 2 * n * k);
+		}
+		return true;
+	}
+
+	/**
+	 * forward and back substitution of the interleaved right hand side starting at offset, in place
+	 */
+	private void substitute(double[] b, int offset) {
+		if (parts != null) {
+			// in the diagonal basis, each part is solved with its own decomposition
+			double[] plus = new double[2 * n], minus = new double[2 * n];
+			for (int i = 0; i < n; ++i) {
+				double re = b[offset + 2 * i], im = b[offset + 2 * i + 1];
+				plus[2 * i] = re + im;
+				minus[2 * i] = re - im;
+			}
+			parts[0].substitute(plus, 0);
+			parts[1].substitute(minus, 0);
+			for (int i = 0; i < n; ++i) {
+				b[offset + 2 * i] = (plus[2 * i] + minus[2 * i]) / 2;
+				b[offset + 2 * i + 1] = (plus[2 * i] - minus[2 * i]) / 2;
+			}
+			return;
+		}
+		for (int k = 0; k < n; ++k) {
+			int p = swaps[k];
+			if (p != k) {
+				int a = offset + 2 * k, c = offset + 2 * p;
+				double t = b[a];
+				b[a] = b[c];
+				b[c] = t;
+				t = b[a + 1];
+				b[a + 1] = b[c + 1];
+				b[c + 1] = t;
+			}
+		}
+		// L * y == P * b
+		for (int i = 1; i < n; ++i) {
+			double sRe = b[offset + 2 * i], sIm = b[offset + 2 * i + 1];
+			for (int j = 0, ij = 2 * i * n; j < i; ++j, ij += 2) {
+				double yRe = b[offset + 2 * j], yIm = b[offset + 2 * j + 1];
+				sRe -= lu[ij] * yRe + square * lu[ij + 1] * yIm;
+				sIm -= lu[ij] * yIm + lu[ij + 1] * yRe;
+			}
+			b[offset + 2 * i] = sRe;
+			b[offset + 2 * i + 1] = sIm;
+		}
+		// U * x == y
+		for (int i = n - 1; i >= 0; --i) {
+			double sRe = b[offset + 2 * i], sIm = b[offset + 2 * i + 1];
+			for (int j = i + 1, ij = 2 * (i * n + i + 1); j < n; ++j, ij += 2) {
+				double xRe = b[offset + 2 * j], xIm = b[offset + 2 * j + 1];
+				sRe -= lu[ij] * xRe + square * lu[ij + 1] * xIm;
+				sIm -= lu[ij] * xIm + lu[ij + 1] * xRe;
+			}
+			double dRe = inverseDiagonal[2 * i], dIm = inverseDiagonal[2 * i + 1];
+			b[offset + 2 * i] = sRe * dRe + square * sIm * dIm;
+			b[offset + 2 * i + 1] = sRe * dIm + sIm * dRe;
+		}
+	}
+
+	/**
+	 * A^H * x == b (H: conjugated and transposed), in place: U^H * L^H * P * x == b
+	 */
+	private void solveConjugateTransposed(double[] b) {
+		// U^H * w == b
+		for (int i = 0; i < n; ++i) {
+			double sRe = b[2 * i], sIm = b[2 * i + 1];
+			for (int j = 0; j < i; ++j) {
+				int ji = 2 * (j * n + i);
+				double uRe = lu[ji], uIm = -lu[ji + 1];
+				sRe -= uRe * b[2 * j] + square * uIm * b[2 * j + 1];
+				sIm -= uRe * b[2 * j + 1] + uIm * b[2 * j];
+			}
+			double dRe = inverseDiagonal[2 * i], dIm = -inverseDiagonal[2 * i + 1];
+			b[2 * i] = sRe * dRe + square * sIm * dIm;
+			b[2 * i + 1] = sRe * dIm + sIm * dRe;
+		}
+		// L^H * y == w
+		for (int i = n - 1; i >= 0; --i) {
+			double sRe = b[2 * i], sIm = b[2 * i + 1];
+			for (int j = i + 1; j < n; ++j) {
+				int ji = 2 * (j * n + i);
+				double lRe = lu[ji], lIm = -lu[ji + 1];
+				sRe -= lRe * b[2 * j] + square * lIm * b[2 * j + 1];
+				sIm -= lRe * b[2 * j + 1] + lIm * b[2 * j];
+			}
+			b[2 * i] = sRe;
+			b[2 * i + 1] = sIm;
+		}
+		// x == P^T * y
+		for (int k = n - 1; k >= 0; --k) {
+			int p = swaps[k];
+			if (p != k) {
+				double t = b[2 * k];
+				b[2 * k] = b[2 * p];
+				b[2 * p] = t;
+				t = b[2 * k + 1];
+				b[2 * k + 1] = b[2 * p + 1];
+				b[2 * p + 1] = t;
+			}
+		}
+	}
+
+	/**
+	 * Returns the determinant of the matrix.
+	 * @return the determinant of the matrix
+	 */
+	public Hypercomplex determinant() {
+		if (singular) {
+			return number(0, 0);
+		}
+		if (parts != null) {
+			double plus = parts[0].determinant().re(), minus = parts[1].determinant().re();
+			return number((plus + minus) / 2, (plus - minus) / 2);
+		}
+		double re = 1, im = 0;
+		for (int k = 0; k < n; ++k) {
+			int kk = 2 * (k * n + k);
+			double t = re * lu[kk] + square * im * lu[kk + 1];
+			im = re * lu[kk + 1] + im * lu[kk];
+			re = t;
+			if (swaps[k] != k) {
+				re = -re;
+				im = -im;
+			}
+		}
+		return number(re, im);
+	}
+
+	/**
+	 * Returns an estimate of the condition number ||A|| * ||A^-1|| (with the column sum norm),
+	 * using Hager's method that needs a few solutions instead of the inverse.
+	 * The absolute value of an entry is its euclidean length, which is multiplicative only for complex numbers,
+	 * so for binary and dual matrices it's only a rough measure
+	 * (for binary ones it's taken from the bigger norms of the two real parts).
+	 * @return an estimate of the condition number (infinite if the matrix is singular)
+	 */
+	public double conditionEstimate() {
+		if (singular) {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (Double.isNaN(condition)) {
+			condition = parts == null ? norm * inverseNorm1() : norm * Math.max(parts[0].inverseNorm1(), parts[1].inverseNorm1());
+		}
+		return condition;
+	}
+
+	private double inverseNorm1() {
+		double[] x = new double[2 * n];
+		for (int i = 0; i < n; ++i) {
+			x[2 * i] = 1d / n;
+		}
+		double estimate = 0;
+		int last = -1;
+		for (int iteration = 0; iteration < 5; ++iteration) {
+			substitute(x, 0);
+			double next = 0;
+			for (int i = 0; i < n; ++i) {
+				next += Math.hypot(x[2 * i], x[2 * i + 1]);
+			}
+			if (iteration > 0 && next <= estimate) {
+				break;
+			}
+			estimate = next;
+			// the direction of the biggest growth: the gradient of ||A^-1 * x||
+			for (int i = 0; i < n; ++i) {
+				double length = Math.hypot(x[2 * i], x[2 * i + 1]);
+				if (length == 0) {
+					x[2 * i] = 1;
+				} else {
+					x[2 * i] /= length;
+					x[2 * i + 1] /= length;
+				}
+			}
+			solveConjugateTransposed(x);
+			int j = 0;
+			double biggest = -1;
+			for (int i = 0; i < n; ++i) {
+				double length = Math.hypot(x[2 * i], x[2 * i + 1]);
+				if (length > biggest) {
+					biggest = length;
+					j = i;
+				}
+			}
+			if (j == last) {
+				break;
+			}
+			last = j;
+			Arrays.fill(x, 0);
+			x[2 * j] = 1;
+		}
+		if (n > 1) {
+			// an alternating vector catches the cases where the iteration is fooled
+			Arrays.fill(x, 0);
+			for (int i = 0; i < n; ++i) {
+				x[2 * i] = (i % 2 == 0 ? 1 : -1) * (1 + (double)i / (n - 1));
+			}
+			substitute(x, 0);
+			double alternative = 0;
+			for (int i = 0; i < n; ++i) {
+				alternative += Math.hypot(x[2 * i], x[2 * i + 1]);
+			}
+			estimate = Math.max(estimate, 2 * alternative / (3 * n));
+		}
+		return estimate;
+	}
+
+	private Hypercomplex number(double re, double im) {
+		switch (type) {
+		case 'b':
+			return new Binary(re, im);
+		case 'd':
+			return new Dual(re, im);
+		default:
+			return new Complex(re, im);
+		}
+	}
+
+}
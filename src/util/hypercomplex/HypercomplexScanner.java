@@ -0,0 +1,399 @@
+package util.hypercomplex;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A fast scanner for hyper-complex literals like they are written by Hypercomplex.toString().<p>
+ *
+ * It reads the literal in one pass from any CharSequence (String, StringBuilder, CharBuffer, ...)
+ * without copying substrings and without building a calculation tree.
+ * Nothing is thrown for text that isn't a literal, tryParse() just returns a status (and the index of the problem).
+ * Anything that is more than a literal (like "cos(1/2*phi) + tan(pi)î") has to be parsed by Hypercomplex.parseHypercomplex().<p>
+ *
+ * A literal is a sum of terms, each with a sign (optional for the first one).
+ * A term is a number, a number followed by an imaginary unit (î, Ê or ê, optionally with a "*" in between)
+ * or just the imaginary unit. Numbers are decimals (with an optional exponent), e, pi, NaN or Infinity.
+ * Only one kind of imaginary unit can be used per literal.<p>
+ *
+ * <b>examples:</b><br>
+ * "1", "î", "-3.1î", "3.1*î", "1 + î", "pi + eÊ", "1e-2 + 1e5î", "0.5 - 2ê"<br>
+ * <br>
+ * HypercomplexScanner scanner = new HypercomplexScanner();<br>
+ * if (scanner.tryParse(text) == Status.OK) { scanner.re(); scanner.im(); scanner.unit(); }<br>
+ * HypercomplexScanner.parseAll(reader); <- all complex literals of the reader (one per line or separated by ';')<br>
+ * @see Hypercomplex#parseHypercomplex(String)
+ */
+public final class HypercomplexScanner {
+
+	/**
+	 * the result of tryParse()
+	 */
+	public enum Status {
+		/**
+		 * the text is a literal
+		 */
+		OK,
+		/**
+		 * the text is empty (or only whitespace)
+		 */
+		EMPTY,
+		/**
+		 * the text isn't a literal (see errorIndex())
+		 */
+		INVALID
+	}
+
+	/**
+	 * the imaginary unit of the complex numbers
+	 */
+	public static final char COMPLEX_UNIT = 'î';
+
+	/**
+	 * the imaginary unit of the binary numbers
+	 */
+	public static final char BINARY_UNIT = 'Ê';
+
+	/**
+	 * the imaginary unit of the dual numbers
+	 */
+	public static final char DUAL_UNIT = 'ê';
+
+	/**
+	 * the exactly representable powers of ten (see scanNumber())
+	 */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private double re;
+	private double im;
+	private char unit;
+	private int errorIndex;
+
+	/**
+	 * the value of the last number read by scanNumber()
+	 */
+	private double number;
+
+	/**
+	 * Parses the whole text.
+	 * @param text the text
+	 * @return the status
+	 */
+	public Status tryParse(CharSequence text) {
+		return tryParse(text, 0, text.length());
+	}
+
+	/**
+	 * Parses the characters from start (inclusive) to end (exclusive) of the text.
+	 * On success the value can be read with re(), im(), unit() and result().
+	 * @param text the text
+	 * @param start the index of the first character
+	 * @param end the index after the last character
+	 * @return the status
+	 */
+	public Status tryParse(CharSequence text, int start, int end) {
+		re = 0;
+		im = 0;
+		unit = '\0';
+		errorIndex = -1;
+		int i = skipWhitespace(text, start, end);
+		if (i == end) {
+			return Status.EMPTY;
+		}
+		boolean first = true;
+		while (i < end) {
+			double sign = 1;
+			char c = text.charAt(i);
+			if (c == '+' || c == '-') {
+				sign = c == '-' ? -1 : 1;
+				i = skipWhitespace(text, i + 1, end);
+			} else if (!first) {
+				return invalid(i);
+			}
+			first = false;
+			int next = scanNumber(text, i, end);
+			boolean hasNumber = next >= 0;
+			double value = hasNumber ? number : 1;
+			if (hasNumber) {
+				i = skipWhitespace(text, next, end);
+				if (i < end && text.charAt(i) == '*') {
+					i = skipWhitespace(text, i + 1, end);
+					if (i == end || !isUnit(text.charAt(i))) {
+						return invalid(i);
+					}
+				}
+			}
+			if (i < end && isUnit(text.charAt(i))) {
+				char u = text.charAt(i);
+				if (unit != '\0' && unit != u) {
+					return invalid(i);
+				}
+				unit = u;
+				im += sign * value;
+				++i;
+			} else if (hasNumber) {
+				re += sign * value;
+			} else {
+				return invalid(i);
+			}
+			i = skipWhitespace(text, i, end);
+		}
+		return Status.OK;
+	}
+
+	private Status invalid(int index) {
+		errorIndex = index;
+		return Status.INVALID;
+	}
+
+	/**
+	 * Returns the real part of the last parsed literal.
+	 * @return the real part of the last parsed literal
+	 */
+	public double re() {
+		return re;
+	}
+
+	/**
+	 * Returns the imaginary part of the last parsed literal.
+	 * @return the imaginary part of the last parsed literal
+	 */
+	public double im() {
+		return im;
+	}
+
+	/**
+	 * Returns the imaginary unit of the last parsed literal ('\0' if it had none).
+	 * @return the imaginary unit of the last parsed literal
+	 */
+	public char unit() {
+		return unit;
+	}
+
+	/**
+	 * Returns the index of the character where the last tryParse() failed (-1 if it didn't).
+	 * @return the index of the character where the last tryParse() failed
+	 */
+	public int errorIndex() {
+		return errorIndex;
+	}
+
+	/**
+	 * Returns the last parsed literal: a Binary or Dual for their units, otherwise a Complex.
+	 * @return the last parsed literal
+	 */
+	public Hypercomplex result() {
+		switch (unit) {
+		case BINARY_UNIT:
+			return new Binary(re, im);
+		case DUAL_UNIT:
+			return new Dual(re, im);
+		default:
+			return new Complex(re, im);
+		}
+	}
+
+	/**
+	 * Returns the literal, or null if the text isn't one.
+	 * @param text the text
+	 * @return the literal (or null)
+	 */
+	public static Hypercomplex parse(CharSequence text) {
+		HypercomplexScanner scanner = new HypercomplexScanner();
+		if (scanner.tryParse(text) != Status.OK) {
+			return null;
+		}
+		return scanner.result();
+	}
+
+	/**
+	 * Returns true if the text is a literal.
+	 * @param text the text
+	 * @return true if the text is a literal
+	 */
+	public static boolean isLiteral(CharSequence text) {
+		return new HypercomplexScanner().tryParse(text) == Status.OK;
+	}
+
+	/**
+	 * Reads all complex literals (real ones or ones with î), one per line or separated by ';'.
+	 * Empty lines are skipped. The reader is read up to its end but not closed.
+	 * @param reader the reader
+	 * @return the literals
+	 * @throws IOException if the reader fails
+	 * @throws NumberFormatException if there is something that isn't a complex literal
+	 */
+	public static ComplexArray parseAll(Reader reader) throws IOException {
+		HypercomplexScanner scanner = new HypercomplexScanner();
+		Column column = new Column();
+		StringBuilder literal = new StringBuilder();
+		char[] buffer = new char[8192];
+		int line = 1;
+		for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+			for (int k = 0; k < read; ++k) {
+				char c = buffer[k];
+				if (c == '\n' || c == '\r' || c == ';') {
+					scanner.add(literal, line, column);
+					literal.setLength(0);
+					if (c == '\n') {
+						++line;
+					}
+				} else {
+					literal.append(c);
+				}
+			}
+		}
+		scanner.add(literal, line, column);
+		return new ComplexArray(Arrays.copyOf(column.re, column.size), Arrays.copyOf(column.im, column.size));
+	}
+
+	/**
+	 * the growing columns of parseAll()
+	 */
+	private static final class Column {
+
+		private double[] re = new double[64];
+		private double[] im = new double[64];
+		private int size;
+
+		private void add(double re, double im) {
+			if (size == this.re.length) {
+				this.re = Arrays.copyOf(this.re, 2 * size);
+				this.im = Arrays.copyOf(this.im, 2 * size);
+			}
+			this.re[size] = re;
+			this.im[size] = im;
+			++size;
+		}
+
+	}
+
+	private void add(CharSequence literal, int line, Column column) {
+		Status status = tryParse(literal);
+		if (status == Status.EMPTY) {
+			return;
+		}
+		if (status == Status.INVALID || (unit != '\0' && unit != COMPLEX_UNIT)) {
+			throw new NumberFormatException("line " + line + ": " + literal);
+		}
+		column.add(re, im);
+	}
+
+	// ------------------------- CHARACTERS -------------------------
+
+	private static boolean isUnit(char c) {
+		return c == COMPLEX_UNIT || c == BINARY_UNIT || c == DUAL_UNIT;
+	}
+
+	private static int skipWhitespace(CharSequence text, int i, int end) {
+		while (i < end && Character.isWhitespace(text.charAt(i))) {
+			++i;
+		}
+		return i;
+	}
+
+	private static boolean matches(CharSequence text, int i, int end, String word, boolean ignoreCase) {
+		if (end - i < word.length()) {
+			return false;
+		}
+		for (int k = 0; k < word.length(); ++k) {
+			char c = text.charAt(i + k);
+			if (c != word.charAt(k) && !(ignoreCase && Character.toLowerCase(c) == word.charAt(k))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads an unsigned number starting at i into the field number.
+	 * Decimals with up to 18 digits (below 2^53) and exponents up to 22 are computed directly (mantissa * 10^exponent is exact then,
+	 * since both are exact doubles and there's only one rounding), longer ones are handed to Double.parseDouble().
+	 * @return the index after the number, or -1 if there is no number at i
+	 */
+	private int scanNumber(CharSequence text, int i, int end) {
+		if (i == end) {
+			return -1;
+		}
+		char c = text.charAt(i);
+		if (matches(text, i, end, "NaN", false)) {
+			number = Double.NaN;
+			return i + 3;
+		}
+		if (matches(text, i, end, "Infinity", false)) {
+			number = Double.POSITIVE_INFINITY;
+			return i + 8;
+		}
+		if (matches(text, i, end, "pi", true)) {
+			number = Math.PI;
+			return i + 2;
+		}
+		if ((c == 'e' || c == 'E') && (i + 1 == end || !Character.isLetterOrDigit(text.charAt(i + 1)) || isUnit(text.charAt(i + 1)))) {
+			number = Math.E;
+			return i + 1;
+		}
+		int start = i;
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean exact = true;
+		boolean any = false;
+		for (; i < end && (c = text.charAt(i)) >= '0' && c <= '9'; ++i) {
+			any = true;
+			if (mantissa != 0 || c != '0') {
+				if (++digits > 18) {
+					exact = false;
+				} else {
+					mantissa = 10 * mantissa + (c - '0');
+				}
+			}
+		}
+		if (i < end && text.charAt(i) == '.') {
+			for (++i; i < end && (c = text.charAt(i)) >= '0' && c <= '9'; ++i) {
+				any = true;
+				if (mantissa != 0 || c != '0') {
+					if (++digits > 18) {
+						exact = false;
+					} else {
+						mantissa = 10 * mantissa + (c - '0');
+					}
+				}
+				--exponent;
+			}
+		}
+		if (!any) {
+			return -1;
+		}
+		if (i < end && ((c = text.charAt(i)) == 'e' || c == 'E')) {
+			int k = i + 1;
+			boolean negative = false;
+			if (k < end && (text.charAt(k) == '+' || text.charAt(k) == '-')) {
+				negative = text.charAt(k) == '-';
+				++k;
+			}
+			if (k == end || text.charAt(k) < '0' || text.charAt(k) > '9') {
+				// "2e" or "2e-" isn't a number
+				return -1;
+			}
+			int value = 0;
+			for (; k < end && (c = text.charAt(k)) >= '0' && c <= '9'; ++k) {
+				if (value < 100000) {
+					value = 10 * value + (c - '0');
+				}
+			}
+			exponent += negative ? -value : value;
+			i = k;
+		}
+		if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+			number = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+		} else {
+			number = Double.parseDouble(text.subSequence(start, i).toString());
+		}
+		return i;
+	}
+
+}
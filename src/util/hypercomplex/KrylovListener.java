@@ -0,0 +1,16 @@
+package util.hypercomplex;
+
+/**
+ * Gets the residual of every iteration of a {@link KrylovSolver}, for example to show the convergence.
+ */
+public interface KrylovListener {
+
+	/**
+	 * Called after each iteration.
+	 * @param iteration the number of the iteration (starting with 1)
+	 * @param residual the relative residual ||b - A * x|| / ||b|| (estimated by GMRES within a restart cycle)
+	 * @return false to stop the solver
+	 */
+	boolean iteration(int iteration, double residual);
+
+}
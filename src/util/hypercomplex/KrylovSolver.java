@@ -0,0 +1,474 @@
+package util.hypercomplex;
+
+import java.util.Arrays;
+
+/**
+ * Iterative solvers of A * x == b for big (sparse or matrix-free) complex systems, see {@link ComplexOperator}.<p>
+ *
+ * <b>COCG</b> (conjugate orthogonal conjugate gradient) is the conjugate gradient method with the bilinear product x^T * y,
+ * for complex symmetric matrices (A^T == A, not hermitian), which is what most discretised field problems give.
+ * It needs one product with A per iteration and a fixed amount of memory, but may break down for other matrices.<br>
+ * <b>BiCGSTAB</b> works for all (non singular) matrices with two products per iteration and a fixed amount of memory.<br>
+ * <b>GMRES(m)</b> minimizes the residual over the last m directions (restarted every m iterations),
+ * so its residual never grows within a cycle, but it keeps m vectors.<p>
+ *
+ * The preconditioner M (an approximation of A^-1, for example {@link SparseComplexMatrix#jacobi()}) is applied from the right
+ * by BiCGSTAB and GMRES, so their residuals are the ones of the original system.
+ * COCG needs a complex symmetric preconditioner (like the jacobi one).
+ * The solvers stop as soon as the relative residual ||b - A * x|| / ||b|| is at most the tolerance.
+ * The residual of every iteration is kept (getResidualHistory()) and passed to the listener, which can also stop the solver.
+ * A solver keeps the state of its last solve, so it shouldn't be used by several threads at once.<p>
+ *
+ * <b>examples:</b><br>
+ * KrylovSolver solver = new KrylovSolver(a, a.jacobi());<br>
+ * solver.gmres(b, x); <- improves the guess x in place, true if it converged<br>
+ * solver.getResidualHistory(); <- the relative residuals of the start and of every iteration<br>
+ * @see SparseComplexMatrix
+ */
+public class KrylovSolver {
+
+	/**
+	 * the default relative residual
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-10;
+
+	/**
+	 * the default maximal number of iterations
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+	/**
+	 * the default number of iterations of a GMRES cycle
+	 */
+	public static final int DEFAULT_RESTART = 30;
+
+	private final ComplexOperator operator;
+	private final ComplexOperator preconditioner;
+	private final double tolerance;
+	private final int maxIterations;
+	private KrylovListener listener = null;
+
+	private double[] history = new double[0];
+	private int iterations = 0;
+	private boolean stopped = false;
+	private boolean converged = false;
+
+	/**
+	 * Constructor. Without a preconditioner, with the default tolerance and number of iterations.
+	 * @param operator the matrix
+	 */
+	public KrylovSolver(ComplexOperator operator) {
+		this(operator, null);
+	}
+
+	/**
+	 * Constructor. With the default tolerance and number of iterations.
+	 * @param operator the matrix
+	 * @param preconditioner the preconditioner (an approximation of the inverse) or null
+	 */
+	public KrylovSolver(ComplexOperator operator, ComplexOperator preconditioner) {
+		this(operator, preconditioner, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+	}
+
+	/**
+	 * Constructor.
+	 * @param operator the matrix
+	 * @param preconditioner the preconditioner (an approximation of the inverse) or null
+	 * @param tolerance the relative residual ||b - A * x|| / ||b|| to reach
+	 * @param maxIterations the maximal number of iterations
+	 */
+	public KrylovSolver(ComplexOperator operator, ComplexOperator preconditioner, double tolerance, int maxIterations) {
+		this.operator = operator;
+		this.preconditioner = preconditioner;
+		this.tolerance = tolerance;
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Sets the listener that gets the residual of every iteration.
+	 * @param listener the listener (or null)
+	 */
+	public void setListener(KrylovListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the relative residuals of the last solve: the one of the guess and the one after every iteration.
+	 * @return the relative residuals of the last solve
+	 */
+	public double[] getResidualHistory() {
+		return Arrays.copyOf(history, iterations + 1);
+	}
+
+	/**
+	 * Returns the number of iterations of the last solve.
+	 * @return the number of iterations of the last solve
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Returns true if the last solve reached the tolerance.
+	 * @return true if the last solve reached the tolerance
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+
+	// ------------------------- COCG -------------------------
+
+	/**
+	 * Solves A * x == b for a complex symmetric A with COCG.
+	 * @param b the right hand side
+	 * @param x the guess, improved in place
+	 * @return true if the tolerance was reached
+	 */
+	public boolean cocg(ComplexArray b, ComplexArray x) {
+		int n = b.size();
+		ComplexArray r = new ComplexArray(n), z = new ComplexArray(n), p = new ComplexArray(n), q = new ComplexArray(n);
+		double bNorm = norm(b);
+		if (start(b, x, r, bNorm)) {
+			return true;
+		}
+		precondition(r, z);
+		copy(z, p);
+		double[] rho = dot(r, z, false);
+		while (iterations < maxIterations) {
+			operator.apply(p, q);
+			double[] alpha = divide(rho, dot(p, q, false));
+			if (alpha == null) {
+				break;
+			}
+			add(alpha[0], alpha[1], p, x);
+			add(-alpha[0], -alpha[1], q, r);
+			if (step(norm(r) / bNorm)) {
+				break;
+			}
+			precondition(r, z);
+			double[] next = dot(r, z, false);
+			double[] beta = divide(next, rho);
+			if (beta == null) {
+				break;
+			}
+			// p = z + beta * p
+			for (int k = 0; k < n; ++k) {
+				double a = p.re[k], c = p.im[k];
+				p.re[k] = z.re[k] + beta[0] * a - beta[1] * c;
+				p.im[k] = z.im[k] + beta[0] * c + beta[1] * a;
+			}
+			rho = next;
+		}
+		return converged;
+	}
+
+	// ------------------------- BICGSTAB -------------------------
+
+	/**
+	 * Solves A * x == b with BiCGSTAB.
+	 * @param b the right hand side
+	 * @param x the guess, improved in place
+	 * @return true if the tolerance was reached
+	 */
+	public boolean bicgstab(ComplexArray b, ComplexArray x) {
+		int n = b.size();
+		ComplexArray r = new ComplexArray(n), shadow, p = new ComplexArray(n), v = new ComplexArray(n);
+		ComplexArray preconditioned = new ComplexArray(n), t = new ComplexArray(n);
+		double bNorm = norm(b);
+		if (start(b, x, r, bNorm)) {
+			return true;
+		}
+		shadow = r.copy();
+		double[] rho = {1, 0}, alpha = {1, 0}, omega = {1, 0};
+		while (iterations < maxIterations) {
+			double[] next = dot(shadow, r, true);
+			double[] beta = divide(next, rho);
+			double[] ratio = divide(alpha, omega);
+			if (beta == null || ratio == null) {
+				break;
+			}
+			beta = multiply(beta, ratio);
+			// p = r + beta * (p - omega * v)
+			for (int k = 0; k < n; ++k) {
+				double a = p.re[k] - omega[0] * v.re[k] + omega[1] * v.im[k];
+				double c = p.im[k] - omega[0] * v.im[k] - omega[1] * v.re[k];
+				p.re[k] = r.re[k] + beta[0] * a - beta[1] * c;
+				p.im[k] = r.im[k] + beta[0] * c + beta[1] * a;
+			}
+			precondition(p, preconditioned);
+			operator.apply(preconditioned, v);
+			alpha = divide(next, dot(shadow, v, true));
+			if (alpha == null) {
+				break;
+			}
+			// s = r - alpha * v, kept in r
+			add(alpha[0], alpha[1], preconditioned, x);
+			add(-alpha[0], -alpha[1], v, r);
+			double residual = norm(r) / bNorm;
+			if (residual <= tolerance) {
+				step(residual);
+				break;
+			}
+			precondition(r, preconditioned);
+			operator.apply(preconditioned, t);
+			omega = divide(dot(t, r, true), dot(t, t, true));
+			if (omega == null) {
+				step(residual);
+				break;
+			}
+			add(omega[0], omega[1], preconditioned, x);
+			add(-omega[0], -omega[1], t, r);
+			if (step(norm(r) / bNorm) || omega[0] == 0 && omega[1] == 0) {
+				break;
+			}
+			rho = next;
+		}
+		return converged;
+	}
+
+	// ------------------------- GMRES -------------------------
+
+	/**
+	 * Solves A * x == b with GMRES, restarted every DEFAULT_RESTART iterations.
+	 * @param b the right hand side
+	 * @param x the guess, improved in place
+	 * @return true if the tolerance was reached
+	 */
+	public boolean gmres(ComplexArray b, ComplexArray x) {
+		return gmres(b, x, DEFAULT_RESTART);
+	}
+
+	/**
+	 * Solves A * x == b with GMRES, restarted every m iterations.
+	 * The residuals within a cycle are the ones of the least squares problem, the real ones are computed at each restart.
+	 * @param b the right hand side
+	 * @param x the guess, improved in place
+	 * @param m the number of iterations of a cycle (and of the vectors that are kept)
+	 * @return true if the tolerance was reached
+	 */
+	public boolean gmres(ComplexArray b, ComplexArray x, int m) {
+		int n = b.size();
+		ComplexArray[] basis = new ComplexArray[m + 1];
+		basis[0] = new ComplexArray(n);
+		ComplexArray z = new ComplexArray(n), w = new ComplexArray(n);
+		double[][] hRe = new double[m + 1][m], hIm = new double[m + 1][m];
+		double[] cos = new double[m], sinRe = new double[m], sinIm = new double[m];
+		double[] gRe = new double[m + 1], gIm = new double[m + 1];
+		double bNorm = norm(b);
+		if (start(b, x, basis[0], bNorm)) {
+			return true;
+		}
+		double beta = norm(basis[0]);
+		while (true) {
+			scale(1 / beta, basis[0]);
+			Arrays.fill(gRe, 0);
+			Arrays.fill(gIm, 0);
+			gRe[0] = beta;
+			int k = 0;
+			boolean done = false;
+			while (k < m && iterations < maxIterations && !done) {
+				// arnoldi with modified gram-schmidt
+				precondition(basis[k], z);
+				operator.apply(z, w);
+				for (int i = 0; i <= k; ++i) {
+					double[] h = dot(basis[i], w, true);
+					hRe[i][k] = h[0];
+					hIm[i][k] = h[1];
+					add(-h[0], -h[1], basis[i], w);
+				}
+				double h = norm(w);
+				if (basis[k + 1] == null) {
+					basis[k + 1] = new ComplexArray(n);
+				}
+				copy(w, basis[k + 1]);
+				if (h != 0) {
+					scale(1 / h, basis[k + 1]);
+				}
+				hRe[k + 1][k] = h;
+				hIm[k + 1][k] = 0;
+				// the givens rotations of the previous columns, then a new one that eliminates h
+				for (int i = 0; i < k; ++i) {
+					rotate(cos[i], sinRe[i], sinIm[i], hRe, hIm, i, k);
+				}
+				double a = Math.hypot(hRe[k][k], hIm[k][k]), length = Math.hypot(a, h);
+				if (a == 0) {
+					cos[k] = 0;
+					sinRe[k] = 1;
+					sinIm[k] = 0;
+				} else {
+					// c = |a| / length, s = a / |a| * conj(h) / length (h is real)
+					cos[k] = a / length;
+					sinRe[k] = hRe[k][k] / a * h / length;
+					sinIm[k] = hIm[k][k] / a * h / length;
+				}
+				rotate(cos[k], sinRe[k], sinIm[k], hRe, hIm, k, k);
+				double re = gRe[k], im = gIm[k];
+				gRe[k] = cos[k] * re;
+				gIm[k] = cos[k] * im;
+				gRe[k + 1] = -(sinRe[k] * re + sinIm[k] * im);
+				gIm[k + 1] = -(sinRe[k] * im - sinIm[k] * re);
+				++k;
+				done = step(Math.hypot(gRe[k], gIm[k]) / bNorm) || h == 0;
+			}
+			// back substitution of the triangular system, x += M * (the basis times y)
+			double[] yRe = new double[k], yIm = new double[k];
+			for (int i = k - 1; i >= 0; --i) {
+				double re = gRe[i], im = gIm[i];
+				for (int j = i + 1; j < k; ++j) {
+					re -= hRe[i][j] * yRe[j] - hIm[i][j] * yIm[j];
+					im -= hRe[i][j] * yIm[j] + hIm[i][j] * yRe[j];
+				}
+				double[] y = divide(new double[] {re, im}, new double[] {hRe[i][i], hIm[i][i]});
+				yRe[i] = y == null ? 0 : y[0];
+				yIm[i] = y == null ? 0 : y[1];
+			}
+			Arrays.fill(w.re, 0);
+			Arrays.fill(w.im, 0);
+			for (int i = 0; i < k; ++i) {
+				add(yRe[i], yIm[i], basis[i], w);
+			}
+			precondition(w, z);
+			add(1, 0, z, x);
+			// the real residual for the next cycle
+			residual(b, x, basis[0]);
+			beta = norm(basis[0]);
+			converged = beta / bNorm <= tolerance;
+			if (converged || stopped || iterations >= maxIterations || beta == 0) {
+				return converged;
+			}
+		}
+	}
+
+	/**
+	 * applies the rotation (c, s) to the rows i and i + 1 of column k: (c * a + s * b, -conj(s) * a + c * b)
+	 */
+	private static void rotate(double c, double sRe, double sIm, double[][] hRe, double[][] hIm, int i, int k) {
+		double aRe = hRe[i][k], aIm = hIm[i][k], bRe = hRe[i + 1][k], bIm = hIm[i + 1][k];
+		hRe[i][k] = c * aRe + sRe * bRe - sIm * bIm;
+		hIm[i][k] = c * aIm + sRe * bIm + sIm * bRe;
+		hRe[i + 1][k] = c * bRe - (sRe * aRe + sIm * aIm);
+		hIm[i + 1][k] = c * bIm - (sRe * aIm - sIm * aRe);
+	}
+
+	// ------------------------- HELPERS -------------------------
+
+	/**
+	 * r = b - A * x, resets the history and records the residual of the guess
+	 * @return true if there's nothing to do
+	 */
+	private boolean start(ComplexArray b, ComplexArray x, ComplexArray r, double bNorm) {
+		if (x.size() != b.size()) {
+			throw new IllegalArgumentException("a guess of size " + x.size() + " for a right hand side of size " + b.size());
+		}
+		history = new double[16];
+		iterations = 0;
+		stopped = false;
+		converged = false;
+		if (bNorm == 0) {
+			// the solution is zero
+			for (int k = 0; k < x.size(); ++k) {
+				x.set(k, 0, 0);
+			}
+			converged = true;
+			return true;
+		}
+		residual(b, x, r);
+		history[0] = norm(r) / bNorm;
+		converged = history[0] <= tolerance;
+		return converged;
+	}
+
+	/**
+	 * records the residual of an iteration
+	 * @return true if the solver has to stop (converged or stopped by the listener)
+	 */
+	private boolean step(double residual) {
+		++iterations;
+		if (iterations == history.length) {
+			history = Arrays.copyOf(history, 2 * history.length);
+		}
+		history[iterations] = residual;
+		converged = residual <= tolerance;
+		if (listener != null && !listener.iteration(iterations, residual)) {
+			stopped = true;
+		}
+		return converged || stopped;
+	}
+
+	private void residual(ComplexArray b, ComplexArray x, ComplexArray r) {
+		operator.apply(x, r);
+		for (int k = 0; k < r.size; ++k) {
+			r.re[r.offset + k] = b.re[b.offset + k] - r.re[r.offset + k];
+			r.im[r.offset + k] = b.im[b.offset + k] - r.im[r.offset + k];
+		}
+	}
+
+	private void precondition(ComplexArray x, ComplexArray result) {
+		if (preconditioner == null) {
+			copy(x, result);
+		} else {
+			preconditioner.apply(x, result);
+		}
+	}
+
+	private static void copy(ComplexArray from, ComplexArray to) {
+		System.arraycopy(from.re, from.offset, to.re, to.offset, from.size);
+		System.arraycopy(from.im, from.offset, to.im, to.offset, from.size);
+	}
+
+	private static double norm(ComplexArray x) {
+		double sum = 0;
+		for (int k = x.offset; k < x.offset + x.size; ++k) {
+			sum += x.re[k] * x.re[k] + x.im[k] * x.im[k];
+		}
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * sum of x[k] * y[k], with conjugated x[k] if conjugate is true
+	 */
+	private static double[] dot(ComplexArray x, ComplexArray y, boolean conjugate) {
+		double sign = conjugate ? -1 : 1, re = 0, im = 0;
+		for (int k = 0; k < x.size; ++k) {
+			double a = x.re[x.offset + k], b = sign * x.im[x.offset + k];
+			double c = y.re[y.offset + k], d = y.im[y.offset + k];
+			re += a * c - b * d;
+			im += a * d + b * c;
+		}
+		return new double[] {re, im};
+	}
+
+	/**
+	 * y += a * x
+	 */
+	private static void add(double aRe, double aIm, ComplexArray x, ComplexArray y) {
+		for (int k = 0; k < x.size; ++k) {
+			double c = x.re[x.offset + k], d = x.im[x.offset + k];
+			y.re[y.offset + k] += aRe * c - aIm * d;
+			y.im[y.offset + k] += aRe * d + aIm * c;
+		}
+	}
+
+	private static void scale(double factor, ComplexArray x) {
+		for (int k = x.offset; k < x.offset + x.size; ++k) {
+			x.re[k] *= factor;
+			x.im[k] *= factor;
+		}
+	}
+
+	private static double[] multiply(double[] a, double[] b) {
+		return new double[] {a[0] * b[0] - a[1] * b[1], a[0] * b[1] + a[1] * b[0]};
+	}
+
+	/**
+	 * @return a / b or null if b is zero (a breakdown of the iteration)
+	 */
+	private static double[] divide(double[] a, double[] b) {
+		double det = b[0] * b[0] + b[1] * b[1];
+		if (det == 0) {
+			return null;
+		}
+		return new double[] {(a[0] * b[0] + a[1] * b[1]) / det, (a[1] * b[0] - a[0] * b[1]) / det};
+	}
+
+}
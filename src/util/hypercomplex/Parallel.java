@@ -0,0 +1,22 @@
+package util.hypercomplex;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The one fork/join pool of the parallel operations ({@link FFTPlan}, {@link HypercomplexLU}, {@link HypercomplexBatchLSE},
+ * {@link SparseComplexMatrix} and the bulk operations of the ultra-complex numbers).<p>
+ *
+ * Using several of them together mustn't start a full set of threads for each one,
+ * so they all hand their tasks to this pool (with a thread per core).
+ */
+public final class Parallel {
+
+	/**
+	 * the shared pool, with as many threads as there are cores
+	 */
+	public static final ForkJoinPool POOL = new ForkJoinPool();
+
+	private Parallel() {
+	}
+
+}
@@ -0,0 +1,287 @@
+package util.hypercomplex;
+
+import java.util.Arrays;
+
+/**
+ * A polynominal with complex coefficients: p(z) = c[0] + c[1] * z + ... + c[n] * z^n.<p>
+ *
+ * The coefficients are kept in two columns of doubles and the polynominal is evaluated with the horner scheme.
+ * All roots are found at once with the Aberth-Ehrlich iteration
+ * (with a Durand-Kerner step for a root where the Aberth correction breaks down).
+ * The roots of a previous solve can be passed in again (warm start),
+ * so nearby polynominals need only a few iterations.<p>
+ *
+ * <b>examples:</b><br>
+ * Polynominal p = new Polynominal(new Complex(-1), new Complex(0), new Complex(1)); <- z² - 1<br>
+ * p.evaluate(new Complex(2)); <- 3<br>
+ * ComplexArray roots = p.roots(); <- 1 and -1<br>
+ * p.refineRoots(roots); <- refines the given roots in place (for example the ones of a similar polynominal)<br>
+ * @see BinaryPolynominal
+ */
+public class Polynominal {
+
+	/**
+	 * the relative tolerance of the roots used by roots()
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-14;
+
+	/**
+	 * the maximal number of iterations used by roots()
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 500;
+
+	private final double[] re;
+	private final double[] im;
+
+	/**
+	 * Constructor. Constructs the polynominal with the given coefficients (starting with the constant one).
+	 * Only the cartesian values of the coefficients are used.
+	 * @param coefficients the coefficients of z^0, z^1, ... (at least one)
+	 */
+	public Polynominal(Hypercomplex... coefficients) {
+		int n = degree(coefficients);
+		re = new double[n + 1];
+		im = new double[n + 1];
+		for (int k = 0; k <= n; ++k) {
+			re[k] = coefficients[k].re();
+			im[k] = coefficients[k].im();
+		}
+	}
+
+	/**
+	 * Constructor. Constructs the polynominal with the given real coefficients (starting with the constant one).
+	 * @param coefficients the coefficients of z^0, z^1, ...
+	 */
+	public Polynominal(double... coefficients) {
+		this(coefficients, new double[coefficients.length]);
+	}
+
+	/**
+	 * Constructor. Constructs the polynominal with the given coefficients (starting with the constant one).
+	 * The arrays are copied.
+	 * @param re the real parts of the coefficients of z^0, z^1, ... (at least one)
+	 * @param im the imaginary parts of the coefficients of z^0, z^1, ... (as many as real parts)
+	 */
+	public Polynominal(double[] re, double[] im) {
+		if (re.length == 0 || im.length != re.length) {
+			throw new IllegalArgumentException(re.length + " real and " + im.length + " imaginary parts of coefficients");
+		}
+		int n = re.length - 1;
+		while (n > 0 && re[n] == 0 && im[n] == 0) {
+			--n;
+		}
+		this.re = Arrays.copyOf(re, n + 1);
+		this.im = Arrays.copyOf(im, n + 1);
+	}
+
+	private static int degree(Hypercomplex[] coefficients) {
+		if (coefficients.length == 0) {
+			throw new IllegalArgumentException("no coefficients");
+		}
+		int n = coefficients.length - 1;
+		while (n > 0 && coefficients[n].re() == 0 && coefficients[n].im() == 0) {
+			--n;
+		}
+		return n;
+	}
+
+	/**
+	 * Returns the degree (the highest power with a coefficient that isn't zero).
+	 * @return the degree
+	 */
+	public int degree() {
+		return re.length - 1;
+	}
+
+	/**
+	 * Returns the coefficient of z^k.
+	 * @param k the power
+	 * @return the coefficient of z^k
+	 */
+	public Complex coefficient(int k) {
+		return k < re.length ? new Complex(re[k], im[k]) : new Complex();
+	}
+
+	/**
+	 * Returns p(z) (horner scheme).
+	 * @param z the argument
+	 * @return p(z)
+	 */
+	public Complex evaluate(Hypercomplex z) {
+		double x = z.re(), y = z.im();
+		double pRe = re[re.length - 1], pIm = im[im.length - 1];
+		for (int k = re.length - 2; k >= 0; --k) {
+			double t = pRe * x - pIm * y + re[k];
+			pIm = pRe * y + pIm * x + im[k];
+			pRe = t;
+		}
+		return new Complex(pRe, pIm);
+	}
+
+	/**
+	 * Returns the derivative p'.
+	 * @return the derivative p'
+	 */
+	public Polynominal derivative() {
+		if (re.length == 1) {
+			return new Polynominal(0);
+		}
+		double[] dRe = new double[re.length - 1], dIm = new double[re.length - 1];
+		for (int k = 1; k < re.length; ++k) {
+			dRe[k - 1] = k * re[k];
+			dIm[k - 1] = k * im[k];
+		}
+		return new Polynominal(dRe, dIm);
+	}
+
+	// ------------------------- ROOTS -------------------------
+
+	/**
+	 * Returns all (degree()) roots, counted with their multiplicity.
+	 * @return all roots
+	 */
+	public ComplexArray roots() {
+		ComplexArray roots = initialRoots();
+		refineRoots(roots);
+		return roots;
+	}
+
+	/**
+	 * Refines the given approximations of the roots in place (warm start).
+	 * @param roots the approximations of all degree() roots
+	 * @return the number of iterations that were needed
+	 */
+	public int refineRoots(ComplexArray roots) {
+		return refineRoots(roots, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+	}
+
+	/**
+	 * Refines the given approximations of the roots in place (warm start).
+	 * Each iteration corrects every root once (Aberth-Ehrlich, using the already corrected ones).
+	 * It stops as soon as no correction is bigger than tolerance * max(1, |root|).
+	 * @param roots the approximations of all degree() roots
+	 * @param tolerance the relative tolerance
+	 * @param maxIterations the maximal number of iterations
+	 * @return the number of iterations that were needed (maxIterations if it didn't converge)
+	 */
+	public int refineRoots(ComplexArray roots, double tolerance, int maxIterations) {
+		int n = degree();
+		if (roots.size() != n) {
+			throw new IllegalArgumentException(roots.size() + " approximations for " + n + " roots");
+		}
+		double[] zRe = roots.re, zIm = roots.im;
+		int o = roots.offset;
+		// the converged roots don't need to be corrected any more (but still repel the others)
+		boolean[] done = new boolean[n];
+		for (int iteration = 1; iteration <= maxIterations; ++iteration) {
+			boolean converged = true;
+			for (int i = 0; i < n; ++i) {
+				if (done[i]) {
+					continue;
+				}
+				double x = zRe[o + i], y = zIm[o + i];
+				// p(z) and p'(z) in one horner pass
+				double pRe = re[n], pIm = im[n], dRe = 0, dIm = 0;
+				for (int k = n - 1; k >= 0; --k) {
+					double t = dRe * x - dIm * y + pRe;
+					dIm = dRe * y + dIm * x + pIm;
+					dRe = t;
+					t = pRe * x - pIm * y + re[k];
+					pIm = pRe * y + pIm * x + im[k];
+					pRe = t;
+				}
+				// sum of 1 / (z_i - z_j) and product of (z_i - z_j)
+				double sRe = 0, sIm = 0, qRe = 1, qIm = 0;
+				for (int j = 0; j < n; ++j) {
+					if (j != i) {
+						double aRe = x - zRe[o + j], aIm = y - zIm[o + j];
+						double det = aRe * aRe + aIm * aIm;
+						sRe += aRe / det;
+						sIm -= aIm / det;
+						double t = qRe * aRe - qIm * aIm;
+						qIm = qRe * aIm + qIm * aRe;
+						qRe = t;
+					}
+				}
+				double wRe, wIm;
+				// aberth: w = (p / p') / (1 - (p / p') * s)
+				double dDet = dRe * dRe + dIm * dIm;
+				double rRe = (pRe * dRe + pIm * dIm) / dDet, rIm = (pIm * dRe - pRe * dIm) / dDet;
+				double nRe = 1 - (rRe * sRe - rIm * sIm), nIm = -(rRe * sIm + rIm * sRe);
+				double nDet = nRe * nRe + nIm * nIm;
+				wRe = (rRe * nRe + rIm * nIm) / nDet;
+				wIm = (rIm * nRe - rRe * nIm) / nDet;
+				if (pRe == 0 && pIm == 0) {
+					wRe = wIm = 0;
+				} else if (Double.isNaN(wRe + wIm) || Double.isInfinite(wRe + wIm)) {
+					// durand-kerner: w = p / (c[n] * product of (z_i - z_j))
+					double cRe = re[n] * qRe - im[n] * qIm, cIm = re[n] * qIm + im[n] * qRe;
+					double cDet = cRe * cRe + cIm * cIm;
+					wRe = (pRe * cRe + pIm * cIm) / cDet;
+					wIm = (pIm * cRe - pRe * cIm) / cDet;
+					if (Double.isNaN(wRe + wIm) || Double.isInfinite(wRe + wIm)) {
+						// two roots on top of each other, push this one aside
+						wRe = wIm = -tolerance * Math.max(1, Math.hypot(x, y)) * 16;
+					}
+				}
+				zRe[o + i] = x - wRe;
+				zIm[o + i] = y - wIm;
+				if (Math.hypot(wRe, wIm) > tolerance * Math.max(1, Math.hypot(x, y))) {
+					converged = false;
+				} else {
+					done[i] = true;
+				}
+			}
+			if (converged) {
+				return iteration;
+			}
+		}
+		return maxIterations;
+	}
+
+	/**
+	 * Returns the starting points of the iteration: on a circle around the centroid of the roots,
+	 * with a radius that fits the size of the coefficients, slightly turned to break symmetries.
+	 * @return the starting points
+	 */
+	private ComplexArray initialRoots() {
+		int n = degree();
+		ComplexArray result = new ComplexArray(n);
+		if (n == 0) {
+			return result;
+		}
+		double lead = Math.hypot(re[n], im[n]);
+		// centroid: -c[n-1] / (n * c[n])
+		double det = n * lead * lead;
+		double cRe = -(re[n - 1] * re[n] + im[n - 1] * im[n]) / det;
+		double cIm = -(im[n - 1] * re[n] - re[n - 1] * im[n]) / det;
+		double radius = 0;
+		for (int k = 0; k < n; ++k) {
+			radius = Math.max(radius, Math.pow(Math.hypot(re[k], im[k]) / lead, 1d / (n - k)));
+		}
+		if (radius == 0) {
+			radius = 1;
+		}
+		for (int k = 0; k < n; ++k) {
+			double angle = 2 * Math.PI * k / n + 0.4;
+			result.set(k, cRe + radius * Math.cos(angle), cIm + radius * Math.sin(angle));
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int k = re.length - 1; k >= 0; --k) {
+			if (result.length() > 0) {
+				result.append(" + ");
+			}
+			result.append("(").append(coefficient(k)).append(")");
+			if (k > 0) {
+				result.append(" * z^").append(k);
+			}
+		}
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,293 @@
+package util.hypercomplex;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A sparse square matrix of complex numbers in compressed sparse row (CSR) form.<p>
+ *
+ * Only the entries that aren't zero are stored: for each row the columns (in ascending order) and the values,
+ * all rows one after the other in three arrays, so the memory grows with the number of entries and not with n².
+ * The matrix is immutable, it is built from triplets (row, column, value) in any order,
+ * the values of the same position are added up.
+ * The product with a vector is split over the rows between the threads of a fork/join pool for big matrices.<p>
+ *
+ * <b>examples:</b><br>
+ * SparseComplexMatrix a = new SparseComplexMatrix(3, rows, columns, re, im); <- from triplets<br>
+ * a.times(x); <- A * x<br>
+ * new KrylovSolver(a, a.jacobi()).gmres(b, x); <- solves A * x == b<br>
+ * @see KrylovSolver
+ */
+public class SparseComplexMatrix implements ComplexOperator {
+
+	/**
+	 * from this number of entries on the product with a vector is split over several threads
+	 */
+	static final int PARALLEL_SIZE = 1 << 15;
+
+	/**
+	 * the number of entries a thread multiplies at least
+	 */
+	private static final int GRAIN = 1 << 13;
+
+	private final int n;
+	private final int[] rowStart;
+	private final int[] columns;
+	private final double[] re;
+	private final double[] im;
+
+	/**
+	 * Constructor. Constructs the matrix from triplets (row, column, value), the values of the same position are added up.
+	 * @param n the size of the matrix
+	 * @param rows the rows of the entries
+	 * @param columns the columns of the entries
+	 * @param re the real parts of the entries
+	 * @param im the imaginary parts of the entries
+	 */
+	public SparseComplexMatrix(int n, int[] rows, int[] columns, double[] re, double[] im) {
+		int count = rows.length;
+		if (columns.length != count || re.length != count || im.length != count) {
+			throw new IllegalArgumentException("the triplets have different lengths");
+		}
+		this.n = n;
+		// counting sort by row, then insertion sort by column within each row
+		int[] start = new int[n + 1];
+		for (int k = 0; k < count; ++k) {
+			if (rows[k] < 0 || rows[k] >= n || columns[k] < 0 || columns[k] >= n) {
+				throw new IndexOutOfBoundsException("(" + rows[k] + ", " + columns[k] + ") in a " + n + "x" + n + " matrix");
+			}
+			++start[rows[k] + 1];
+		}
+		for (int i = 0; i < n; ++i) {
+			start[i + 1] += start[i];
+		}
+		int[] next = start.clone();
+		int[] c = new int[count];
+		double[] r = new double[count], m = new double[count];
+		for (int k = 0; k < count; ++k) {
+			int p = next[rows[k]]++;
+			c[p] = columns[k];
+			r[p] = re[k];
+			m[p] = im[k];
+		}
+		int size = 0;
+		rowStart = new int[n + 1];
+		for (int i = 0; i < n; ++i) {
+			for (int p = start[i] + 1; p < start[i + 1]; ++p) {
+				int column = c[p];
+				double a = r[p], b = m[p];
+				int q = p - 1;
+				for (; q >= start[i] && c[q] > column; --q) {
+					c[q + 1] = c[q];
+					r[q + 1] = r[q];
+					m[q + 1] = m[q];
+				}
+				c[q + 1] = column;
+				r[q + 1] = a;
+				m[q + 1] = b;
+			}
+			// add up the duplicates, then leave out the zeros
+			rowStart[i] = size;
+			for (int p = start[i]; p < start[i + 1]; ++p) {
+				if (size > rowStart[i] && c[size - 1] == c[p]) {
+					r[size - 1] += r[p];
+					m[size - 1] += m[p];
+				} else {
+					c[size] = c[p];
+					r[size] = r[p];
+					m[size] = m[p];
+					++size;
+				}
+			}
+			int kept = rowStart[i];
+			for (int p = rowStart[i]; p < size; ++p) {
+				if (r[p] != 0 || m[p] != 0) {
+					c[kept] = c[p];
+					r[kept] = r[p];
+					m[kept] = m[p];
+					++kept;
+				}
+			}
+			size = kept;
+		}
+		rowStart[n] = size;
+		this.columns = Arrays.copyOf(c, size);
+		this.re = Arrays.copyOf(r, size);
+		this.im = Arrays.copyOf(m, size);
+	}
+
+	/**
+	 * Returns the size of the matrix.
+	 * @return the size of the matrix
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * Returns the number of stored entries (the ones that aren't zero).
+	 * @return the number of stored entries
+	 */
+	public int nonZeros() {
+		return columns.length;
+	}
+
+	/**
+	 * Returns the entry (i, j).
+	 * @param i the row
+	 * @param j the column
+	 * @return the entry (i, j)
+	 */
+	public Complex get(int i, int j) {
+		int p = find(i, j);
+		return p < 0 ? new Complex() : new Complex(re[p], im[p]);
+	}
+
+	/**
+	 * binary search in row i
+	 * @return the index of the entry (i, j) or -1
+	 */
+	private int find(int i, int j) {
+		int low = rowStart[i], high = rowStart[i + 1] - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (columns[middle] < j) {
+				low = middle + 1;
+			} else if (columns[middle] > j) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the diagonal.
+	 * @return the diagonal
+	 */
+	public ComplexArray diagonal() {
+		ComplexArray result = new ComplexArray(n);
+		for (int i = 0; i < n; ++i) {
+			int p = find(i, i);
+			if (p >= 0) {
+				result.set(i, re[p], im[p]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if the matrix is (complex) symmetric, A^T == A (not conjugated), which COCG needs.
+	 * @return true if the matrix is symmetric
+	 */
+	public boolean isSymmetric() {
+		for (int i = 0; i < n; ++i) {
+			for (int p = rowStart[i]; p < rowStart[i + 1]; ++p) {
+				int q = find(columns[p], i);
+				if (q < 0 || re[q] != re[p] || im[q] != im[p]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the jacobi preconditioner: the division by the diagonal (rows without a diagonal entry stay as they are).
+	 * @return the jacobi preconditioner
+	 */
+	public ComplexOperator jacobi() {
+		final ComplexArray inverse = new ComplexArray(n);
+		for (int i = 0; i < n; ++i) {
+			int p = find(i, i);
+			if (p < 0) {
+				inverse.set(i, 1, 0);
+			} else {
+				double det = re[p] * re[p] + im[p] * im[p];
+				inverse.set(i, re[p] / det, -im[p] / det);
+			}
+		}
+		return new ComplexOperator() {
+			@Override
+			public void apply(ComplexArray x, ComplexArray result) {
+				for (int i = 0; i < n; ++i) {
+					double a = x.re[x.offset + i], b = x.im[x.offset + i];
+					double c = inverse.re[i], d = inverse.im[i];
+					result.re[result.offset + i] = a * c - b * d;
+					result.im[result.offset + i] = a * d + b * c;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns A * x.
+	 * @param x the vector
+	 * @return A * x
+	 */
+	public ComplexArray times(ComplexArray x) {
+		ComplexArray result = new ComplexArray(n);
+		apply(x, result);
+		return result;
+	}
+
+	@Override
+	public void apply(ComplexArray x, ComplexArray result) {
+		if (x.size() != n || result.size() != n) {
+			throw new IllegalArgumentException("vectors of size " + x.size() + " and " + result.size() + " for a " + n + "x" + n + " matrix");
+		}
+		if (columns.length >= PARALLEL_SIZE) {
+			Parallel.POOL.invoke(new Product(x, result, 0, n));
+		} else {
+			multiply(x, result, 0, n);
+		}
+	}
+
+	/**
+	 * the rows from (inclusive) to (exclusive) of A * x
+	 */
+	private void multiply(ComplexArray x, ComplexArray result, int from, int to) {
+		double[] xRe = x.re, xIm = x.im, rRe = result.re, rIm = result.im;
+		int o = x.offset, q = result.offset;
+		for (int i = from; i < to; ++i) {
+			double sRe = 0, sIm = 0;
+			for (int p = rowStart[i]; p < rowStart[i + 1]; ++p) {
+				double a = re[p], b = im[p], c = xRe[o + columns[p]], d = xIm[o + columns[p]];
+				sRe += a * c - b * d;
+				sIm += a * d + b * c;
+			}
+			rRe[q + i] = sRe;
+			rIm[q + i] = sIm;
+		}
+	}
+
+	private class Product extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ComplexArray x;
+		private final ComplexArray result;
+		private final int from;
+		private final int to;
+
+		Product(ComplexArray x, ComplexArray result, int from, int to) {
+			this.x = x;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1 && rowStart[to] - rowStart[from] > GRAIN) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Product(x, result, from, middle), new Product(x, result, middle, to));
+				return;
+			}
+			multiply(x, result, from, to);
+		}
+
+	}
+
+}
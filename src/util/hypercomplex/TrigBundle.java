@@ -0,0 +1,108 @@
+package util.hypercomplex;
+
+/**
+ * All six trigonometric (or hyperbolic) functions of one hyper-complex number, built from one sine and cosine.<p>
+ *
+ * The sine and the cosine are computed together (see Hypercomplex.sincos() and Hypercomplex.sinhcosh()),
+ * the reciprocal functions only once they are asked for, and then from the same values:
+ * sec == 1 / cos, csc == 1 / sin, tan == sin * sec, cot == cos * csc.
+ * So for example the tangent and the secant together cost one inversion instead of two divisions
+ * and two more evaluations of the sine and cosine.<p>
+ *
+ * For Hypercomplex.trigh() the functions are the hyperbolic ones (sin() is sinh, tan() is tanh, ...).<p>
+ *
+ * <b>examples:</b><br>
+ * TrigBundle t = z.trig();<br>
+ * t.tan(); t.sec(); <- both from the same sine and cosine<br>
+ * z.trigh().coth(); <- the hyperbolic cotangent<br>
+ * @see Hypercomplex#trig()
+ * @see Hypercomplex#trigh()
+ */
+public final class TrigBundle {
+
+	private final Hypercomplex sin;
+	private final Hypercomplex cos;
+	private Hypercomplex sec;
+	private Hypercomplex csc;
+
+	/**
+	 * Constructor. Constructs the bundle of the given sine and cosine.
+	 * @param sin the sine
+	 * @param cos the cosine
+	 */
+	public TrigBundle(Hypercomplex sin, Hypercomplex cos) {
+		this.sin = sin;
+		this.cos = cos;
+	}
+
+	/**
+	 * sine
+	 * @return sine
+	 */
+	public Hypercomplex sin() {
+		return sin;
+	}
+
+	/**
+	 * cosine
+	 * @return cosine
+	 */
+	public Hypercomplex cos() {
+		return cos;
+	}
+
+	/**
+	 * secant
+	 * @return secant
+	 */
+	public Hypercomplex sec() {
+		if (sec == null) {
+			sec = cos.inverse();
+		}
+		return sec;
+	}
+
+	/**
+	 * cosecant
+	 * @return cosecant
+	 */
+	public Hypercomplex csc() {
+		if (csc == null) {
+			csc = sin.inverse();
+		}
+		return csc;
+	}
+
+	/**
+	 * tangent
+	 * @return tangent
+	 */
+	public Hypercomplex tan() {
+		return sin.times(sec());
+	}
+
+	/**
+	 * cotangent
+	 * @return cotangent
+	 */
+	public Hypercomplex cot() {
+		return cos.times(csc());
+	}
+
+	/**
+	 * Returns {cosh(x), sinh(x)} from one exponential.<br>
+	 * expm1 keeps sinh exact for small x: e^x - e^-x == (e^x - 1) * (e^x + 1) / e^x.
+	 * @param x the real argument
+	 * @return {cosh(x), sinh(x)}
+	 */
+	static double[] coshSinh(double x) {
+		if (Math.abs(x) > 20) {
+			// e^-x doesn't matter any more (and e^x may overflow)
+			return new double[] {Math.cosh(x), Math.sinh(x)};
+		}
+		double m = Math.expm1(x);
+		double e = m + 1;
+		return new double[] {(e + 1 / e) / 2, m * (m + 2) / (2 * e)};
+	}
+
+}
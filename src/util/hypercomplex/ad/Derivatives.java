@@ -0,0 +1,52 @@
+package util.hypercomplex.ad;
+
+/**
+ * derivatives of functions written on dual numbers, see {@link DualFunction} and {@link DualVectorFunction}.<p>
+ * every variable gets its own seed, so one evaluation gives all derivatives at once.<p>
+ * examples:<br>
+ * Derivatives.derivative(f, 2).derivative(); <- f'(2)<br>
+ * Derivatives.jacobian(g, 1, 2); <- the jacobian of g at (1, 2)<br>
+ * @author hoechp
+ *
+ */
+public class Derivatives {
+
+	private Derivatives() {
+	}
+
+	/**
+	 * the value and the derivative of a function at x.
+	 * @param function the function
+	 * @param x where to differentiate
+	 * @return the value and the derivative
+	 */
+	public static DualScalar derivative(DualFunction function, double x) {
+		return function.apply(DualScalar.variable(x));
+	}
+
+	/**
+	 * the values and the gradients of all results of a function at x.
+	 * @param function the function
+	 * @param x where to differentiate
+	 * @return the values and the gradients
+	 */
+	public static DualVector[] evaluate(DualVectorFunction function, double... x) {
+		return function.apply(DualVector.variables(x));
+	}
+
+	/**
+	 * the jacobian of a function at x.
+	 * @param function the function
+	 * @param x where to differentiate
+	 * @return the jacobian (one row per result, one column per variable)
+	 */
+	public static double[][] jacobian(DualVectorFunction function, double... x) {
+		DualVector[] results = evaluate(function, x);
+		double[][] jacobian = new double[results.length][];
+		for (int i = 0; i < results.length; ++i) {
+			jacobian[i] = results[i].gradient();
+		}
+		return jacobian;
+	}
+
+}
@@ -0,0 +1,221 @@
+package util.hypercomplex.ad;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import util.hypercomplex.calculation.Calculation;
+import util.hypercomplex.calculation.CalculationNode;
+import util.hypercomplex.formula.Formula;
+import util.hypercomplex.formula.Parameter;
+import util.hypercomplex.ultracomplex.Ultra;
+import util.tests.Tests;
+
+/**
+ * evaluates {@link Calculation} and {@link Formula} trees on dual numbers, to get exact derivatives
+ * (no finite differences, no symbolic derivation).<p>
+ * only real calculations can be differentiated, a constant with any imaginary part is refused.<p>
+ * examples:<br>
+ * Formula f = new Formula("x² * sin(y)");<br>
+ * f.set("x", 2);<br>
+ * f.set("y", 1);<br>
+ * DualCalculation.gradient(f, "x", "y"); <- value 4 * sin(1), gradient {4 * sin(1), 4 * cos(1)}<br>
+ * DualCalculation.derivative(f, "x"); <- value 4 * sin(1), derivative 4 * sin(1)<br>
+ * DualCalculation.jacobian(new Formula[] {f, g}, "x", "y"); <- the jacobian of f and g<br>
+ * @author hoechp
+ *
+ */
+public class DualCalculation {
+
+	private DualCalculation() {
+	}
+
+	/**
+	 * the derivative of a formula for one of its parameters, at the current values of the parameters.
+	 * @param formula the formula
+	 * @param variable the name of the parameter
+	 * @return the value and the derivative
+	 */
+	public static DualScalar derivative(Formula formula, String variable) {
+		Map<String, DualScalar> variables = new HashMap<String, DualScalar>();
+		variables.put(variable, DualScalar.variable(valueOf(formula, variable)));
+		return evaluate(formula.getCalculation(variables.keySet()), variables, DualScalar.constant(0));
+	}
+
+	/**
+	 * the gradient of a formula for the given parameters, at the current values of the parameters.
+	 * all other parameters are constants.
+	 * @param formula the formula
+	 * @param variables the names of the parameters
+	 * @return the value and the gradient (in the order of the names)
+	 */
+	public static DualVector gradient(Formula formula, String... variables) {
+		double[] values = new double[variables.length];
+		for (int i = 0; i < variables.length; ++i) {
+			values[i] = valueOf(formula, variables[i]);
+		}
+		return gradient(formula.getCalculation(new HashSet<String>(Arrays.asList(variables))), variables, values);
+	}
+
+	/**
+	 * the jacobian of some formulas for the given parameters, at the current values of the parameters.
+	 * @param formulas the formulas
+	 * @param variables the names of the parameters
+	 * @return the jacobian (one row per formula, one column per parameter)
+	 */
+	public static double[][] jacobian(Formula[] formulas, String... variables) {
+		double[][] result = new double[formulas.length][];
+		for (int i = 0; i < formulas.length; ++i) {
+			result[i] = gradient(formulas[i], variables).gradient();
+		}
+		return result;
+	}
+
+	/**
+	 * the gradient of a calculation (with variables) at the given values.
+	 * @param calculation the calculation (see Calculation(String, Set))
+	 * @param variables the names of the variables
+	 * @param values the values of the variables
+	 * @return the value and the gradient (in the order of the names)
+	 */
+	public static DualVector gradient(Calculation calculation, String[] variables, double[] values) {
+		DualVector[] seeded = DualVector.variables(values);
+		Map<String, DualVector> map = new HashMap<String, DualVector>();
+		for (int i = 0; i < variables.length; ++i) {
+			map.put(variables[i], seeded[i]);
+		}
+		return evaluate(calculation, map, DualVector.constant(0, variables.length));
+	}
+
+	/**
+	 * evaluates a calculation on dual numbers.
+	 * @param calculation the calculation (see Calculation(String, Set))
+	 * @param variables the dual numbers for the variables
+	 * @param zero a constant zero with as many derivatives as the variables
+	 * @return the result
+	 */
+	public static <D extends DualNumber<D>> D evaluate(Calculation calculation, Map<String, D> variables, D zero) {
+		return evaluate(calculation.getRoot(), variables, zero);
+	}
+
+	private static double valueOf(Formula formula, String variable) {
+		Parameter parameter = formula.get(variable);
+		if (parameter == null) {
+			throw new IllegalArgumentException("no parameter " + variable + " in " + formula.formulaString());
+		}
+		return real(parameter.getValue());
+	}
+
+	private static double real(Ultra value) {
+		for (int i = 1; i < 8; ++i) {
+			if (Math.abs(value.getDouble(i)) > Tests.DELTA) {
+				throw new IllegalArgumentException("only real calculations can be differentiated: " + value);
+			}
+		}
+		return value.getDouble(0);
+	}
+
+	private static <D extends DualNumber<D>> D evaluate(CalculationNode node, Map<String, D> variables, D zero) {
+		if (node.getVariable() != null) {
+			D variable = variables.get(node.getVariable());
+			if (variable == null) {
+				throw new IllegalArgumentException("no value for " + node.getVariable());
+			}
+			return variable;
+		}
+		if (node.isConstant()) {
+			return zero.lift(real(node.getValue()));
+		}
+		D a = evaluate(node.getChildren().get(0), variables, zero);
+		D b = node.getChildren().size() > 1 ? evaluate(node.getChildren().get(1), variables, zero) : null;
+		// see CalculationNode.internallyComputedResult()
+		switch (node.getOperator().code()) {
+		case 0:
+			return a;
+		case 1:
+			return a.times(b);
+		case 2:
+			return a.by(b);
+		case 3:
+			return a.plus(b);
+		case 4:
+			return a.minus(b);
+		case 6:
+			return a.pow(b);
+		case 9:
+			return a.exp();
+		case 10:
+			return a.ln();
+		case 11:
+			// base first
+			return b.log(a);
+		case 12:
+			return a.cos();
+		case 13:
+			return a.acos();
+		case 14:
+			return a.cosh();
+		case 15:
+			return a.acosh();
+		case 16:
+			return a.sin();
+		case 17:
+			return a.asin();
+		case 18:
+			return a.sinh();
+		case 19:
+			return a.asinh();
+		case 20:
+			return a.tan();
+		case 21:
+			return a.atan();
+		case 22:
+			return a.tanh();
+		case 23:
+			return a.atanh();
+		case 24:
+			return a.cot();
+		case 25:
+			return a.acot();
+		case 26:
+			return a.coth();
+		case 27:
+			return a.acoth();
+		case 28:
+			return a.sec();
+		case 29:
+			return a.asec();
+		case 30:
+			return a.sech();
+		case 31:
+			return a.asech();
+		case 32:
+			return a.csc();
+		case 33:
+			return a.acsc();
+		case 34:
+			return a.csch();
+		case 35:
+			return a.acsch();
+		case 36:
+			return a.sqrt();
+		case 41:
+			// like Ultra.conjugate(): no conjugate levels apply to a real number, so it's the constant 1
+			return a.lift(1);
+		case 42:
+			return a.inverse();
+		case 44:
+			return a;
+		case 53:
+			return a.pow(2);
+		case 54:
+			return a.pow(3);
+		case 55:
+			return a.negate();
+		default:
+			throw new IllegalArgumentException("can't differentiate " + node.getOperator());
+		}
+	}
+
+}
@@ -0,0 +1,18 @@
+package util.hypercomplex.ad;
+
+/**
+ * a real function of one variable, written on dual numbers, for {@link Derivatives#derivative(DualFunction, double)}.<p>
+ * example (f(x) = x * sin(x)):<br>
+ * new DualFunction() {<br>
+ * 	public DualScalar apply(DualScalar x) {<br>
+ * 		return x.times(x.sin());<br>
+ * 	}<br>
+ * };
+ * @author hoechp
+ *
+ */
+public interface DualFunction {
+
+	DualScalar apply(DualScalar x);
+
+}
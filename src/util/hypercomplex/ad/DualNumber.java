@@ -0,0 +1,247 @@
+package util.hypercomplex.ad;
+
+import util.hypercomplex.Hypercomplex;
+
+/**
+ * a real value together with its derivatives, for forward-mode automatic differentiation.<p>
+ * like for {@link util.hypercomplex.Dual} numbers f(a + b * e) = f(a) + f'(a) * b * e,
+ * so every function just needs its value and its derivative at a to carry the derivatives along (chain rule).
+ * all the elementary functions are written here once in terms of {@link #chain(double, double)},
+ * the subclasses only decide how many derivatives there are.<p>
+ * all operations return a new number, nothing changes.
+ * @param <D> the kind of number the operations return
+ * @see DualScalar
+ * @see DualVector
+ * @author hoechp
+ *
+ */
+public abstract class DualNumber<D extends DualNumber<D>> {
+
+	/**
+	 * the value (the real part)
+	 * @return the value
+	 */
+	public abstract double value();
+
+	/**
+	 * f(this), with f(value()) == value and f'(value()) == derivative.
+	 * @param value the value of the function
+	 * @param derivative the derivative of the function
+	 * @return f(this) with all derivatives multiplied by the given one
+	 */
+	protected abstract D chain(double value, double derivative);
+
+	/**
+	 * a constant with as many (zero) derivatives as this number.
+	 * @param value the value
+	 * @return the constant
+	 */
+	protected abstract D lift(double value);
+
+	/**
+	 * if all the derivatives are zero (so this doesn't depend on any variable)
+	 * @return true if this is a constant
+	 */
+	public abstract boolean isConstant();
+
+	public abstract D plus(D addend);
+
+	public abstract D minus(D subtrahend);
+
+	public abstract D times(D factor);
+
+	public D by(D divisor) {
+		return times(divisor.inverse());
+	}
+
+	public D plus(double addend) {
+		return chain(value() + addend, 1);
+	}
+
+	public D times(double factor) {
+		return chain(value() * factor, factor);
+	}
+
+	public D negate() {
+		return chain(-value(), -1);
+	}
+
+	public D inverse() {
+		double a = value();
+		return chain(1 / a, -1 / (a * a));
+	}
+
+	public D exp() {
+		double exp = Math.exp(value());
+		return chain(exp, exp);
+	}
+
+	public D ln() {
+		double a = value();
+		return chain(Math.log(a), 1 / a);
+	}
+
+	/**
+	 * logarithm of this to the given base.
+	 * @param base the base
+	 * @return log_base(this)
+	 */
+	public D log(D base) {
+		return ln().by(base.ln());
+	}
+
+	/**
+	 * this to the power of p. that works for negative values as well, as long as p is an integer.
+	 * @param p the constant exponent
+	 * @return this to the power of p
+	 */
+	public D pow(double p) {
+		double a = value();
+		if (p == 0) {
+			return lift(1);
+		}
+		return chain(Math.pow(a, p), p * Math.pow(a, p - 1));
+	}
+
+	/**
+	 * this to the power of w. if w is constant that's {@link #pow(double)}, otherwise exp(ln(this) * w).
+	 * @param w the exponent
+	 * @return this to the power of w
+	 */
+	public D pow(D w) {
+		if (w.isConstant()) {
+			return pow(w.value());
+		}
+		return ln().times(w).exp();
+	}
+
+	public D sqrt() {
+		double sqrt = Math.sqrt(value());
+		return chain(sqrt, 0.5 / sqrt);
+	}
+
+	// ------------------------- TRIGONOMETRIC FUNCTIONS -------------------------
+
+	public D sin() {
+		double a = value();
+		return chain(Math.sin(a), Math.cos(a));
+	}
+
+	public D cos() {
+		double a = value();
+		return chain(Math.cos(a), -Math.sin(a));
+	}
+
+	public D tan() {
+		double tan = Math.tan(value());
+		return chain(tan, 1 + tan * tan);
+	}
+
+	public D cot() {
+		double cot = 1 / Math.tan(value());
+		return chain(cot, -1 - cot * cot);
+	}
+
+	public D sec() {
+		double a = value();
+		double sec = 1 / Math.cos(a);
+		return chain(sec, sec * Math.tan(a));
+	}
+
+	public D csc() {
+		double a = value();
+		double csc = 1 / Math.sin(a);
+		return chain(csc, -csc / Math.tan(a));
+	}
+
+	public D asin() {
+		double a = value();
+		return chain(Math.asin(a), 1 / Math.sqrt(1 - a * a));
+	}
+
+	public D acos() {
+		double a = value();
+		return chain(Math.acos(a), -1 / Math.sqrt(1 - a * a));
+	}
+
+	public D atan() {
+		double a = value();
+		return chain(Math.atan(a), 1 / (1 + a * a));
+	}
+
+	public D acot() {
+		double a = value();
+		return chain(Math.PI / 2 - Math.atan(a), -1 / (1 + a * a));
+	}
+
+	public D asec() {
+		double a = value();
+		return chain(Math.acos(1 / a), 1 / (Math.abs(a) * Math.sqrt(a * a - 1)));
+	}
+
+	public D acsc() {
+		double a = value();
+		return chain(Math.asin(1 / a), -1 / (Math.abs(a) * Math.sqrt(a * a - 1)));
+	}
+
+	public D sinh() {
+		double a = value();
+		return chain(Math.sinh(a), Math.cosh(a));
+	}
+
+	public D cosh() {
+		double a = value();
+		return chain(Math.cosh(a), Math.sinh(a));
+	}
+
+	public D tanh() {
+		double tanh = Math.tanh(value());
+		return chain(tanh, 1 - tanh * tanh);
+	}
+
+	public D coth() {
+		double coth = 1 / Math.tanh(value());
+		return chain(coth, 1 - coth * coth);
+	}
+
+	public D sech() {
+		double a = value();
+		double sech = 1 / Math.cosh(a);
+		return chain(sech, -sech * Math.tanh(a));
+	}
+
+	public D csch() {
+		double a = value();
+		double csch = 1 / Math.sinh(a);
+		return chain(csch, -csch / Math.tanh(a));
+	}
+
+	public D asinh() {
+		double a = value();
+		return chain(Hypercomplex.asinh(a), 1 / Math.sqrt(a * a + 1));
+	}
+
+	public D acosh() {
+		double a = value();
+		return chain(Hypercomplex.acosh(a), 1 / Math.sqrt(a * a - 1));
+	}
+
+	public D atanh() {
+		double a = value();
+		return chain(0.5 * Math.log((1 + a) / (1 - a)), 1 / (1 - a * a));
+	}
+
+	public D acoth() {
+		double a = value();
+		return chain(0.5 * Math.log((a + 1) / (a - 1)), 1 / (1 - a * a));
+	}
+
+	public D asech() {
+		return inverse().acosh();
+	}
+
+	public D acsch() {
+		return inverse().asinh();
+	}
+
+}
@@ -0,0 +1,94 @@
+package util.hypercomplex.ad;
+
+import util.hypercomplex.Dual;
+
+/**
+ * a real value and its derivative with respect to one variable, as two plain doubles.<p>
+ * that's a {@link Dual} number without the vectors and the polar form behind it.<p>
+ * example (f(x) = x * sin(x) at x = 2):<br>
+ * DualScalar x = DualScalar.variable(2);<br>
+ * DualScalar f = x.times(x.sin());<br>
+ * f.value(); <- 2 * sin(2)<br>
+ * f.derivative(); <- sin(2) + 2 * cos(2)<br>
+ * @author hoechp
+ *
+ */
+public final class DualScalar extends DualNumber<DualScalar> {
+
+	private final double value;
+	private final double derivative;
+
+	public DualScalar(double value, double derivative) {
+		this.value = value;
+		this.derivative = derivative;
+	}
+
+	public DualScalar(Dual dual) {
+		this(dual.re(), dual.im());
+	}
+
+	/**
+	 * the variable to differentiate for, with the given value (its derivative is 1).
+	 * @param value the value
+	 * @return the variable
+	 */
+	public static DualScalar variable(double value) {
+		return new DualScalar(value, 1);
+	}
+
+	/**
+	 * a constant (its derivative is 0).
+	 * @param value the value
+	 * @return the constant
+	 */
+	public static DualScalar constant(double value) {
+		return new DualScalar(value, 0);
+	}
+
+	public double value() {
+		return value;
+	}
+
+	public double derivative() {
+		return derivative;
+	}
+
+	public boolean isConstant() {
+		return derivative == 0;
+	}
+
+	public Dual toDual() {
+		return new Dual(value, derivative);
+	}
+
+	protected DualScalar lift(double value) {
+		return new DualScalar(value, 0);
+	}
+
+	protected DualScalar chain(double value, double derivative) {
+		return new DualScalar(value, derivative * this.derivative);
+	}
+
+	public DualScalar plus(DualScalar addend) {
+		return new DualScalar(value + addend.value, derivative + addend.derivative);
+	}
+
+	public DualScalar minus(DualScalar subtrahend) {
+		return new DualScalar(value - subtrahend.value, derivative - subtrahend.derivative);
+	}
+
+	public DualScalar times(DualScalar factor) {
+		return new DualScalar(value * factor.value, value * factor.derivative + derivative * factor.value);
+	}
+
+	public DualScalar by(DualScalar divisor) {
+		double d = divisor.value;
+		return new DualScalar(value / d, (derivative * d - value * divisor.derivative) / (d * d));
+	}
+
+	@Override
+	public String toString() {
+		return value + " + " + derivative + "e";
+	}
+
+}
@@ -0,0 +1,151 @@
+package util.hypercomplex.ad;
+
+import java.util.Arrays;
+
+/**
+ * a real value and its derivatives with respect to n variables (its gradient).<p>
+ * seeding every variable with its own unit vector gives the whole gradient
+ * (or for several functions the whole jacobian) in one evaluation,
+ * instead of one evaluation per variable.<p>
+ * example (f(x, y) = x * y + sin(x) at (2, 3)):<br>
+ * DualVector[] v = DualVector.variables(2, 3);<br>
+ * DualVector f = v[0].times(v[1]).plus(v[0].sin());<br>
+ * f.gradient(); <- {3 + cos(2), 2}<br>
+ * @author hoechp
+ *
+ */
+public final class DualVector extends DualNumber<DualVector> {
+
+	private final double value;
+	private final double[] gradient;
+
+	private DualVector(double value, double[] gradient) {
+		this.value = value;
+		this.gradient = gradient;
+	}
+
+	/**
+	 * the variables with the given values, the i-th one seeded with the i-th unit vector.
+	 * @param values the values of the variables
+	 * @return the variables
+	 */
+	public static DualVector[] variables(double... values) {
+		DualVector[] result = new DualVector[values.length];
+		for (int i = 0; i < values.length; ++i) {
+			result[i] = variable(values[i], i, values.length);
+		}
+		return result;
+	}
+
+	/**
+	 * the variable with the given index (its gradient is the unit vector of that index).
+	 * @param value the value
+	 * @param index the index of the variable
+	 * @param n the number of variables
+	 * @return the variable
+	 */
+	public static DualVector variable(double value, int index, int n) {
+		double[] gradient = new double[n];
+		gradient[index] = 1;
+		return new DualVector(value, gradient);
+	}
+
+	/**
+	 * a constant (its gradient is zero).
+	 * @param value the value
+	 * @param n the number of variables
+	 * @return the constant
+	 */
+	public static DualVector constant(double value, int n) {
+		return new DualVector(value, new double[n]);
+	}
+
+	public double value() {
+		return value;
+	}
+
+	/**
+	 * the derivative with respect to the variable of the given index.
+	 * @param index the index of the variable
+	 * @return the derivative
+	 */
+	public double derivative(int index) {
+		return gradient[index];
+	}
+
+	/**
+	 * all the derivatives (a copy).
+	 * @return the gradient
+	 */
+	public double[] gradient() {
+		return gradient.clone();
+	}
+
+	/**
+	 * the number of variables.
+	 * @return the number of variables
+	 */
+	public int size() {
+		return gradient.length;
+	}
+
+	public boolean isConstant() {
+		for (double d : gradient) {
+			if (d != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	protected DualVector lift(double value) {
+		return constant(value, gradient.length);
+	}
+
+	protected DualVector chain(double value, double derivative) {
+		double[] result = new double[gradient.length];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = derivative * gradient[i];
+		}
+		return new DualVector(value, result);
+	}
+
+	public DualVector plus(DualVector addend) {
+		double[] result = new double[gradient.length];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = gradient[i] + addend.gradient[i];
+		}
+		return new DualVector(value + addend.value, result);
+	}
+
+	public DualVector minus(DualVector subtrahend) {
+		double[] result = new double[gradient.length];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = gradient[i] - subtrahend.gradient[i];
+		}
+		return new DualVector(value - subtrahend.value, result);
+	}
+
+	public DualVector times(DualVector factor) {
+		double[] result = new double[gradient.length];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = value * factor.gradient[i] + gradient[i] * factor.value;
+		}
+		return new DualVector(value * factor.value, result);
+	}
+
+	public DualVector by(DualVector divisor) {
+		double d = divisor.value;
+		double[] result = new double[gradient.length];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = (gradient[i] * d - value * divisor.gradient[i]) / (d * d);
+		}
+		return new DualVector(value / d, result);
+	}
+
+	@Override
+	public String toString() {
+		return value + " " + Arrays.toString(gradient);
+	}
+
+}
@@ -0,0 +1,19 @@
+package util.hypercomplex.ad;
+
+/**
+ * a real function of n variables with m results, written on dual numbers,
+ * for {@link Derivatives#jacobian(DualVectorFunction, double...)}.<p>
+ * example (f(x, y) = (x * y, x + sin(y))):<br>
+ * new DualVectorFunction() {<br>
+ * 	public DualVector[] apply(DualVector[] x) {<br>
+ * 		return new DualVector[] {x[0].times(x[1]), x[0].plus(x[1].sin())};<br>
+ * 	}<br>
+ * };
+ * @author hoechp
+ *
+ */
+public interface DualVectorFunction {
+
+	DualVector[] apply(DualVector[] x);
+
+}
@@ -1,7 +1,9 @@
 package util.hypercomplex.calculation;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 
 import util.hypercomplex.Hypercomplex;
 import util.hypercomplex.ultracomplex.Ultra;
@@ -9,12 +11,25 @@ import util.hypercomplex.ultracomplex.Ultra;
 public class Calculation {
 
 	private CalculationNode root = null;
+	private Set<String> variables;
 	
 	public static Ultra calculate(String expression) {
 		return new Calculation(expression).result();
 	}
 	
 	public Calculation(String expression) {
+		this(expression, Collections.<String>emptySet());
+	}
+	
+	/**
+	 * a calculation in which the given names stay variables (see CalculationNode.getVariable()),
+	 * for example to evaluate it on other values (see util.hypercomplex.ad.DualCalculation).
+	 * result() is null as soon as a variable is involved.
+	 * @param expression the expression
+	 * @param variables the names of the variables
+	 */
+	public Calculation(String expression, Set<String> variables) {
+		this.variables = variables;
 		parseExpression(expression);
 		normalizeCalculation();
 	}
@@ -70,6 +85,10 @@ public class Calculation {
 		if (expression == null) {
 			return;
 		}
+		if (variables.contains(expression.trim())) {
+			root = new CalculationNode(expression.trim());
+			return;
+		}
 		CalculationNode newRoot = null;
 		OperatorParseData parse = advancedBracketSearch(expression);
 		if (parse == null) {
@@ -101,13 +120,13 @@ public class Calculation {
 				}
 				newRoot = new CalculationNode(parse.getOperators()[winIndex]);
 				for (int i = 0; i < winStrArr.length; ++i) {
-					Calculation subCalc = new Calculation(winStrArr[i]);
+					Calculation subCalc = new Calculation(winStrArr[i], variables);
 					newRoot.addChild(subCalc.getRoot());
 				}
 			} else {
 				newRoot = new CalculationNode(parse.getOperators()[0]);
 				for (int i = 0; i < parse.getOperators()[0].involvedTerms(); ++i) {
-					Calculation subCalc = new Calculation(i == 0 ? parse.getStrings()[0] : parse.getStrings()[1]);
+					Calculation subCalc = new Calculation(i == 0 ? parse.getStrings()[0] : parse.getStrings()[1], variables);
 					newRoot.addChild(subCalc.getRoot());
 				}
 			}
@@ -9,6 +9,7 @@ public class CalculationNode {
 	private boolean constant;
 	private Ultra value;
 	private Operator operator;
+	private String variable;
 	private ArrayList<CalculationNode> children = new ArrayList<CalculationNode>();
 
 	public CalculationNode(Ultra value) {
@@ -23,6 +24,17 @@ public class CalculationNode {
 		this.operator = operator;
 	}
 	
+	/**
+	 * a variable, that has no value (so the nodes above it have none either).
+	 * @param variable the name of the variable
+	 */
+	public CalculationNode(String variable) {
+		this.constant = false;
+		this.value = null;
+		this.operator = null;
+		this.variable = variable;
+	}
+	
 	public Ultra computedResult() {
 		return value = internallyComputedResult();
 	}
@@ -31,6 +43,11 @@ public class CalculationNode {
 		if (operator == null || children.size() != operator.involvedTerms()) {
 			return null;
 		}
+		for (CalculationNode child : children) {
+			if (child.getValue() == null) {
+				return null;
+			}
+		}
 		switch (operator.code()) {
 		case 0:
 			return children.get(0).getValue();
@@ -101,7 +118,7 @@ public class CalculationNode {
 		case 35:
 			return children.get(0).getValue().acsch();
 		case 36:
-			return children.get(0).getValue().pow(new Ultra(0.5));
+			return children.get(0).getValue().sqrt();
 		case 41:
 			return children.get(0).getValue().conjugate();
 		case 42:
@@ -109,9 +126,9 @@ public class CalculationNode {
 		case 44:
 			return new Ultra(children.get(0).getValue().getDouble(0));
 		case 53:
-			return children.get(0).getValue().times(children.get(0).getValue());
+			return children.get(0).getValue().pow(2);
 		case 54:
-			return children.get(0).getValue().times(children.get(0).getValue()).times(children.get(0).getValue());
+			return children.get(0).getValue().pow(3);
 		case 55:
 			return children.get(0).getValue().times(-1);
 		default:
@@ -138,6 +155,9 @@ public class CalculationNode {
 	public Operator getOperator() {
 		return operator;
 	}
+	public String getVariable() {
+		return variable;
+	}
 	
 	@Override
 	public String toString() {
@@ -148,6 +168,9 @@ public class CalculationNode {
 		if (constant) {
 			return value.toString();
 		}
+		if (variable != null) {
+			return variable;
+		}
 		final int n = operator.involvedTerms();
 		if (n == 1) {
 			if (getOperator() != Operator.BRACKETS && children.get(0).getOperator() != Operator.BRACKETS) {
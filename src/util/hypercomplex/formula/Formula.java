@@ -1,10 +1,13 @@
 package util.hypercomplex.formula;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Set;
 
 import util.hypercomplex.Hypercomplex;
+import util.hypercomplex.HypercomplexScanner;
 import util.hypercomplex.calculation.Calculation;
 import util.hypercomplex.calculation.Operator;
 import util.hypercomplex.ultracomplex.Ultra;
@@ -70,7 +73,7 @@ public class Formula {
 		this.formulaString = formulaString;
 		for (String s: para) {
 			if (keyMap.get(s) == null) {
-				Parameter created = new Parameter(s, Ultra.ZERO);
+				Parameter created = new Parameter(s, new Ultra());
 				parameter.add(created);
 				keyMap.put(s, created);
 			} else {
@@ -152,6 +155,10 @@ public class Formula {
 	}
 
 	private String getStringRepresentation(boolean symbolic) {
+		return getStringRepresentation(symbolic, Collections.<String>emptySet());
+	}
+
+	private String getStringRepresentation(boolean symbolic, Set<String> variables) {
 		if (!formulaString.contains("?")) {
 			return formulaString;
 		}
@@ -161,7 +168,7 @@ public class Formula {
 		for (int i = 0; i < parts.size(); ++i) {
 			calc += parts.get(i);
 			if (i < parts.size() - 1) {
-				if (symbolic) {
+				if (symbolic || variables.contains(parameter.get(paramCount).getIdentifier())) {
 					calc += parameter.get(paramCount).getIdentifier();
 				} else {
 					Ultra toWrite = parameter.get(paramCount).getValue();
@@ -243,9 +250,7 @@ public class Formula {
 			String key = paramRaw.get(i);
 			int index = paramPosRaw.get(i);
 			if (!"?".equals(key.trim()) && !"".equals(key.trim())) {
-				try {
-					Hypercomplex.parseHypercomplexWeakest(key);
-				} catch (Throwable t) {
+				if (!HypercomplexScanner.isLiteral(key)) {
 					String innerKey = key.trim();
 					int innerIndex = key.indexOf(innerKey);
 					key = innerKey;
@@ -275,9 +280,19 @@ public class Formula {
 		return new Calculation(getStringRepresentation(false));
 	}
 	
+	/**
+	 * returns the calculation with the given parameters left as variables, all others get their values.
+	 * @param variables the names of the parameters to keep as variables
+	 * @return the calculation with the given parameters left as variables
+	 */
+	public Calculation getCalculation(Set<String> variables) {
+		repairIfNeeded();
+		return new Calculation(getStringRepresentation(false, variables), variables);
+	}
+	
 	private void addParamAtParse(String param) {
 		if (keyMap.get(param) == null) {
-			Parameter created = new Parameter(param, Ultra.ZERO);
+			Parameter created = new Parameter(param, new Ultra());
 			parameter.add(created);
 			keyMap.put(param, created);
 		} else {
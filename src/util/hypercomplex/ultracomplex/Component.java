@@ -7,6 +7,8 @@ import util.hypercomplex.Hypercomplex;
 import util.tests.Tests;
 
 /**
+ * a view of one of the eight components of an {@link Ultra} number, used for displaying it.
+ * it also holds the tables defining how the components are multiplied with each other.<p>
  * types:<br>
  * -1 == ZERO<br>
  * 0 == REAL<br>
@@ -99,24 +101,34 @@ public class Component {
 		}
 	}
 	
-	public int multiplicationCode(int a, int b) {
+	/**
+	 * the type of the product of two components.
+	 * @param a the type of the first factor
+	 * @param b the type of the second factor
+	 * @return the type of the product, -1 if the product is ZERO
+	 */
+	public static int multiplicationCode(int a, int b) {
 		return multiplicationArr[a][b];
 	}
 	
-	public int signCode(int a, int b) {
+	/**
+	 * the sign of the product of two components as an exponent of -1.
+	 * @param a the type of the first factor
+	 * @param b the type of the second factor
+	 * @return 1 if the product is negated, otherwise 0
+	 */
+	public static int signCode(int a, int b) {
 		return signArr[a][b];
 	}
 	
-	public Component times(Ultra newOwner, Component other) {
-		int code = multiplicationCode(getType(), other.getType());
-		int componentCode = code;
-		if (componentCode < 0) {
-			componentCode = 0;
-		}
-		int sign = signCode(getType(), other.getType());
-		double a = getType() > 0 ? getValue().im() : getValue().re();
-		double b = other.getType() > 0 ? other.getValue().im() : other.getValue().re();
-		return new Component(componentCode, hyperType(code, Math.pow(-1, sign) * a * b));
+	/**
+	 * the sign of the product of two components as a factor.
+	 * @param a the type of the first factor
+	 * @param b the type of the second factor
+	 * @return -1 if the product is negated, otherwise 1
+	 */
+	public static double signFactor(int a, int b) {
+		return signArr[a][b] == 0 ? 1 : -1;
 	}
 	
 	@Override
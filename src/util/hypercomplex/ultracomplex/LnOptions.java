@@ -0,0 +1,43 @@
+package util.hypercomplex.ultracomplex;
+
+/**
+ * the settings of the ultra-complex logarithm.<p>
+ * the logarithm is computed in closed form first and then refined with newton's method
+ * on exp(y) == x, until the residual |exp(y) - x| / |x| is at most the tolerance
+ * or the number of iterations is used up.<p>
+ * examples:<br>
+ * x.ln(); <- uses LnOptions.DEFAULT<br>
+ * x.ln(new LnOptions(1e-8, 2)); <- less precise, at most two refinements<br>
+ * x.ln(new LnOptions(0, 0)); <- just the closed form<br>
+ * @author hoechp
+ *
+ */
+public class LnOptions {
+
+	/**
+	 * the settings used by ln(): a residual of 1e-15 and at most 8 refinements.
+	 */
+	public static final LnOptions DEFAULT = new LnOptions(1e-15, 8);
+
+	private final double tolerance;
+	private final int maxIterations;
+
+	/**
+	 * Constructor
+	 * @param tolerance the maximal relative residual |exp(y) - x| / |x|
+	 * @param maxIterations the maximal number of newton steps
+	 */
+	public LnOptions(double tolerance, int maxIterations) {
+		this.tolerance = tolerance;
+		this.maxIterations = maxIterations;
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import util.hypercomplex.Complex;
 import util.hypercomplex.Hypercomplex;
+import util.tests.Tests;
 
 /**
  * I'd call these numbers ultra-complex numbers, because hyper-complex numbers have three
@@ -49,65 +50,146 @@ import util.hypercomplex.Hypercomplex;
  */
 public class Ultra {
 	
-	private Component[] components;
-	private static final int REUSE_LN = 2;
-	public static final Ultra ONE = new Ultra(1, 0, 0, 0, 0, 0, 0, 0);
-	public static final Ultra ZERO = new Ultra(0, 0, 0, 0, 0, 0, 0, 0);
+	/**
+	 * the eight coefficients, indexed by the component types of {@link Component}.
+	 */
+	final double[] values = new double[8];
+	/**
+	 * the populated components as a bitmask, kept up to date with the values.
+	 * @see #populatedMask()
+	 */
+	private int mask;
+	/**
+	 * whether set() and multiplyInto() mustn't change this number (for the constants).
+	 */
+	private boolean frozen;
+	public static final Ultra ONE = frozen(new Ultra(1, 0, 0, 0, 0, 0, 0, 0));
+	public static final Ultra ZERO = frozen(new Ultra(0, 0, 0, 0, 0, 0, 0, 0));
+	
+	/**
+	 * the components with  (4 to 7),  (1 and 3) and  without  (2) as bitmasks.
+	 */
+	private static final int DUAL_MASK = 0xF0;
+	private static final int BINARY_MASK = 0x0A;
+	private static final int COMPLEX_MASK = 0x04;
+	
+	/**
+	 * the maximal number of heron steps after the closed form of sqrt().
+	 */
+	private static final int SQRT_STEPS = 3;
+	
+	/**
+	 * for each of the 128 masks of populated non-real components (populatedMask() >> 1):
+	 * the subalgebras, whose conjugates are needed for conjugate() and det().
+	 * @see #conjugate(UltraAccumulator)
+	 */
+	private static final int[] CONJUGATE_LEVELS = new int[128];
+	private static final int DUAL_LEVEL = 1;
+	private static final int BINARY_LEVEL = 2;
+	private static final int COMPLEX_LEVEL = 4;
+	
+	/**
+	 * the components of the subalgebras with their own multiplication kernels as bitmasks.
+	 */
+	private static final int COMPLEX_NUMBERS = 0x05;
+	private static final int BINARY_NUMBERS = 0x03;
+	private static final int DUAL_NUMBERS = 0x11;
+	private static final int COMPLEX_BINARY_NUMBERS = 0x0F;
+	private static final int DUAL_COMPLEX_NUMBERS = 0x55;
+	
+	static {
+		for (int i = 0; i < 128; ++i) {
+			int mask = i << 1 | 1;
+			int levels = 0;
+			if ((mask & DUAL_MASK) != 0) { // (u + v)(u - v) == u^2
+				levels |= DUAL_LEVEL;
+				mask = productMask(mask & ~DUAL_MASK, mask & ~DUAL_MASK);
+			}
+			if ((mask & BINARY_MASK) != 0) { // (p + q)(p - q) == p^2 - q^2
+				levels |= BINARY_LEVEL;
+				boolean complex = ((mask & 0x05) == 0x05) || ((mask & 0x0A) == 0x0A);
+				mask = complex ? 0x05 : 0x01;
+			}
+			if ((mask & COMPLEX_MASK) != 0) { // (a + b)(a - b) == a^2 + b^2
+				levels |= COMPLEX_LEVEL;
+			}
+			CONJUGATE_LEVELS[i] = levels;
+		}
+	}
+	
+	/**
+	 * the components a product can populate, if its factors populate the given components.
+	 * @param a the mask of the first factor
+	 * @param b the mask of the second factor
+	 * @return the mask of the product
+	 */
+	private static int productMask(int a, int b) {
+		int result = 0;
+		for (int i = 0; i < 8; ++i) {
+			for (int j = 0; j < 8; ++j) {
+				int code = Component.multiplicationCode(i, j);
+				if ((a & 1 << i) != 0 && (b & 1 << j) != 0 && code >= 0) {
+					result |= 1 << code;
+				}
+			}
+		}
+		return result;
+	}
+	
+	private static Ultra frozen(Ultra value) {
+		value.frozen = true;
+		return value;
+	}
+	
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("the constant " + this + " can't be changed");
+		}
+	}
 	
 	public static Ultra unit(int code) {
 		if (code < -1 || code > 7) {
 			return null;
 		}
-		double a[] = new double[8];
-		for (int i = 0; i < 8; ++i) {
-			if (code == i) {
-				a[i] = 1;
-			} else {
-				a[i] = 0;
-			}
+		Ultra result = new Ultra();
+		if (code >= 0) {
+			result.values[code] = 1;
+			result.updateMask();
 		}
-		return new Ultra(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]);
+		return result;
 	}
-
+	
 	public Ultra() {
-		components = new Component[8];
-		for (int i = 0; i < 8; ++i) {
-			components[i] = new Component(i, 0);
-		}
 	}
 	
 	public Ultra(Hypercomplex value) {
-		components = new Component[8];
-		for (int i = 0; i < 8; ++i) {
-			components[i] = new Component(i, 0);
-		}
-		components[0] = new Component(0, value.re());
+		values[0] = value.re();
 		if (value.isComplex()) {
-			components[2] = new Component(2, value.im());
+			values[2] = value.im();
 		}
 		if (value.isDual()) {
-			components[4] = new Component(4, value.im());
+			values[4] = value.im();
 		}
 		if (value.isBinary()) {
-			components[1] = new Component(1, value.im());
+			values[1] = value.im();
 		}
+		updateMask();
 	}
 	
 	public Ultra(Ultra other) {
-		components = new Component[8];
-		for (int i = 0; i < 8; ++i) {
-			components[i] = new Component(i, other.getComponent(i).getValue());
-		}
+		System.arraycopy(other.values, 0, values, 0, 8);
+		mask = other.mask;
 	}
 	
 	public void set(Ultra other) {
-		for (int i = 0; i < 8; ++i) {
-			components[i] = new Component(i, other.getComponent(i).getValue());
-		}
+		checkNotFrozen();
+		System.arraycopy(other.values, 0, values, 0, 8);
+		mask = other.mask;
 	}
 
 	public Ultra(double a) {
-		this(a, 0, 0, 0, 0, 0, 0, 0);
+		values[0] = a;
+		updateMask();
 	}
 	
 	/**
@@ -122,30 +204,39 @@ public class Ultra {
 	 * @param h dual-complex-binary part
 	 */
 	public Ultra(double a, double b, double c, double d, double e, double f, double g, double h) {
-		components = new Component[8];
-		components[0] = new Component(0, a);
-		components[1] = new Component(1, b);
-		components[2] = new Component(2, c);
-		components[3] = new Component(3, d);
-		components[4] = new Component(4, e);
-		components[5] = new Component(5, f);
-		components[6] = new Component(6, g);
-		components[7] = new Component(7, h);
-	}
-
-	private void addComponent(Component add) {
-		components[add.getType()].setValue(components[add.getType()].getValue().plus(add.getValue()));
+		values[0] = a;
+		values[1] = b;
+		values[2] = c;
+		values[3] = d;
+		values[4] = e;
+		values[5] = f;
+		values[6] = g;
+		values[7] = h;
+		updateMask();
 	}
 	
-	private void setComponent(Component set) {
-		components[set.getType()].setValue(set.getValue());
+	/**
+	 * sets the mask of populated components after the values have been changed.
+	 */
+	void updateMask() {
+		mask = 0;
+		for (int i = 0; i < 8; ++i) {
+			if (values[i] != 0) {
+				mask |= 1 << i;
+			}
+		}
 	}
 	
+	/**
+	 * returns a view of one component. only needed for displaying it.
+	 * @param code the component type
+	 * @return the component or null if there's no component of that type
+	 */
 	private Component getComponent(int code) {
 		if (code < 0 || code > 7) {
 			return null;
 		}
-		return components[code];
+		return new Component(code, values[code]);
 	}
 	
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -153,46 +244,188 @@ public class Ultra {
 	public Ultra plus(Ultra other) {
 		Ultra result = new Ultra();
 		for (int i = 0; i < 8; ++i) {
-			result.addComponent(getComponent(i));
-			result.addComponent(other.getComponent(i));
+			result.values[i] = values[i] + other.values[i];
 		}
+		result.updateMask();
 		return result;
 	}
 	
 	public Ultra minus(Ultra other) {
-		return plus(other.times(-1));
+		Ultra result = new Ultra();
+		for (int i = 0; i < 8; ++i) {
+			result.values[i] = values[i] - other.values[i];
+		}
+		result.updateMask();
+		return result;
 	}
 
 	public Ultra times(Ultra other) {
 		Ultra result = new Ultra();
-		for (int i = 0; i < 8; ++i) { // components of this
-			for (int j = 0; j < 8; ++j) { // components of other
-				result.addComponent(getComponent(i).times(result, other.getComponent(j)));
-			}
-		}
+		multiplyInto(this, other, result);
 		return result;
 	}
 	
+	/**
+	 * multiplies two ultra-complex numbers and writes the product into dest without creating any objects.
+	 * dest may be one of the factors.<p>
+	 * the sums are the multiplication and sign tables of {@link Component} written out,
+	 * in the order of (component of a, component of b). the products of two dual components vanish.
+	 * if both factors are out of the complex, binary or dual numbers, the complex-binary or the dual-complex numbers,
+	 * only the sums of that subalgebra are computed.
+	 * @param a the first factor
+	 * @param b the second factor
+	 * @param dest the number to write the product into
+	 */
+	public static void multiplyInto(Ultra a, Ultra b, Ultra dest) {
+		dest.checkNotFrozen();
+		int mask = a.mask | b.mask;
+		if ((mask & ~COMPLEX_NUMBERS) == 0) {
+			multiplyComplex(a.values, b.values, dest.values);
+		} else if ((mask & ~BINARY_NUMBERS) == 0) {
+			multiplyBinary(a.values, b.values, dest.values);
+		} else if ((mask & ~DUAL_NUMBERS) == 0) {
+			multiplyDual(a.values, b.values, dest.values);
+		} else if ((mask & ~COMPLEX_BINARY_NUMBERS) == 0) {
+			multiplyComplexBinary(a.values, b.values, dest.values);
+		} else if ((mask & ~DUAL_COMPLEX_NUMBERS) == 0) {
+			multiplyDualComplex(a.values, b.values, dest.values);
+		} else {
+			multiply(a.values, b.values, dest.values);
+		}
+		dest.updateMask();
+	}
+	
+	private static void multiplyComplex(double[] x, double[] y, double[] r) {
+		double a0 = x[0], a2 = x[2];
+		double b0 = y[0], b2 = y[2];
+		r[0] = a0 * b0 - a2 * b2;
+		r[1] = 0;
+		r[2] = a0 * b2 + a2 * b0;
+		r[3] = r[4] = r[5] = r[6] = r[7] = 0;
+	}
+	
+	private static void multiplyBinary(double[] x, double[] y, double[] r) {
+		double a0 = x[0], a1 = x[1];
+		double b0 = y[0], b1 = y[1];
+		r[0] = a0 * b0 + a1 * b1;
+		r[1] = a0 * b1 + a1 * b0;
+		r[2] = r[3] = r[4] = r[5] = r[6] = r[7] = 0;
+	}
+	
+	private static void multiplyDual(double[] x, double[] y, double[] r) {
+		double a0 = x[0], a4 = x[4];
+		double b0 = y[0], b4 = y[4];
+		r[0] = a0 * b0;
+		r[1] = r[2] = r[3] = 0;
+		r[4] = a0 * b4 + a4 * b0;
+		r[5] = r[6] = r[7] = 0;
+	}
+	
+	private static void multiplyComplexBinary(double[] x, double[] y, double[] r) {
+		double a0 = x[0], a1 = x[1], a2 = x[2], a3 = x[3];
+		double b0 = y[0], b1 = y[1], b2 = y[2], b3 = y[3];
+		r[0] = a0 * b0 + a1 * b1 - a2 * b2 - a3 * b3;
+		r[1] = a0 * b1 + a1 * b0 - a2 * b3 - a3 * b2;
+		r[2] = a0 * b2 + a1 * b3 + a2 * b0 + a3 * b1;
+		r[3] = a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0;
+		r[4] = r[5] = r[6] = r[7] = 0;
+	}
+	
+	private static void multiplyDualComplex(double[] x, double[] y, double[] r) {
+		double a0 = x[0], a2 = x[2], a4 = x[4], a6 = x[6];
+		double b0 = y[0], b2 = y[2], b4 = y[4], b6 = y[6];
+		r[0] = a0 * b0 - a2 * b2;
+		r[1] = 0;
+		r[2] = a0 * b2 + a2 * b0;
+		r[3] = 0;
+		r[4] = a0 * b4 - a2 * b6 + a4 * b0 - a6 * b2;
+		r[5] = 0;
+		r[6] = a0 * b6 + a2 * b4 + a4 * b2 + a6 * b0;
+		r[7] = 0;
+	}
+	
+	private static void multiply(double[] x, double[] y, double[] r) {
+		double a0 = x[0], a1 = x[1], a2 = x[2], a3 = x[3], a4 = x[4], a5 = x[5], a6 = x[6], a7 = x[7];
+		double b0 = y[0], b1 = y[1], b2 = y[2], b3 = y[3], b4 = y[4], b5 = y[5], b6 = y[6], b7 = y[7];
+		r[0] = a0 * b0 + a1 * b1 - a2 * b2 - a3 * b3;
+		r[1] = a0 * b1 + a1 * b0 - a2 * b3 - a3 * b2;
+		r[2] = a0 * b2 + a1 * b3 + a2 * b0 + a3 * b1;
+		r[3] = a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0;
+		r[4] = a0 * b4 + a1 * b5 - a2 * b6 - a3 * b7 + a4 * b0 + a5 * b1 - a6 * b2 - a7 * b3;
+		r[5] = a0 * b5 + a1 * b4 - a2 * b7 - a3 * b6 + a4 * b1 + a5 * b0 - a6 * b3 - a7 * b2;
+		r[6] = a0 * b6 + a1 * b7 + a2 * b4 + a3 * b5 + a4 * b2 + a5 * b3 + a6 * b0 + a7 * b1;
+		r[7] = a0 * b7 + a1 * b6 + a2 * b5 + a3 * b4 + a4 * b3 + a5 * b2 + a6 * b1 + a7 * b0;
+	}
+	
 	public Ultra times(double factor) {
 		Ultra result = new Ultra();
 		for (int i = 0; i < 8; ++i) {
-			result.addComponent(new Component(i, getComponent(i).getValue().times(factor)));
+			result.values[i] = values[i] * factor;
 		}
+		result.updateMask();
 		return result;
 	}
 	
 	public Ultra by(double devisor) {
 		Ultra result = new Ultra();
 		for (int i = 0; i < 8; ++i) {
-			result.addComponent(new Component(i, getComponent(i).getValue().by(devisor)));
+			result.values[i] = values[i] / devisor;
 		}
+		result.updateMask();
 		return result;
 	}
 	
+	/**
+	 * the conjugate, so that this.times(conjugate()) is real (== det()).<p>
+	 * it is built from the conjugates of the nested subalgebras, but just of those that are populated:<br>
+	 * x == u + v -> x * (u - v) == u^2 with u out of the complex-binary numbers,<br>
+	 * u == p + q -> u * (p - q) == p^2 - q^2 with p, q complex,<br>
+	 * z == a + b -> z * (a - b) == a^2 + b^2.<br>
+	 * so it takes at most three multiplications, instead of the 2^(n-1)-1 factors of conjugateByFactors().
+	 * @return the conjugate
+	 */
 	public Ultra conjugate() {
+		UltraAccumulator result = new UltraAccumulator(ONE);
+		conjugate(result);
+		return result.toUltra();
+	}
+	
+	/**
+	 * multiplies the given number with the conjugate of this one.
+	 * @param result the number to multiply with the conjugate
+	 * @return the determinant, so this times the conjugate
+	 * @see #conjugate()
+	 */
+	private double conjugate(UltraAccumulator result) {
+		int levels = CONJUGATE_LEVELS[populatedMask() >> 1];
+		double[] w = values;
+		if ((levels & DUAL_LEVEL) != 0) {
+			Ultra factor = new Ultra(w[0], w[1], w[2], w[3], -w[4], -w[5], -w[6], -w[7]);
+			result.multiplyBy(factor);
+			w = times(factor).values;
+		}
+		if ((levels & BINARY_LEVEL) != 0) {
+			Ultra factor = new Ultra(w[0], -w[1], w[2], -w[3], 0, 0, 0, 0);
+			result.multiplyBy(factor);
+			w = new Ultra(w[0], w[1], w[2], w[3], 0, 0, 0, 0).times(factor).values;
+		}
+		if ((levels & COMPLEX_LEVEL) != 0) {
+			result.multiplyBy(new Ultra(w[0], 0, -w[2], 0, 0, 0, 0, 0));
+			return w[0] * w[0] + w[2] * w[2];
+		}
+		return w[0];
+	}
+	
+	/**
+	 * the conjugate as the product of all 2^(n-1)-1 other sign combinations of the n populated components.
+	 * much slower than conjugate() and of a much higher degree, but it's the original definition,
+	 * so it's kept to verify conjugate().
+	 * @return the conjugate as product of sign combinations
+	 */
+	public Ultra conjugateByFactors() {
 		ArrayList<Integer> nonZeroDimensions = new ArrayList<Integer>();
 		for (int i = 1; i < 8; ++i) {
-			if (!Complex.ZERO.equals(getComponent(i).getValue())) { // fixes conjugate() so it works with the minimal amount of dimensions
+			if (!Tests.compareValue(0, values[i])) { // fixes conjugate() so it works with the minimal amount of dimensions
 				nonZeroDimensions.add(i);
 			}
 		}
@@ -200,14 +433,16 @@ public class Ultra {
 		int factors = (int)(Math.pow(2, n - 1) - 1);
 		ArrayList<Ultra> factorList = new ArrayList<Ultra>(); 
 		for (int i = 1; i <= factors; ++i) {
-			Ultra factor = new Ultra(getComponent(0).getValue().re());
+			Ultra factor = new Ultra(values[0]);
 			int number = i;
 			for (int j = n - 1; j >= 1; --j) {
 				int sign = (int)Math.pow(-1, number % 2);
 				//System.out.print(number % 2);
-				factor.setComponent(new Component(nonZeroDimensions.get(j - 1), getComponent(nonZeroDimensions.get(j - 1)).getValue().times(sign)));
+				int dimension = nonZeroDimensions.get(j - 1);
+				factor.values[dimension] = values[dimension] * sign;
 				number /= 2;
 			}
+			factor.updateMask();
 			//System.out.println(" -> " + factor);
 			factorList.add(factor);
 		}
@@ -216,11 +451,11 @@ public class Ultra {
 	
 	private Ultra multiplyWisely(ArrayList<Ultra> factorList) {
 		factorList = multiplyFragments(factorList);
-		Ultra product = new Ultra(ONE);
+		UltraAccumulator product = new UltraAccumulator(ONE);
 		for (Ultra u: factorList) {
-			product = product.times(u);
+			product.multiplyBy(u);
 		}
-		return product;
+		return product.toUltra();
 	}
 	
 	private ArrayList<Ultra> multiplyFragments(ArrayList<Ultra> factorList) {
@@ -240,30 +475,64 @@ public class Ultra {
 		}
 	}
 
+	/**
+	 * the determinant belonging to conjugateByFactors().
+	 * @return the determinant as product of sign combinations
+	 */
+	public double detByFactors() {
+		return times(conjugateByFactors()).getDouble(0);
+	}
+
+	/**
+	 * the determinant, so this.times(conjugate()).
+	 * it's zero if and only if this is not invertible.
+	 * @return the determinant
+	 */
 	public double det() {
-		return times(conjugate()).getDouble(0);
+		return conjugate(new UltraAccumulator(ONE));
 	}
 
 	public Ultra inverse() {
-		Ultra con = conjugate();
-		return con.by(times(con).getDouble(0));
+		UltraAccumulator con = new UltraAccumulator(ONE);
+		double det = conjugate(con);
+		return con.by(det);
 	}
 	
 	public Ultra by(Ultra devisor) {
 		return times(devisor.inverse());
 	}
 	
+	/**
+	 * exponential function, computed in one pass.<p>
+	 * since ultra-complex numbers commute, exp(x + y) == exp(x) * exp(y), so with<br>
+	 * x == a + b + c + d + (f + g + h + k) == u + v:<br>
+	 * exp(b) == cosh(b) + sinh(b),<br>
+	 * exp(c) * exp(d) == cos(c)cos(d) - sin(c)sin(d) + sin(c)cos(d) + cos(c)sin(d), since  *  == -,<br>
+	 * exp(v) == 1 + v, since ^2 == 0,<br>
+	 * exp(x) == exp(u) +  * exp(u) * v.
+	 * @return e to the power of this number
+	 */
 	public Ultra exp() {
-		// exp(x + y) = exp(x) * exp(y)
-		ArrayList<Ultra> factorList = new ArrayList<Ultra>(); 
-		for (int i = 0; i < 8; ++i) {
-			Ultra factor = new Ultra();
-			Hypercomplex expValue = getComponent(i).getValue().exp();
-			factor.addComponent(new Component(0, expValue.re()));
-			factor.addComponent(new Component(i, expValue.im()));
-			factorList.add(factor);
+		double ch = Math.cosh(values[1]);
+		double sh = Math.sinh(values[1]);
+		double cosC = Math.cos(values[2]);
+		double sinC = Math.sin(values[2]);
+		double cosD = Math.cos(values[3]);
+		double sinD = Math.sin(values[3]);
+		double z0 = cosC * cosD;
+		double z1 = -sinC * sinD;
+		double z2 = sinC * cosD;
+		double z3 = cosC * sinD;
+		double e = Math.exp(values[0]);
+		Ultra result = new Ultra(e * (ch * z0 + sh * z1), e * (ch * z1 + sh * z0),
+				e * (ch * z2 + sh * z3), e * (ch * z3 + sh * z2), 0, 0, 0, 0);
+		if ((mask & DUAL_MASK) != 0) {
+			Ultra v = new Ultra(values[4], values[5], values[6], values[7], 0, 0, 0, 0);
+			multiplyInto(result, v, v);
+			System.arraycopy(v.values, 0, result.values, 4, 4);
+			result.updateMask();
 		}
-		return multiplyWisely(factorList);
+		return result;
 	}
 	
 	/**
@@ -283,7 +552,7 @@ public class Ultra {
 	 * @return the corresponding eulerian component's double value
 	 */
 	public double eulerLengthComponent(int index) { // TODO: find out if its like multiple eulerAngle() values from single Hypercomplex
-		return Math.exp(ln().getComponent(index).getDouble());
+		return Math.exp(ln().getDouble(index));
 	}
 	
 	/**
@@ -295,11 +564,19 @@ public class Ultra {
 	 * @return the corresponding eulerian component's double value
 	 */
 	public double eulerAngleComponent(int index) { // TODO: find out if its like multiple eulerAngle() values from single Hypercomplex
-		return ln().getComponent(index).getDouble();
+		return ln().getDouble(index);
 	}
 	
 	public double getDouble(int index) {
-		return getComponent(index).getDouble();
+		return values[index];
+	}
+	
+	/**
+	 * the components that are not zero as a bitmask, the bit (1 << i) standing for component i.
+	 * @return the mask of the populated components
+	 */
+	public int populatedMask() {
+		return mask;
 	}
 	
 	/**
@@ -309,79 +586,91 @@ public class Ultra {
 	public double length() {
 		double sum = 0;
 		for (int i = 0; i < 8; ++i) {
-			sum += Math.pow(getComponent(i).getDouble(), 2);
+			sum += values[i] * values[i];
 		}
 		return Math.sqrt(sum);
 	}
 	
-	private Ultra ln(int reuse, int steps) {
-		/*
-		 * ln(x * y) = ln(x) + ln(y)
-		 * ln(x + y) = ln(x) + ln(1 + y / x)
-		 * ln(x) = 2 * m * ln(sqrt(2)) + ln(2^(-m) * x)
-		 * ln(x) = infinite sum from k = 0: 2 / (2 * k + 1) * ((x - 1)/(x + 1))^(2 * k + 1) // converges around 1
-		 * 
-		 * find ultra m with 2^(-m) * x near ONE:
-		 * a^x == exp(x * ln(a))
-		 * 2^-m * x == exp(-ln(2) * m) * x
-		 * exp(-ln(2) * m) * x == 1
-		 * exp(-ln(2) * m) == 1 / x
-		 * ln(1 / x) == -ln(2) * m
-		 * m == -ln(1 / x) / ln(2)
-		 */
-		Ultra m = new Ultra();
-		if (reuse > 0) {
-			m = inverse().ln(reuse - 1, steps).by(-Math.log(2));
-		} else {
-			m = inverse().ln2(REUSE_LN, steps).by(-Math.log(2));
-		}
-		/*
-		 */
-		Ultra sum = new Ultra(2 * Math.log(Math.sqrt(2))).times(m);
-		Ultra restParameter = new Ultra(this).times(m.times(-Math.log(2)).exp());
-		for (int k = 0; k < steps; ++k) {
-			Ultra factor = new Ultra(ONE);
-			Ultra originalFactor = new Ultra(restParameter).minus(ONE).by(new Ultra(restParameter).plus(ONE));
-			for (int i = 1; i <= 2 * k + 1; ++i) {
-				factor = factor.times(originalFactor);
-			}
-			sum = sum.plus(factor.times(2d / (2 * k + 1)));
+	/**
+	 * natural logarithm in closed form.<p>
+	 * with x == u + v (u, v complex-binary) it's ln(x) == ln(u) +  * v / u, since ^2 == 0.<br>
+	 * with u == p + q (p, q complex) it's u == (p + q) * (1 + ) / 2 + (p - q) * (1 - ) / 2,
+	 * where (1 + ) / 2 and (1 - ) / 2 are idempotent and their product is zero, so<br>
+	 * ln(u) == (ln(p + q) + ln(p - q)) / 2 +  * (ln(p + q) - ln(p - q)) / 2<br>
+	 * with the complex principal values. the sums and differences are taken from (p + q)(p - q)
+	 * and (p + q)(p - q)*, so small components don't get lost.
+	 * @return the natural logarithm (principal value)
+	 */
+	private Ultra lnClosedForm() {
+		double p0 = values[0], p1 = values[2]; // p == p0 + p1 * 
+		double q0 = values[1], q1 = values[3]; // q == q0 + q1 * 
+		double s0 = p0 + q0, s1 = p1 + q1; // p + q
+		double d0 = p0 - q0, d1 = p1 - q1; // p - q
+		double sArg = Math.atan2(s1, s0);
+		double dArg = Math.atan2(d1, d0);
+		// (p + q)(p - q) == p^2 - q^2
+		double argSum = sameBranch(Math.atan2(s0 * d1 + s1 * d0, s0 * d0 - s1 * d1), sArg + dArg);
+		// (p + q)(p - q)* == |p|^2 - |q|^2 + 2 * Im(q * p*) * 
+		double argDifference = sameBranch(Math.atan2(2 * (q1 * p0 - q0 * p1), p0 * p0 + p1 * p1 - q0 * q0 - q1 * q1), sArg - dArg);
+		// |p + q|^2 - |p - q|^2 == 4 * Re(p * q*)
+		double lengthRatio = Math.log1p(4 * (p0 * q0 + p1 * q1) / (d0 * d0 + d1 * d1));
+		Ultra result = new Ultra((Math.log(Math.hypot(s0, s1)) + Math.log(Math.hypot(d0, d1))) / 2,
+				lengthRatio / 4, argSum / 2, argDifference / 2, 0, 0, 0, 0);
+		if ((mask & DUAL_MASK) != 0) {
+			Ultra u = new Ultra(values[0], values[1], values[2], values[3], 0, 0, 0, 0);
+			Ultra v = new Ultra(values[4], values[5], values[6], values[7], 0, 0, 0, 0);
+			System.arraycopy(v.times(u.inverse()).values, 0, result.values, 4, 4);
+			result.updateMask();
 		}
-		return sum;
+		return result;
 	}
 	
-	/*
-	 * just good with values around real 1.
+	/**
+	 * moves an angle by multiples of 2 * PI, so it's as close as possible to another one.
+	 * @param angle the (precise) angle
+	 * @param branch the angle giving the branch
+	 * @return the angle on the branch
 	 */
-	private Ultra ln2(int reuse, int steps) {
-		Ultra m = new Ultra();
-		if (reuse > 0) {
-			m = inverse().ln2(reuse - 1, steps).by(-Math.log(2));
-		} else {
-			m = new Ultra(Math.log(getComponent(0).getDouble()) / Math.log(2));
-		}
-		Ultra sum = new Ultra(2 * Math.log(Math.sqrt(2))).times(m);
-		Ultra restParameter = new Ultra(this).times(m.times(-Math.log(2)).exp());
-		for (int k = 0; k < steps; ++k) {
-			Ultra factor = new Ultra(ONE);
-			Ultra originalFactor = new Ultra(restParameter).minus(ONE).by(new Ultra(restParameter).plus(ONE));
-			for (int i = 1; i <= 2 * k + 1; ++i) {
-				factor = factor.times(originalFactor);
-			}
-			sum = sum.plus(factor.times(2 / (2 * k + 1)));
-		}
-		return sum;
+	static double sameBranch(double angle, double branch) {
+		return angle + 2 * Math.PI * Math.rint((branch - angle) / (2 * Math.PI));
 	}
 
 	/**
-	 * natural logarithm. approximative.<p>
+	 * natural logarithm.<p>
 	 * the result + (m * 2 * PI *  + n * 2 * PI * ), m,n out Z
 	 * is a result again. similar to the usual complex principal value,
 	 * here there are two of those additives, u can add or subtract as many times as u want (2 * PI *  AND 2 * PI * ).
 	 * @return the natural logarithm (principal value)
 	 */
 	public Ultra ln() {
-		return ln(REUSE_LN, 1);
+		return ln(LnOptions.DEFAULT);
+	}
+
+	/**
+	 * natural logarithm with the given precision.<p>
+	 * it's computed in closed form and then refined with newton's method on exp(y) == x:<br>
+	 * y = y - (exp(y) - x) / exp(y)<br>
+	 * until the residual is small enough, the iterations are used up or there's no more progress.
+	 * @param options the tolerance and the maximal number of iterations
+	 * @return the natural logarithm (principal value)
+	 */
+	public Ultra ln(LnOptions options) {
+		Ultra result = lnClosedForm();
+		Ultra exp = result.exp();
+		double residual = exp.minus(this).length();
+		double goal = options.getTolerance() * length();
+		for (int i = 0; i < options.getMaxIterations() && residual > goal; ++i) {
+			Ultra next = result.minus(exp.minus(this).by(exp));
+			Ultra nextExp = next.exp();
+			double nextResidual = nextExp.minus(this).length();
+			if (!(nextResidual < residual)) { // no more progress (or NaN)
+				break;
+			}
+			result = next;
+			exp = nextExp;
+			residual = nextResidual;
+		}
+		return result;
 	}
 
 	/**
@@ -394,15 +683,107 @@ public class Ultra {
 
 
 	/**
-	 * power function.
+	 * power function.<p>
+	 * real integer exponents are done by {@link #pow(int)} and real half-integer ones
+	 * with {@link #sqrt()}, so they don't need ln() (and work where it isn't defined).
 	 * @param the exponent
 	 * @return this number to the power of the given exponent.
 	 */
 	public Ultra pow(Ultra power) {
+		if ((power.mask & ~1) == 0) {
+			double real = power.values[0];
+			if (real == Math.rint(real) && Math.abs(real) <= Integer.MAX_VALUE) {
+				return pow((int) real);
+			}
+			double twice = 2 * real;
+			if (twice == Math.rint(twice) && Math.abs(twice) <= Integer.MAX_VALUE) {
+				// a^(n + 1/2) == a^n * sqrt(a)
+				return pow((int) Math.floor(real)).times(sqrt());
+			}
+		}
 		// a^x == exp(x * ln(a))
 		return ln().times(power).exp();
 	}
 	
+	/**
+	 * power function by repeated squaring.<p>
+	 * a negative exponent takes the inverse once, a^0 == 1.
+	 * @param power the exponent
+	 * @return this number to the power of the given exponent.
+	 */
+	public Ultra pow(int power) {
+		long exponent = power;
+		Ultra base = this;
+		if (exponent < 0) {
+			base = inverse();
+			exponent = -exponent;
+		}
+		UltraAccumulator result = new UltraAccumulator(ONE);
+		UltraAccumulator square = new UltraAccumulator(base);
+		while (exponent > 0) {
+			if ((exponent & 1) != 0) {
+				result.multiplyBy(square);
+			}
+			exponent >>= 1;
+			if (exponent > 0) {
+				square.multiplyBy(square);
+			}
+		}
+		return result.toUltra();
+	}
+	
+	/**
+	 * square root (principal value).<p>
+	 * with x == u + v and u == p + q (p, q complex), like in {@link #lnClosedForm()}:<br>
+	 * sqrt(u) == (sqrt(p + q) + sqrt(p - q)) / 2 +  * (sqrt(p + q) - sqrt(p - q)) / 2,<br>
+	 * sqrt(x) == sqrt(u) +  * v / (2 * sqrt(u)).<br>
+	 * then heron's method y = (y + x / y) / 2 polishes it, as long as it gets better.
+	 * @return the square root
+	 */
+	public Ultra sqrt() {
+		Ultra result = sqrtClosedForm();
+		double residual = result.times(result).minus(this).length();
+		for (int i = 0; i < SQRT_STEPS && residual > 0; ++i) {
+			Ultra next = result.plus(by(result)).times(0.5);
+			double nextResidual = next.times(next).minus(this).length();
+			if (!(nextResidual < residual)) { // no more progress (or NaN)
+				break;
+			}
+			result = next;
+			residual = nextResidual;
+		}
+		return result;
+	}
+	
+	private Ultra sqrtClosedForm() {
+		double[] s = complexSqrt(values[0] + values[1], values[2] + values[3]);
+		double[] d = complexSqrt(values[0] - values[1], values[2] - values[3]);
+		Ultra result = new Ultra((s[0] + d[0]) / 2, (s[0] - d[0]) / 2, (s[1] + d[1]) / 2, (s[1] - d[1]) / 2, 0, 0, 0, 0);
+		if ((mask & DUAL_MASK) != 0) {
+			Ultra v = new Ultra(values[4], values[5], values[6], values[7], 0, 0, 0, 0);
+			System.arraycopy(v.by(result.times(2)).values, 0, result.values, 4, 4);
+			result.updateMask();
+		}
+		return result;
+	}
+	
+	/**
+	 * the principal square root of a complex number, without cancellation.
+	 * @param re the real part
+	 * @param im the imaginary part
+	 * @return the real and the imaginary part of the root
+	 */
+	private static double[] complexSqrt(double re, double im) {
+		double t = Math.sqrt((Math.hypot(re, im) + Math.abs(re)) / 2);
+		if (t == 0) {
+			return new double[] {0, 0};
+		}
+		if (re >= 0) {
+			return new double[] {t, im / (2 * t)};
+		}
+		return new double[] {Math.abs(im) / (2 * t), Math.copySign(t, im)};
+	}
+	
 	////////////////// trigonometry /////////////////////////////////
 	// NORMAL - for all: periodic with 2 * PI AND 2 * PI * 
 	/**
@@ -410,18 +791,20 @@ public class Ultra {
 	 * @return sine
 	 */
 	public Ultra sin() {
-		// sin(x) = (exp(x * i) - exp(-x * i)) / (2 * i)
+		// sin(x) = (exp(x * i) - exp(-x * i)) / (2 * i), exp(-x * i) == 1 / exp(x * i)
 		Ultra i = new Ultra(Complex.I);
-		return times(i).exp().minus(times(i).times(-1).exp()).by(i.times(2));
+		Ultra exp = times(i).exp();
+		return exp.minus(exp.inverse()).times(i.times(-0.5));
 	}
 	/**
 	 * cosine<p>periodic with <b>2 * PI <u>and</u> 2 * PI * </b>
 	 * @return cosine
 	 */
 	public Ultra cos() {
-		// sin(x) = (exp(x * i) + exp(-x * i)) / 2
+		// cos(x) = (exp(x * i) + exp(-x * i)) / 2, exp(-x * i) == 1 / exp(x * i)
 		Ultra i = new Ultra(Complex.I);
-		return times(i).exp().plus(times(i).times(-1).exp()).by(2);
+		Ultra exp = times(i).exp();
+		return exp.plus(exp.inverse()).by(2);
 	}
 	/**
 	 * secant<p>periodic with <b>2 * PI <u>and</u> 2 * PI * </b>
@@ -442,14 +825,22 @@ public class Ultra {
 	 * @return tangent
 	 */
 	public Ultra tan() {
-		return sin().by(cos());
+		// tan(x) == sin(x) / cos(x) == (exp(x * i) - exp(-x * i)) / ((exp(x * i) + exp(-x * i)) * i)
+		Ultra i = new Ultra(Complex.I);
+		Ultra exp = times(i).exp();
+		Ultra inverse = exp.inverse();
+		return exp.minus(inverse).times(i.times(-1)).by(exp.plus(inverse));
 	}
 	/**
 	 * cotangent<p>periodic with <b>2 * PI <u>and</u> 2 * PI * </b>
 	 * @return cotangent
 	 */
 	public Ultra cot() {
-		return cos().by(sin());
+		// cot(x) == cos(x) / sin(x) == (exp(x * i) + exp(-x * i)) * i / (exp(x * i) - exp(-x * i))
+		Ultra i = new Ultra(Complex.I);
+		Ultra exp = times(i).exp();
+		Ultra inverse = exp.inverse();
+		return exp.plus(inverse).times(i).by(exp.minus(inverse));
 	}
 	// HYPERBOLIC
 	/**
@@ -457,16 +848,18 @@ public class Ultra {
 	 * @return hyperbolic sine
 	 */
 	public Ultra sinh() {
-		// sinh(x) = (exp(x) - exp(-x)) / 2
-		return exp().minus(times(-1).exp()).times(0.5);
+		// sinh(x) = (exp(x) - exp(-x)) / 2, exp(-x) == 1 / exp(x)
+		Ultra exp = exp();
+		return exp.minus(exp.inverse()).times(0.5);
 	}
 	/**
 	 * hyperbolic cosine
 	 * @return hyperbolic cosine
 	 */
 	public Ultra cosh() {
-		// cosh(x) = (exp(x) + exp(-x)) / 2
-		return exp().plus(times(-1).exp()).times(0.5);
+		// cosh(x) = (exp(x) + exp(-x)) / 2, exp(-x) == 1 / exp(x)
+		Ultra exp = exp();
+		return exp.plus(exp.inverse()).times(0.5);
 	}
 	/**
 	 * hyperbolic secant
@@ -487,14 +880,20 @@ public class Ultra {
 	 * @return hyperbolic tangent
 	 */
 	public Ultra tanh() {
-		return sinh().by(cosh());
+		// tanh(x) == (exp(x) - exp(-x)) / (exp(x) + exp(-x))
+		Ultra exp = exp();
+		Ultra inverse = exp.inverse();
+		return exp.minus(inverse).by(exp.plus(inverse));
 	}
 	/**
 	 * hyperbolic cotangent
 	 * @return hyperbolic cotangent
 	 */
 	public Ultra coth() {
-		return cosh().by(sinh());
+		// coth(x) == (exp(x) + exp(-x)) / (exp(x) - exp(-x))
+		Ultra exp = exp();
+		Ultra inverse = exp.inverse();
+		return exp.plus(inverse).by(exp.minus(inverse));
 	}
 	// INVERSE NORMAL - for all: principal value; add m * 2 * PI + n * 2 * PI * , with m,n out Z, and it will be a result again.
 	/**
@@ -608,9 +1007,10 @@ public class Ultra {
 	public ArrayList<Ultra> nonZeroComponents() {
 		ArrayList<Ultra> result = new ArrayList<Ultra>();
 		for (int i = 0; i < 8; ++i) {
-			if (getComponent(i).getDouble() != 0) {
+			if (values[i] != 0) {
 				Ultra component = new Ultra();
-				component.addComponent(new Component(i, getComponent(i).getDouble()));
+				component.values[i] = values[i];
+				component.updateMask();
 				result.add(component);
 			}
 		}
@@ -619,7 +1019,7 @@ public class Ultra {
 	
 	public boolean containsNaN() {
 		for (int i = 0; i < 8; ++i) {
-			if (((Double)(getComponent(i).getDouble())).isNaN()) {
+			if (Double.isNaN(values[i])) {
 				return true;
 			}
 		}
@@ -652,17 +1052,57 @@ public class Ultra {
 	
 	@Override
 	public boolean equals(Object other) {
-		boolean same = true;
-		if (other instanceof Ultra) {
-			for (int i = 0; i < 8; ++i) {
-				if (!getComponent(i).equals(((Ultra)other).getComponent(i))) {
-					same = false;
-				}
+		return equals(other, 1);
+	}
+	
+	/**
+	 * compares all components with the given inaccuracy.
+	 * @param other the ultra-complex number to compare with
+	 * @param inaccuracy the factor of the usual tolerance
+	 * @return true if all components are (to the given extend) equal, otherwise false
+	 */
+	public boolean equals(Object other, double inaccuracy) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof Ultra)) {
+			return false;
+		}
+		for (int i = 0; i < 8; ++i) {
+			if (!Tests.compareValue(values[i], ((Ultra)other).values[i], inaccuracy)) {
+				return false;
 			}
-		} else {
-			same = false;
 		}
-		return same;
+		return true;
+	}
+	
+	/**
+	 * compares all components exactly (0 == -0).
+	 * @param other the ultra-complex number to compare with
+	 * @return true if all components are exactly equal, otherwise false
+	 */
+	public boolean equalsExact(Ultra other) {
+		if (other == null || mask != other.mask) {
+			return false;
+		}
+		for (int i = 0; i < 8; ++i) {
+			if (values[i] != other.values[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * a hash code fitting equals(), from the rounded components (see Tests.hashValue()).
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (int i = 0; i < 8; ++i) {
+			hash = 31 * hash + Tests.hashValue(values[i]);
+		}
+		return hash;
 	}
 	
 }
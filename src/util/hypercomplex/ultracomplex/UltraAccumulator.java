@@ -0,0 +1,131 @@
+package util.hypercomplex.ultracomplex;
+
+/**
+ * a mutable ultra-complex number for long chains of operations.<p>
+ * every operation of {@link Ultra} returns a new number. this one changes itself instead,
+ * so series, horner schemes and iterations can run without creating objects per step.
+ * since it is an {@link Ultra} itself, it can be passed to anything expecting an ultra-complex number
+ * and all the usual (non-changing) operations are still there.<p>
+ * examples:<br>
+ * sum.addTo(x); <- sum = sum + x<br>
+ * sum.subtractFrom(x); <- sum = sum - x<br>
+ * sum.scale(2); <- sum = sum * 2<br>
+ * sum.multiplyBy(x); <- sum = sum * x<br>
+ * sum.fma(x, y); <- sum = sum + x * y<br>
+ * sum.setFrom(x); <- sum = x<br>
+ * all of these return the accumulator itself, so they can be chained.
+ * @author hoechp
+ *
+ */
+public class UltraAccumulator extends Ultra {
+
+	/**
+	 * the space for intermediate products, so fma() doesn't create any objects.
+	 */
+	private final Ultra product = new Ultra();
+
+	public UltraAccumulator() {
+		super();
+	}
+
+	public UltraAccumulator(double a) {
+		super(a);
+	}
+
+	public UltraAccumulator(Ultra other) {
+		super(other);
+	}
+
+	/**
+	 * this = this + addend
+	 * @param addend the number to add
+	 * @return this accumulator
+	 */
+	public UltraAccumulator addTo(Ultra addend) {
+		for (int i = 0; i < 8; ++i) {
+			values[i] += addend.values[i];
+		}
+		updateMask();
+		return this;
+	}
+
+	/**
+	 * this = this - subtrahend
+	 * @param subtrahend the number to subtract
+	 * @return this accumulator
+	 */
+	public UltraAccumulator subtractFrom(Ultra subtrahend) {
+		for (int i = 0; i < 8; ++i) {
+			values[i] -= subtrahend.values[i];
+		}
+		updateMask();
+		return this;
+	}
+
+	/**
+	 * this = this * factor
+	 * @param factor the real factor
+	 * @return this accumulator
+	 */
+	public UltraAccumulator scale(double factor) {
+		for (int i = 0; i < 8; ++i) {
+			values[i] *= factor;
+		}
+		updateMask();
+		return this;
+	}
+
+	/**
+	 * this = this * factor
+	 * @param factor the ultra-complex factor (multiplied from the right)
+	 * @return this accumulator
+	 */
+	public UltraAccumulator multiplyBy(Ultra factor) {
+		multiplyInto(this, factor, this);
+		return this;
+	}
+
+	/**
+	 * this = this + a * b
+	 * @param a the first factor
+	 * @param b the second factor
+	 * @return this accumulator
+	 */
+	public UltraAccumulator fma(Ultra a, Ultra b) {
+		multiplyInto(a, b, product);
+		return addTo(product);
+	}
+
+	/**
+	 * this = other
+	 * @param other the number to copy the values from
+	 * @return this accumulator
+	 */
+	public UltraAccumulator setFrom(Ultra other) {
+		set(other);
+		return this;
+	}
+
+	/**
+	 * this = value
+	 * @param value the real value
+	 * @return this accumulator
+	 */
+	public UltraAccumulator setFrom(double value) {
+		values[0] = value;
+		for (int i = 1; i < 8; ++i) {
+			values[i] = 0;
+		}
+		updateMask();
+		return this;
+	}
+
+	/**
+	 * returns a copy of the current value, that won't change with this accumulator.
+	 * @return the current value
+	 */
+	public Ultra toUltra() {
+		return new Ultra(this);
+	}
+
+}
@@ -0,0 +1,410 @@
+package util.hypercomplex.ultracomplex;
+
+import java.util.Arrays;
+
+/**
+ * many ultra-complex numbers, stored as eight columns of doubles - one per component.<p>
+ * the operations run over all numbers at once in straight loops, without creating an object per number,
+ * so they are a lot faster than looping over {@link Ultra} objects and the jit can use simd instructions for them.
+ * all operations work element by element and return a new batch, like the ones of {@link Ultra}.<p>
+ * examples:<br>
+ * UltraBatch x = new UltraBatch(samples); <- from an Ultra[]<br>
+ * x.times(y).plus(z).exp(); <- x[k] * y[k] + z[k], exp'd, for all k<br>
+ * x.getColumn(2)[k]; <- the complex component (index 2) of the k-th number<br>
+ * x.get(k); <- the k-th number as an Ultra<br>
+ * @author hoechp
+ *
+ */
+public class UltraBatch {
+
+	private final double[][] columns;
+	private final int size;
+
+	public UltraBatch(int size) {
+		this.size = size;
+		columns = new double[8][size];
+	}
+
+	public UltraBatch(Ultra[] numbers) {
+		this(numbers.length);
+		for (int k = 0; k < size; ++k) {
+			set(k, numbers[k]);
+		}
+	}
+
+	public UltraBatch(UltraBatch other) {
+		this(other.size);
+		for (int i = 0; i < 8; ++i) {
+			System.arraycopy(other.columns[i], 0, columns[i], 0, size);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * the column of one component. changing it changes this batch.
+	 * @param component the index of the component (like in {@link Ultra#getDouble(int)})
+	 * @return the values of that component for all numbers
+	 */
+	public double[] getColumn(int component) {
+		return columns[component];
+	}
+
+	public Ultra get(int index) {
+		Ultra result = new Ultra();
+		for (int i = 0; i < 8; ++i) {
+			result.values[i] = columns[i][index];
+		}
+		result.updateMask();
+		return result;
+	}
+
+	public void set(int index, Ultra value) {
+		for (int i = 0; i < 8; ++i) {
+			columns[i][index] = value.values[i];
+		}
+	}
+
+	public Ultra[] toArray() {
+		Ultra[] result = new Ultra[size];
+		for (int k = 0; k < size; ++k) {
+			result[k] = get(k);
+		}
+		return result;
+	}
+
+	public UltraBatch plus(UltraBatch addend) {
+		checkSize(addend);
+		UltraBatch result = new UltraBatch(size);
+		for (int i = 0; i < 8; ++i) {
+			double[] x = columns[i], y = addend.columns[i], r = result.columns[i];
+			for (int k = 0; k < size; ++k) {
+				r[k] = x[k] + y[k];
+			}
+		}
+		return result;
+	}
+
+	public UltraBatch minus(UltraBatch subtrahend) {
+		checkSize(subtrahend);
+		UltraBatch result = new UltraBatch(size);
+		for (int i = 0; i < 8; ++i) {
+			double[] x = columns[i], y = subtrahend.columns[i], r = result.columns[i];
+			for (int k = 0; k < size; ++k) {
+				r[k] = x[k] - y[k];
+			}
+		}
+		return result;
+	}
+
+	public UltraBatch times(double factor) {
+		UltraBatch result = new UltraBatch(size);
+		for (int i = 0; i < 8; ++i) {
+			double[] x = columns[i], r = result.columns[i];
+			for (int k = 0; k < size; ++k) {
+				r[k] = x[k] * factor;
+			}
+		}
+		return result;
+	}
+
+	public UltraBatch times(UltraBatch factor) {
+		checkSize(factor);
+		UltraBatch result = new UltraBatch(size);
+		multiply(columns, factor.columns, result.columns, size);
+		return result;
+	}
+
+	/**
+	 * multiplies all numbers with the same factor.
+	 * @param factor the factor
+	 * @return the products
+	 */
+	public UltraBatch times(Ultra factor) {
+		return times(broadcast(factor, size));
+	}
+
+	public UltraBatch inverse() {
+		UltraBatch result = new UltraBatch(size);
+		inverse(columns, result.columns, size);
+		return result;
+	}
+
+	public UltraBatch by(UltraBatch devisor) {
+		return times(devisor.inverse());
+	}
+
+	/**
+	 * exponential function, in the same closed form as {@link Ultra#exp()}.
+	 * @return e to the power of these numbers
+	 */
+	public UltraBatch exp() {
+		UltraBatch result = new UltraBatch(size);
+		exp(columns, result.columns, size);
+		return result;
+	}
+
+	/**
+	 * natural logarithm, see {@link Ultra#ln()}.
+	 * @return the natural logarithms (principal values)
+	 */
+	public UltraBatch ln() {
+		return ln(LnOptions.DEFAULT);
+	}
+
+	/**
+	 * natural logarithm with the given precision, see {@link Ultra#ln(LnOptions)}.<p>
+	 * the newton steps run for the whole batch, but each number just takes them
+	 * until it's precise enough or doesn't get any better.
+	 * @param options the tolerance and the maximal number of iterations
+	 * @return the natural logarithms (principal values)
+	 */
+	public UltraBatch ln(LnOptions options) {
+		UltraBatch result = new UltraBatch(size);
+		lnClosedForm(columns, result.columns, size);
+		UltraBatch exp = result.exp();
+		double[] residual = new double[size];
+		double[] goal = new double[size];
+		for (int k = 0; k < size; ++k) {
+			residual[k] = distance(exp, this, k);
+			goal[k] = options.getTolerance() * distance(this, null, k);
+		}
+		for (int i = 0; i < options.getMaxIterations(); ++i) {
+			// y = y - (exp(y) - x) / exp(y)
+			UltraBatch next = result.minus(exp.minus(this).by(exp));
+			UltraBatch nextExp = next.exp();
+			boolean progress = false;
+			for (int k = 0; k < size; ++k) {
+				if (!(residual[k] > goal[k])) {
+					continue;
+				}
+				double nextResidual = distance(nextExp, this, k);
+				if (nextResidual < residual[k]) {
+					for (int j = 0; j < 8; ++j) {
+						result.columns[j][k] = next.columns[j][k];
+						exp.columns[j][k] = nextExp.columns[j][k];
+					}
+					residual[k] = nextResidual;
+					progress = true;
+				}
+			}
+			if (!progress) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	public UltraBatch pow(UltraBatch power) {
+		// a^x == exp(x * ln(a))
+		return ln().times(power).exp();
+	}
+
+	/**
+	 * raises all numbers to the same power.
+	 * @param power the power
+	 * @return the powers
+	 */
+	public UltraBatch pow(Ultra power) {
+		return ln().times(power).exp();
+	}
+
+	/**
+	 * sine, from one exp() like {@link Ultra#sin()}.
+	 * @return sine
+	 */
+	public UltraBatch sin() {
+		// sin(x) = (exp(x * i) - exp(-x * i)) / (2 * i) == (exp(-x * i) - exp(x * i)) * i / 2
+		UltraBatch exp = timesI().exp();
+		return exp.inverse().minus(exp).timesI().times(0.5);
+	}
+
+	/**
+	 * cosine, from one exp() like {@link Ultra#cos()}.
+	 * @return cosine
+	 */
+	public UltraBatch cos() {
+		// cos(x) = (exp(x * i) + exp(-x * i)) / 2
+		UltraBatch exp = timesI().exp();
+		return exp.plus(exp.inverse()).times(0.5);
+	}
+
+	/**
+	 * multiplies with the complex unit (index 2), which just moves and negates columns.
+	 * @return these numbers times the complex unit
+	 */
+	private UltraBatch timesI() {
+		UltraBatch result = new UltraBatch(size);
+		for (int i = 0; i < 8; ++i) {
+			// 1 -> i, E -> iE, i -> -1, iE -> -E (and the same with e)
+			double[] x = columns[i ^ 2], r = result.columns[i];
+			double sign = (i & 2) == 0 ? -1 : 1;
+			for (int k = 0; k < size; ++k) {
+				r[k] = sign * x[k];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * the element by element operations need batches of the same size.
+	 * @param other the other batch
+	 */
+	private void checkSize(UltraBatch other) {
+		if (other.size != size) {
+			throw new IllegalArgumentException("batches of size " + size + " and " + other.size);
+		}
+	}
+
+	private static UltraBatch broadcast(Ultra value, int size) {
+		UltraBatch result = new UltraBatch(size);
+		for (int i = 0; i < 8; ++i) {
+			Arrays.fill(result.columns[i], value.values[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * the cartesian distance between the k-th numbers of two batches.
+	 * @param a the first batch
+	 * @param b the second batch, or null for the length of the first
+	 * @param k the index of the numbers
+	 * @return the distance
+	 */
+	private static double distance(UltraBatch a, UltraBatch b, int k) {
+		double sum = 0;
+		for (int i = 0; i < 8; ++i) {
+			double d = b == null ? a.columns[i][k] : a.columns[i][k] - b.columns[i][k];
+			sum += d * d;
+		}
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * the product kernel of {@link Ultra}, over whole columns. r may be x or y.
+	 */
+	private static void multiply(double[][] x, double[][] y, double[][] r, int size) {
+		double[] x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4], x5 = x[5], x6 = x[6], x7 = x[7];
+		double[] y0 = y[0], y1 = y[1], y2 = y[2], y3 = y[3], y4 = y[4], y5 = y[5], y6 = y[6], y7 = y[7];
+		double[] r0 = r[0], r1 = r[1], r2 = r[2], r3 = r[3], r4 = r[4], r5 = r[5], r6 = r[6], r7 = r[7];
+		for (int k = 0; k < size; ++k) {
+			double a0 = x0[k], a1 = x1[k], a2 = x2[k], a3 = x3[k], a4 = x4[k], a5 = x5[k], a6 = x6[k], a7 = x7[k];
+			double b0 = y0[k], b1 = y1[k], b2 = y2[k], b3 = y3[k], b4 = y4[k], b5 = y5[k], b6 = y6[k], b7 = y7[k];
+			r0[k] = a0 * b0 + a1 * b1 - a2 * b2 - a3 * b3;
+			r1[k] = a0 * b1 + a1 * b0 - a2 * b3 - a3 * b2;
+			r2[k] = a0 * b2 + a1 * b3 + a2 * b0 + a3 * b1;
+			r3[k] = a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0;
+			r4[k] = a0 * b4 + a1 * b5 - a2 * b6 - a3 * b7 + a4 * b0 + a5 * b1 - a6 * b2 - a7 * b3;
+			r5[k] = a0 * b5 + a1 * b4 - a2 * b7 - a3 * b6 + a4 * b1 + a5 * b0 - a6 * b3 - a7 * b2;
+			r6[k] = a0 * b6 + a1 * b7 + a2 * b4 + a3 * b5 + a4 * b2 + a5 * b3 + a6 * b0 + a7 * b1;
+			r7[k] = a0 * b7 + a1 * b6 + a2 * b5 + a3 * b4 + a4 * b3 + a5 * b2 + a6 * b1 + a7 * b0;
+		}
+	}
+
+	/**
+	 * the inverse over whole columns. with x == u + ev and u == p + Eq (p, q complex):<br>
+	 * 1 / u == (p - Eq) / (p^2 - q^2),<br>
+	 * 1 / x == 1 / u - e * v / u^2.
+	 */
+	private static void inverse(double[][] x, double[][] r, int size) {
+		double[] x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4], x5 = x[5], x6 = x[6], x7 = x[7];
+		double[] r0 = r[0], r1 = r[1], r2 = r[2], r3 = r[3], r4 = r[4], r5 = r[5], r6 = r[6], r7 = r[7];
+		for (int k = 0; k < size; ++k) {
+			double p0 = x0[k], p1 = x2[k], q0 = x1[k], q1 = x3[k];
+			// n == p^2 - q^2, m == 1 / n
+			double n0 = p0 * p0 - p1 * p1 - q0 * q0 + q1 * q1;
+			double n1 = 2 * (p0 * p1 - q0 * q1);
+			double nn = n0 * n0 + n1 * n1;
+			double m0 = n0 / nn, m1 = -n1 / nn;
+			// w == 1 / u == (p - Eq) * m
+			double w0 = p0 * m0 - p1 * m1;
+			double w2 = p0 * m1 + p1 * m0;
+			double w1 = -(q0 * m0 - q1 * m1);
+			double w3 = -(q0 * m1 + q1 * m0);
+			// z == -w^2
+			double z0 = -(w0 * w0 + w1 * w1 - w2 * w2 - w3 * w3);
+			double z1 = -2 * (w0 * w1 - w2 * w3);
+			double z2 = -2 * (w0 * w2 + w1 * w3);
+			double z3 = -2 * (w0 * w3 + w1 * w2);
+			double v0 = x4[k], v1 = x5[k], v2 = x6[k], v3 = x7[k];
+			r0[k] = w0;
+			r1[k] = w1;
+			r2[k] = w2;
+			r3[k] = w3;
+			r4[k] = v0 * z0 + v1 * z1 - v2 * z2 - v3 * z3;
+			r5[k] = v0 * z1 + v1 * z0 - v2 * z3 - v3 * z2;
+			r6[k] = v0 * z2 + v1 * z3 + v2 * z0 + v3 * z1;
+			r7[k] = v0 * z3 + v1 * z2 + v2 * z1 + v3 * z0;
+		}
+	}
+
+	/**
+	 * the closed form of {@link Ultra#exp()} over whole columns.
+	 */
+	private static void exp(double[][] x, double[][] r, int size) {
+		double[] x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4], x5 = x[5], x6 = x[6], x7 = x[7];
+		double[] r0 = r[0], r1 = r[1], r2 = r[2], r3 = r[3], r4 = r[4], r5 = r[5], r6 = r[6], r7 = r[7];
+		for (int k = 0; k < size; ++k) {
+			double ch = Math.cosh(x1[k]);
+			double sh = Math.sinh(x1[k]);
+			double cosC = Math.cos(x2[k]);
+			double sinC = Math.sin(x2[k]);
+			double cosD = Math.cos(x3[k]);
+			double sinD = Math.sin(x3[k]);
+			double z0 = cosC * cosD;
+			double z1 = -sinC * sinD;
+			double z2 = sinC * cosD;
+			double z3 = cosC * sinD;
+			double e = Math.exp(x0[k]);
+			double u0 = e * (ch * z0 + sh * z1);
+			double u1 = e * (ch * z1 + sh * z0);
+			double u2 = e * (ch * z2 + sh * z3);
+			double u3 = e * (ch * z3 + sh * z2);
+			double v0 = x4[k], v1 = x5[k], v2 = x6[k], v3 = x7[k];
+			r0[k] = u0;
+			r1[k] = u1;
+			r2[k] = u2;
+			r3[k] = u3;
+			// exp(u) * v
+			r4[k] = u0 * v0 + u1 * v1 - u2 * v2 - u3 * v3;
+			r5[k] = u0 * v1 + u1 * v0 - u2 * v3 - u3 * v2;
+			r6[k] = u0 * v2 + u1 * v3 + u2 * v0 + u3 * v1;
+			r7[k] = u0 * v3 + u1 * v2 + u2 * v1 + u3 * v0;
+		}
+	}
+
+	/**
+	 * the closed form of {@link Ultra#ln()} over whole columns (without the newton steps).
+	 */
+	private static void lnClosedForm(double[][] x, double[][] r, int size) {
+		double[][] inverse = new double[8][size];
+		inverse(x, inverse, size);
+		double[] x0 = x[0], x1 = x[1], x2 = x[2], x3 = x[3], x4 = x[4], x5 = x[5], x6 = x[6], x7 = x[7];
+		double[] r0 = r[0], r1 = r[1], r2 = r[2], r3 = r[3], r4 = r[4], r5 = r[5], r6 = r[6], r7 = r[7];
+		for (int k = 0; k < size; ++k) {
+			double p0 = x0[k], p1 = x2[k];
+			double q0 = x1[k], q1 = x3[k];
+			double s0 = p0 + q0, s1 = p1 + q1;
+			double d0 = p0 - q0, d1 = p1 - q1;
+			double sArg = Math.atan2(s1, s0);
+			double dArg = Math.atan2(d1, d0);
+			double argSum = Ultra.sameBranch(Math.atan2(s0 * d1 + s1 * d0, s0 * d0 - s1 * d1), sArg + dArg);
+			double argDifference = Ultra.sameBranch(Math.atan2(2 * (q1 * p0 - q0 * p1), p0 * p0 + p1 * p1 - q0 * q0 - q1 * q1), sArg - dArg);
+			double lengthRatio = Math.log1p(4 * (p0 * q0 + p1 * q1) / (d0 * d0 + d1 * d1));
+			r0[k] = (Math.log(Math.hypot(s0, s1)) + Math.log(Math.hypot(d0, d1))) / 2;
+			r1[k] = lengthRatio / 4;
+			r2[k] = argSum / 2;
+			r3[k] = argDifference / 2;
+			// v / u
+			double v0 = x4[k], v1 = x5[k], v2 = x6[k], v3 = x7[k];
+			double w0 = inverse[0][k], w1 = inverse[1][k], w2 = inverse[2][k], w3 = inverse[3][k];
+			r4[k] = v0 * w0 + v1 * w1 - v2 * w2 - v3 * w3;
+			r5[k] = v0 * w1 + v1 * w0 - v2 * w3 - v3 * w2;
+			r6[k] = v0 * w2 + v1 * w3 + v2 * w0 + v3 * w1;
+			r7[k] = v0 * w3 + v1 * w2 + v2 * w1 + v3 * w0;
+		}
+	}
+
+}
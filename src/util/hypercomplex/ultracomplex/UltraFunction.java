@@ -0,0 +1,19 @@
+package util.hypercomplex.ultracomplex;
+
+/**
+ * a function of one ultra-complex number, for {@link UltraParallel#map(Ultra[], UltraFunction, Ultra[])}.<p>
+ * example:<br>
+ * UltraParallel.map(in, new UltraFunction() {<br>
+ * 	public Ultra apply(Ultra x) {<br>
+ * 		return x.sin().times(x);<br>
+ * 	}<br>
+ * }, out);<br>
+ * it's called from several threads at once, so it shouldn't change any shared state.
+ * @author hoechp
+ *
+ */
+public interface UltraFunction {
+
+	Ultra apply(Ultra x);
+
+}
@@ -0,0 +1,312 @@
+package util.hypercomplex.ultracomplex;
+
+import java.util.Arrays;
+
+/**
+ * a system of linear equations with ultra-complex coefficients.<p>
+ * ultra-complex numbers have zero divisors (like 1 + binary unit), which aren't zero but can't be divided by,
+ * so the system isn't eliminated on ultra-complex numbers directly. it's split into systems of complex numbers instead,
+ * where an entry is either zero or invertible:<br>
+ * - along the idempotents (1 + Ê) / 2 and (1 - Ê) / 2 into two systems of dual-complex numbers u + ê * v (Ê == 1 and Ê == -1),<br>
+ * - each of those into a complex system of twice the size, since (a + ê * b) * (p + ê * q) == a * p + ê * (a * q + b * p).<br>
+ * both complex systems are solved by gauss-jordan elimination with partial pivoting,
+ * kept in one double[] (real and imaginary parts interleaved), without creating objects per entry.
+ * the solution is put back together from the complex parts.<p>
+ * so every ultra-complex variable has four complex parts. the ones without pivot are free and set to zero,
+ * and if an equation without pivot has a right side that isn't zero, the (partial) solution doesn't solve it and isConsistent() is false.
+ * with zero divisors a variable can be determined in some of its parts but not in the others,
+ * so getRank() (the parts with pivot divided by four, rounded down) and getNullity() only bound the solutions:
+ * the nullity is zero if and only if there's at most one solution.<p>
+ * examples:<br>
+ * UltraLSE lse = new UltraLSE(2, a, b, s, c, d, t); <- a * x + b * y == s, c * x + d * y == t<br>
+ * lse.solve(); <- true if there's exactly one solution<br>
+ * lse.getSolution(); <- x, y (the free parts are zero)<br>
+ * lse.getNullity(); <- zero if the solution is unique<br>
+ * @author hoechp
+ *
+ */
+public class UltraLSE {
+
+	/**
+	 * the relative size below which a pivot of the complex systems counts as zero.
+	 */
+	public static final double TOLERANCE = 1e-10;
+
+	private final int numEquations;
+	private final int numVariables;
+	private final double[] data;
+	private final double[] solution;
+	private int rank = -1;
+	private boolean consistent = false;
+
+	/**
+	 * Constructor
+	 * @param numVariables the number of variables to find
+	 * @param data the augmented matrix, row by row (numVariables coefficients and the right side), eight doubles per entry - is copied
+	 */
+	public UltraLSE(int numVariables, double[] data) {
+		if (numVariables < 1 || data.length % (8 * (numVariables + 1)) != 0) {
+			throw new IllegalArgumentException(data.length + " doubles for equations with " + numVariables + " variables");
+		}
+		this.numVariables = numVariables;
+		numEquations = data.length / (8 * (numVariables + 1));
+		this.data = data.clone();
+		solution = new double[8 * numVariables];
+	}
+
+	/**
+	 * Constructor
+	 * @param numVariables the number of variables to find
+	 * @param data the augmented matrix, row by row (numVariables coefficients and the right side)
+	 */
+	public UltraLSE(int numVariables, Ultra... data) {
+		this(numVariables, values(data));
+	}
+
+	private static double[] values(Ultra[] data) {
+		double[] result = new double[8 * data.length];
+		for (int k = 0; k < data.length; ++k) {
+			System.arraycopy(data[k].values, 0, result, 8 * k, 8);
+		}
+		return result;
+	}
+
+	public int getNumEquations() {
+		return numEquations;
+	}
+
+	public int getNumVariables() {
+		return numVariables;
+	}
+
+	/**
+	 * eliminates (once) and tells whether there's exactly one solution.
+	 * @return true if there's exactly one solution
+	 */
+	public boolean solve() {
+		if (rank < 0) {
+			eliminate();
+		}
+		return isSolved();
+	}
+
+	/**
+	 * @return true if there's exactly one solution (after solve())
+	 */
+	public boolean isSolved() {
+		return rank == numVariables && consistent;
+	}
+
+	/**
+	 * @return true if the (partial) solution solves all equations (after solve())
+	 */
+	public boolean isConsistent() {
+		return consistent;
+	}
+
+	/**
+	 * @return the number of complex parts with pivot divided by four, rounded down (after solve())
+	 */
+	public int getRank() {
+		return rank;
+	}
+
+	/**
+	 * @return the number of variables minus the rank, zero if the solution is unique (after solve())
+	 */
+	public int getNullity() {
+		return numVariables - rank;
+	}
+
+	/**
+	 * the solution, with the free parts set to zero. solves the system first, if that hasn't been done.
+	 * @return the solution
+	 */
+	public Ultra[] getSolution() {
+		solve();
+		Ultra[] result = new Ultra[numVariables];
+		for (int k = 0; k < numVariables; ++k) {
+			result[k] = new Ultra();
+			System.arraycopy(solution, 8 * k, result[k].values, 0, 8);
+			result[k].updateMask();
+		}
+		return result;
+	}
+
+	/**
+	 * the solution as eight doubles per variable, with the free parts set to zero.
+	 * solves the system first, if that hasn't been done.
+	 * @return the solution
+	 */
+	public double[] getSolutionValues() {
+		solve();
+		return solution.clone();
+	}
+
+	private int offset(int row, int column) {
+		return 8 * (row * (numVariables + 1) + column);
+	}
+
+	private void load(Ultra u, int row, int column) {
+		System.arraycopy(data, offset(row, column), u.values, 0, 8);
+		u.updateMask();
+	}
+
+	private void eliminate() {
+		int rows = 2 * numEquations, columns = 2 * numVariables + 1;
+		double[][] systems = {split(1), split(-1)};
+		double scale = 0, biggest = 0;
+		for (double[] system : systems) {
+			for (int i = 0; i < rows; ++i) {
+				for (int j = 0; j < columns; ++j) {
+					int o = 2 * (i * columns + j);
+					double length = Math.hypot(system[o], system[o + 1]);
+					if (j < columns - 1) {
+						scale = Math.max(scale, length);
+					}
+					biggest = Math.max(biggest, length);
+				}
+			}
+		}
+		consistent = true;
+		int pivots = 0;
+		double[][] parts = new double[2][2 * (columns - 1)];
+		for (int h = 0; h < 2; ++h) {
+			pivots += eliminate(systems[h], rows, columns, TOLERANCE * scale, TOLERANCE * biggest, parts[h]);
+		}
+		rank = pivots / 4;
+		// back from the parts u + ê * v along (1 + Ê) / 2 and (1 - Ê) / 2
+		double[] plus = parts[0], minus = parts[1];
+		for (int j = 0; j < numVariables; ++j) {
+			int u = 2 * j, v = 2 * (numVariables + j), o = 8 * j;
+			solution[o] = (plus[u] + minus[u]) / 2;
+			solution[o + 1] = (plus[u] - minus[u]) / 2;
+			solution[o + 2] = (plus[u + 1] + minus[u + 1]) / 2;
+			solution[o + 3] = (plus[u + 1] - minus[u + 1]) / 2;
+			solution[o + 4] = (plus[v] + minus[v]) / 2;
+			solution[o + 5] = (plus[v] - minus[v]) / 2;
+			solution[o + 6] = (plus[v + 1] + minus[v + 1]) / 2;
+			solution[o + 7] = (plus[v + 1] - minus[v + 1]) / 2;
+		}
+	}
+
+	/**
+	 * the complex system of the part along (1 + sign * Ê) / 2, where each entry is u + ê * v.
+	 * row i holds the u-parts of the equation, row numEquations + i its ê-parts,
+	 * column j the u-part of variable j, column numVariables + j its ê-part, the last column the right sides.
+	 */
+	private double[] split(int sign) {
+		int columns = 2 * numVariables + 1;
+		double[] result = new double[2 * 2 * numEquations * columns];
+		for (int i = 0; i < numEquations; ++i) {
+			int upper = 2 * i * columns, lower = 2 * (numEquations + i) * columns;
+			for (int j = 0; j <= numVariables; ++j) {
+				int o = offset(i, j);
+				double uRe = data[o] + sign * data[o + 1], uIm = data[o + 2] + sign * data[o + 3];
+				double vRe = data[o + 4] + sign * data[o + 5], vIm = data[o + 6] + sign * data[o + 7];
+				int column = j < numVariables ? j : 2 * numVariables;
+				// (u + êv) * (p + êq) == u * p + ê * (v * p + u * q)
+				result[upper + 2 * column] = uRe;
+				result[upper + 2 * column + 1] = uIm;
+				result[lower + 2 * column] = vRe;
+				result[lower + 2 * column + 1] = vIm;
+				if (j < numVariables) {
+					result[lower + 2 * (numVariables + j)] = uRe;
+					result[lower + 2 * (numVariables + j) + 1] = uIm;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * gauss-jordan elimination of a complex system, the free unknowns are zero.
+	 * @param s the augmented matrix, row by row, real and imaginary parts interleaved
+	 * @param x gets the unknowns, real and imaginary parts interleaved
+	 * @return the number of pivots
+	 */
+	private int eliminate(double[] s, int rows, int columns, double tolerance, double rightTolerance, double[] x) {
+		int row = 0;
+		int[] pivotColumns = new int[Math.min(rows, columns - 1)];
+		for (int column = 0; column < columns - 1 && row < rows; ++column) {
+			int pivot = -1;
+			double best = tolerance * tolerance;
+			for (int i = row; i < rows; ++i) {
+				int o = 2 * (i * columns + column);
+				double square = s[o] * s[o] + s[o + 1] * s[o + 1];
+				if (square > best) {
+					best = square;
+					pivot = i;
+				}
+			}
+			if (pivot < 0) {
+				continue;
+			}
+			if (pivot != row) {
+				for (int j = 2 * row * columns, p = 2 * pivot * columns, end = j + 2 * columns; j < end; ++j, ++p) {
+					double t = s[j];
+					s[j] = s[p];
+					s[p] = t;
+				}
+			}
+			// the pivot row times the inverse of the pivot
+			int r = 2 * row * columns;
+			double iRe = s[r + 2 * column] / best, iIm = -s[r + 2 * column + 1] / best;
+			s[r + 2 * column] = 1;
+			s[r + 2 * column + 1] = 0;
+			for (int j = r + 2 * (column + 1), end = r + 2 * columns; j < end; j += 2) {
+				double a = s[j], b = s[j + 1];
+				s[j] = a * iRe - b * iIm;
+				s[j + 1] = a * iIm + b * iRe;
+			}
+			// all other rows minus their multiple of the pivot row
+			for (int i = 0; i < rows; ++i) {
+				int o = 2 * i * columns;
+				double fRe = s[o + 2 * column], fIm = s[o + 2 * column + 1];
+				if (i == row || (fRe == 0 && fIm == 0)) {
+					continue;
+				}
+				s[o + 2 * column] = s[o + 2 * column + 1] = 0;
+				for (int j = 2 * (column + 1), end = 2 * columns; j < end; j += 2) {
+					double a = s[r + j], b = s[r + j + 1];
+					if (a != 0 || b != 0) {
+						s[o + j] -= fRe * a - fIm * b;
+						s[o + j + 1] -= fRe * b + fIm * a;
+					}
+				}
+			}
+			pivotColumns[row] = column;
+			++row;
+		}
+		Arrays.fill(x, 0);
+		for (int k = 0; k < row; ++k) {
+			int o = 2 * (k * columns + columns - 1);
+			x[2 * pivotColumns[k]] = s[o];
+			x[2 * pivotColumns[k] + 1] = s[o + 1];
+		}
+		// the equations without pivot only contain free unknowns (zero), so their right sides have to be zero
+		for (int i = row; i < rows; ++i) {
+			int o = 2 * (i * columns + columns - 1);
+			if (Math.hypot(s[o], s[o + 1]) > rightTolerance) {
+				consistent = false;
+			}
+		}
+		return row;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		Ultra value = new Ultra();
+		for (int i = 0; i < numEquations; ++i) {
+			for (int j = 0; j < numVariables; ++j) {
+				load(value, i, j);
+				result.append(" + (").append(value).append(") * x_").append(j);
+			}
+			load(value, i, numVariables);
+			result.append(" = ").append(value).append("\n");
+		}
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,14 @@
+package util.hypercomplex.ultracomplex;
+
+/**
+ * a function of two ultra-complex numbers, for {@link UltraParallel#zipWith(Ultra[], Ultra[], UltraOperator, Ultra[])}
+ * and {@link UltraParallel#reduce(Ultra[], UltraOperator, Ultra)}.<p>
+ * it's called from several threads at once, so it shouldn't change any shared state.
+ * @author hoechp
+ *
+ */
+public interface UltraOperator {
+
+	Ultra apply(Ultra a, Ultra b);
+
+}
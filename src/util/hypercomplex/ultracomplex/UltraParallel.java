@@ -0,0 +1,243 @@
+package util.hypercomplex.ultracomplex;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import util.hypercomplex.Parallel;
+
+/**
+ * bulk operations over arrays of {@link Ultra} numbers, split over the threads of a fork/join pool.<p>
+ * the arrays are halved until the parts have at most grain numbers, those are done one after another.
+ * the halving just depends on the length and the grain, so a reduction always combines the same
+ * parts in the same order - no matter how many threads there are or which one finishes first.
+ * @author hoechp
+ *
+ */
+public class UltraParallel {
+
+	/**
+	 * the number of numbers, that are not split any further, if no grain is given.
+	 */
+	public static final int DEFAULT_GRAIN = 1024;
+
+	private UltraParallel() {
+	}
+
+	/**
+	 * out[k] = function(in[k]) for all k, split over several threads.
+	 * @param in the arguments
+	 * @param function the function, called from several threads at once
+	 * @param out the results (may be in)
+	 */
+	public static void map(Ultra[] in, UltraFunction function, Ultra[] out) {
+		map(in, function, out, DEFAULT_GRAIN);
+	}
+
+	/**
+	 * out[k] = function(in[k]) for all k, split over several threads.
+	 * @param in the arguments
+	 * @param function the function, called from several threads at once
+	 * @param out the results (may be in)
+	 * @param grain the number of numbers, that are not split any further
+	 */
+	public static void map(Ultra[] in, UltraFunction function, Ultra[] out, int grain) {
+		if (out.length != in.length) {
+			throw new IllegalArgumentException("arrays of length " + in.length + " and " + out.length);
+		}
+		run(new Map(in, function, out, 0, in.length, Math.max(1, grain)), in.length, grain);
+	}
+
+	/**
+	 * out[k] = operator(a[k], b[k]) for all k, split over several threads.
+	 * @param a the first arguments
+	 * @param b the second arguments
+	 * @param operator the function, called from several threads at once
+	 * @param out the results (may be a or b)
+	 */
+	public static void zipWith(Ultra[] a, Ultra[] b, UltraOperator operator, Ultra[] out) {
+		zipWith(a, b, operator, out, DEFAULT_GRAIN);
+	}
+
+	/**
+	 * out[k] = operator(a[k], b[k]) for all k, split over several threads.
+	 * @param a the first arguments
+	 * @param b the second arguments
+	 * @param operator the function, called from several threads at once
+	 * @param out the results (may be a or b)
+	 * @param grain the number of numbers, that are not split any further
+	 */
+	public static void zipWith(Ultra[] a, Ultra[] b, UltraOperator operator, Ultra[] out, int grain) {
+		// checked up front, since the threads would stop at different places
+		if (b.length != a.length || out.length != a.length) {
+			throw new IllegalArgumentException("arrays of length " + a.length + ", " + b.length + " and " + out.length);
+		}
+		run(new Zip(a, b, operator, out, 0, a.length, Math.max(1, grain)), a.length, grain);
+	}
+
+	/**
+	 * combines all numbers with the operator, split over several threads.<p>
+	 * the numbers keep their order and the parts are always combined the same way,
+	 * so the result doesn't depend on the threads.
+	 * @param in the numbers
+	 * @param operator the (associative) operator, called from several threads at once
+	 * @param identity the result for no numbers
+	 * @return in[0] op in[1] op ... op in[n - 1]
+	 */
+	public static Ultra reduce(Ultra[] in, UltraOperator operator, Ultra identity) {
+		return reduce(in, operator, identity, DEFAULT_GRAIN);
+	}
+
+	/**
+	 * combines all numbers with the operator, split over several threads.
+	 * @param in the numbers
+	 * @param operator the (associative) operator, called from several threads at once
+	 * @param identity the result for no numbers
+	 * @param grain the number of numbers, that are not split any further
+	 * @return in[0] op in[1] op ... op in[n - 1]
+	 */
+	public static Ultra reduce(Ultra[] in, UltraOperator operator, Ultra identity, int grain) {
+		Reduce task = new Reduce(in, operator, identity, 0, in.length, Math.max(1, grain));
+		// small arrays aren't worth handing over to the pool
+		return in.length <= grain ? task.invoke() : Parallel.POOL.invoke(task);
+	}
+
+	public static Ultra sum(Ultra[] in) {
+		return reduce(in, new UltraOperator() {
+			@Override
+			public Ultra apply(Ultra a, Ultra b) {
+				return a.plus(b);
+			}
+		}, new Ultra());
+	}
+
+	public static Ultra product(Ultra[] in) {
+		return reduce(in, new UltraOperator() {
+			@Override
+			public Ultra apply(Ultra a, Ultra b) {
+				return a.times(b);
+			}
+		}, new Ultra(1));
+	}
+
+	private static void run(RecursiveAction task, int length, int grain) {
+		if (length <= grain) {
+			task.invoke();
+		} else {
+			Parallel.POOL.invoke(task);
+		}
+	}
+
+	private static class Map extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Ultra[] in;
+		private final UltraFunction function;
+		private final Ultra[] out;
+		private final int from;
+		private final int to;
+		private final int grain;
+
+		Map(Ultra[] in, UltraFunction function, Ultra[] out, int from, int to, int grain) {
+			this.in = in;
+			this.function = function;
+			this.out = out;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= grain) {
+				for (int k = from; k < to; ++k) {
+					out[k] = function.apply(in[k]);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Map(in, function, out, from, middle, grain), new Map(in, function, out, middle, to, grain));
+		}
+
+	}
+
+	private static class Zip extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Ultra[] a;
+		private final Ultra[] b;
+		private final UltraOperator operator;
+		private final Ultra[] out;
+		private final int from;
+		private final int to;
+		private final int grain;
+
+		Zip(Ultra[] a, Ultra[] b, UltraOperator operator, Ultra[] out, int from, int to, int grain) {
+			this.a = a;
+			this.b = b;
+			this.operator = operator;
+			this.out = out;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= grain) {
+				for (int k = from; k < to; ++k) {
+					out[k] = operator.apply(a[k], b[k]);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Zip(a, b, operator, out, from, middle, grain), new Zip(a, b, operator, out, middle, to, grain));
+		}
+
+	}
+
+	private static class Reduce extends RecursiveTask<Ultra> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Ultra[] in;
+		private final UltraOperator operator;
+		private final Ultra identity;
+		private final int from;
+		private final int to;
+		private final int grain;
+
+		Reduce(Ultra[] in, UltraOperator operator, Ultra identity, int from, int to, int grain) {
+			this.in = in;
+			this.operator = operator;
+			this.identity = identity;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected Ultra compute() {
+			if (to - from <= grain) {
+				if (from == to) {
+					return identity;
+				}
+				Ultra result = in[from];
+				for (int k = from + 1; k < to; ++k) {
+					result = operator.apply(result, in[k]);
+				}
+				return result;
+			}
+			int middle = (from + to) >>> 1;
+			Reduce left = new Reduce(in, operator, identity, from, middle, grain);
+			Reduce right = new Reduce(in, operator, identity, middle, to, grain);
+			right.fork();
+			Ultra leftResult = left.compute();
+			// always left before right
+			return operator.apply(leftResult, right.join());
+		}
+
+	}
+
+}
@@ -9,6 +9,7 @@ import junit.framework.Assert;
 import org.junit.Test;
 
 import util.hypercomplex.Binary;
+import util.hypercomplex.BinaryIdempotent;
 import util.hypercomplex.Hypercomplex;
 import util.hypercomplex.Dual;
 
@@ -166,4 +167,47 @@ public class BinaryNumberTests {
 		}
 	}
 	
+	@Test
+	public void testIdempotent() {
+		// the diagonal basis has to give the same results as the cartesian one
+		for (int i = 0; i < Tests.MULTITEST_COUNT; ++i) {
+			// inside the main sector (re > abs(im)), so ln and pow are defined
+			double re = Math.random() * 3 + 0.5;
+			Binary x = new Binary(re, (Math.random() * 2 - 1) * re * 0.9);
+			Binary y = new Binary(Math.random() * 2 - 1, Math.random() * 2 - 1);
+			BinaryIdempotent a = x.idempotent(), b = y.idempotent();
+			Assert.assertEquals(x, a.toBinary());
+			Assert.assertEquals(x, Binary.fromDiagonalBasis(a.a(), a.b()));
+			Assert.assertEquals(x.plus(y), a.plus(b).toBinary());
+			Assert.assertEquals(x.minus(y), a.minus(b).toBinary());
+			Assert.assertEquals(x.times(y), a.times(b).toBinary());
+			Assert.assertEquals(y.by(x), b.by(a).toBinary());
+			Assert.assertEquals(x.inverse(), a.inverse().toBinary());
+			Assert.assertEquals(x.conjugate(), a.conjugate().toBinary());
+			Assert.assertEquals(x.det(), a.det(), Tests.DELTA);
+			Assert.assertEquals(y.exp(), b.exp().toBinary());
+			Assert.assertEquals(x.ln(), a.ln().toBinary());
+			Assert.assertEquals(x.pow(1.7), a.pow(1.7).toBinary());
+			Assert.assertEquals(x.pow(y), a.pow(b).toBinary());
+			Assert.assertEquals(y.sin(), b.sin().toBinary());
+			Assert.assertEquals(y.cos(), b.cos().toBinary());
+			Assert.assertEquals(y.sinh(), b.sinh().toBinary());
+			Assert.assertEquals(y.cosh(), b.cosh().toBinary());
+			Assert.assertEquals(y.tan(), b.tan().toBinary());
+			Assert.assertEquals(x.times(y).exp().ln().by(x), a.times(b).exp().ln().by(a).toBinary());
+		}
+		// outside the main sector there is no logarithm, but integer powers
+		BinaryIdempotent z = new Binary(1, 2).idempotent();
+		Assert.assertFalse(z.isInMainSector());
+		Assert.assertTrue(z.ln() == null);
+		Assert.assertTrue(z.pow(0.5) == null);
+		Assert.assertEquals(new Binary(1, 2).pow(3), z.pow(3).toBinary());
+		Assert.assertEquals(new Binary(1, 2).times(new Binary(1, 2)), z.pow(BinaryIdempotent.ONE.times(2)).toBinary());
+		// the bases are idempotent and orthogonal
+		Assert.assertEquals(BinaryIdempotent.E1, BinaryIdempotent.E1.times(BinaryIdempotent.E1));
+		Assert.assertEquals(BinaryIdempotent.ZERO, BinaryIdempotent.E1.times(BinaryIdempotent.E2));
+		Assert.assertEquals(Binary.E1, BinaryIdempotent.E1.toBinary());
+		Assert.assertEquals(Binary.E2, BinaryIdempotent.E2.toBinary());
+	}
+	
 }
@@ -2,12 +2,15 @@ package util.tests;
 
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import junit.framework.Assert;
 
 import org.junit.Test;
 
+import util.hypercomplex.Binary;
 import util.hypercomplex.Complex;
+import util.hypercomplex.Dual;
 import util.hypercomplex.Hypercomplex;
 
 public class ComplexNumberTests {
@@ -24,6 +27,75 @@ public class ComplexNumberTests {
 		}
 	}
 	
+	@Test
+	public void testCartesianAndPolynominal() {
+		// the polynominal values are computed when needed and must always fit the cartesian ones
+		Hypercomplex c = new Complex();
+		for (int i = 0; i < Tests.MULTITEST_COUNT; ++i) {
+			double x = Math.random() * 200 - 100;
+			double y = Math.random() * 200 - 100;
+			c.setCartesian(x, y);
+			Assert.assertEquals(Math.hypot(x, y), c.r(), Tests.DELTA * 100);
+			Assert.assertEquals(Math.atan2(y, x), c.phi(), Tests.DELTA);
+			c.setReal(-x);
+			Assert.assertEquals(Math.atan2(y, -x), c.phi(), Tests.DELTA);
+			c.setPolynominal(-2, 3 * Math.PI + i);
+			Assert.assertEquals(2, c.r(), 0);
+			Assert.assertTrue(c.phi() > -Math.PI && c.phi() <= Math.PI);
+			Assert.assertEquals(-2 * Math.cos(3 * Math.PI + i), c.re(), Tests.DELTA);
+			Assert.assertEquals(-2 * Math.sin(3 * Math.PI + i), c.im(), Tests.DELTA);
+		}
+		// the vectors are just copies
+		c = new Complex(1, 2);
+		c.getCartesian().set(0, 5d);
+		c.getPolynominal().set(0, 5d);
+		Assert.assertEquals(new Complex(1, 2), c);
+		Assert.assertEquals(new Complex(4, 6), c.plus(new Complex(3, 4)));
+		Assert.assertEquals(new Complex(-3, -6), c.times(-3));
+	}
+	
+	@Test
+	public void testFrozen() {
+		// the constants can't be changed, their clones can
+		Hypercomplex[] constants = {Complex.ZERO, Complex.ONE, Complex.I, Binary.ZERO, Binary.E1, Dual.ONE, Complex.valueOf(3)};
+		for (Hypercomplex constant : constants) {
+			Assert.assertTrue(constant.isFrozen());
+			boolean catched = false;
+			try {
+				constant.add(Complex.ONE);
+			} catch (UnsupportedOperationException e) {
+				catched = true;
+			}
+			Assert.assertTrue(catched);
+			// not even the kind of number
+			int refused = 0;
+			try {
+				constant.setComplex(!constant.isComplex());
+			} catch (UnsupportedOperationException e) {
+				++refused;
+			}
+			try {
+				constant.setBinary(!constant.isBinary());
+			} catch (UnsupportedOperationException e) {
+				++refused;
+			}
+			try {
+				constant.setDual(!constant.isDual());
+			} catch (UnsupportedOperationException e) {
+				++refused;
+			}
+			Assert.assertEquals(3, refused);
+			Hypercomplex copy = constant.clone();
+			Assert.assertFalse(copy.isFrozen());
+			copy.multiply(2);
+			Assert.assertEquals(constant.times(2), copy);
+		}
+		Assert.assertEquals(new Complex(), Complex.ZERO);
+		Assert.assertTrue(Complex.valueOf(-5) == Complex.valueOf(-5));
+		Assert.assertEquals(new Binary(1000), Binary.valueOf(1000));
+		Assert.assertEquals(new Dual(-7), Dual.valueOf(-7));
+	}
+	
 	@Test
 	public void testHashCode() {
 		Hypercomplex a = new Complex();
@@ -32,7 +104,24 @@ public class ComplexNumberTests {
 			a.setPolynominal(Math.random() * 100, Math.random() * 2 * Math.PI);
 			b = a.clone();
 			Assert.assertTrue(a.hashCode() == b.hashCode());
+			Assert.assertTrue(a.equalsExact(b));
+			// equal (but not exactly equal) numbers have the same hash code, too
+			b = a.times(1 + 1e-14);
+			Assert.assertFalse(a.equalsExact(b));
+			Assert.assertEquals(a, b);
+			Assert.assertTrue(a.hashCode() == b.hashCode());
+		}
+		// real numbers are equal no matter the kind, others aren't
+		Assert.assertEquals(new Complex(2), new Binary(2));
+		Assert.assertTrue(new Complex(2).hashCode() == new Binary(2).hashCode());
+		Assert.assertFalse(new Complex(2, 1).equals(new Binary(2, 1)));
+		Assert.assertFalse(new Complex(2, 1).equalsExact(new Binary(2, 1)));
+		Assert.assertTrue(new Complex(0, 1e-12).hashCode() == new Complex(0, -0d).hashCode());
+		HashSet<Hypercomplex> set = new HashSet<Hypercomplex>();
+		for (int i = 0; i < 100; ++i) {
+			set.add(new Complex(i % 10, 1).times(1 + i * 1e-14));
 		}
+		Assert.assertEquals(10, set.size());
 	}
 
 	@Test
@@ -0,0 +1,112 @@
+package util.tests;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import util.hypercomplex.Dual;
+import util.hypercomplex.ad.Derivatives;
+import util.hypercomplex.ad.DualCalculation;
+import util.hypercomplex.ad.DualFunction;
+import util.hypercomplex.ad.DualScalar;
+import util.hypercomplex.ad.DualVector;
+import util.hypercomplex.ad.DualVectorFunction;
+import util.hypercomplex.formula.Formula;
+
+public class DualDifferentiationTest {
+
+	private static final String[] FUNCTIONS = {"sin", "cos", "tan", "cot", "sec", "csc", "asin", "acos", "atan", "acot",
+			"sinh", "cosh", "tanh", "coth", "sech", "csch", "asinh", "atanh", "exp", "ln", "sqrt", "inverse"};
+
+	@Test
+	public void testDualScalar() throws Exception {
+		// the derivatives must fit the central differences
+		double x = 0.3, h = 1e-6;
+		for (String name : FUNCTIONS) {
+			DualScalar result = (DualScalar)DualScalar.class.getMethod(name).invoke(DualScalar.variable(x));
+			double left = ((DualScalar)DualScalar.class.getMethod(name).invoke(DualScalar.constant(x - h))).value();
+			double right = ((DualScalar)DualScalar.class.getMethod(name).invoke(DualScalar.constant(x + h))).value();
+			Assert.assertEquals(name, (right - left) / (2 * h), result.derivative(), 1e-6);
+		}
+		// the ones that need |x| > 1
+		x = 1.7;
+		DualScalar v = DualScalar.variable(x);
+		Assert.assertEquals(1 / Math.sqrt(x * x - 1), v.acosh().derivative(), 1e-12);
+		Assert.assertEquals(1 / (1 - x * x), v.acoth().derivative(), 1e-12);
+		Assert.assertEquals(1 / (x * Math.sqrt(x * x - 1)), v.asec().derivative(), 1e-12);
+		Assert.assertEquals(-1 / (x * Math.sqrt(x * x - 1)), v.acsc().derivative(), 1e-12);
+		// the same values as the dual numbers
+		Dual d = new Dual(0.3, 1);
+		Assert.assertEquals(d.sin().times(d.exp()), DualScalar.variable(0.3).sin().times(DualScalar.variable(0.3).exp()).toDual());
+		// powers
+		Assert.assertEquals(3 * 4d, DualScalar.variable(-2).pow(3).derivative(), 0);
+		Assert.assertEquals(0, DualScalar.variable(-2).pow(0).derivative(), 0);
+		DualScalar power = DualScalar.variable(2).pow(DualScalar.variable(2)); // x^x
+		Assert.assertEquals(4, power.value(), 1e-14);
+		Assert.assertEquals(4 * (Math.log(2) + 1), power.derivative(), 1e-14);
+	}
+
+	@Test
+	public void testDerivatives() {
+		DualScalar f = Derivatives.derivative(new DualFunction() {
+			public DualScalar apply(DualScalar x) {
+				return x.times(x.sin());
+			}
+		}, 2);
+		Assert.assertEquals(2 * Math.sin(2), f.value(), 1e-15);
+		Assert.assertEquals(Math.sin(2) + 2 * Math.cos(2), f.derivative(), 1e-15);
+		double[][] jacobian = Derivatives.jacobian(new DualVectorFunction() {
+			public DualVector[] apply(DualVector[] x) {
+				return new DualVector[] {x[0].times(x[1]), x[0].plus(x[1].sin()), x[0].by(x[1]).ln()};
+			}
+		}, 1, 2);
+		double[][] expected = {{2, 1}, {1, Math.cos(2)}, {1, -0.5}};
+		for (int i = 0; i < expected.length; ++i) {
+			for (int j = 0; j < expected[i].length; ++j) {
+				Assert.assertEquals(expected[i][j], jacobian[i][j], 1e-15);
+			}
+		}
+	}
+
+	@Test
+	public void testFormula() {
+		Formula f = new Formula("x² * sin(y) + exp(z) / x");
+		f.set("x", 2);
+		f.set("y", 1.5);
+		f.set("z", 0.5);
+		DualVector gradient = DualCalculation.gradient(f, "x", "y");
+		Assert.assertEquals(f.result().getDouble(0), gradient.value(), 1e-12);
+		Assert.assertEquals(4 * Math.sin(1.5) - Math.exp(0.5) / 4, gradient.derivative(0), 1e-12);
+		Assert.assertEquals(4 * Math.cos(1.5), gradient.derivative(1), 1e-12);
+		Assert.assertEquals(gradient.derivative(1), DualCalculation.derivative(f, "y").derivative(), 1e-12);
+		// the formula itself isn't changed by that
+		Assert.assertEquals(4 * Math.sin(1.5) + Math.exp(0.5) / 2, f.result().getDouble(0), 1e-12);
+		// newton on x³ - 2 == 0
+		Formula g = new Formula("x³ - 2");
+		double x = 1.5;
+		for (int i = 0; i < 20; ++i) {
+			g.set("x", x);
+			DualScalar step = DualCalculation.derivative(g, "x");
+			x -= step.value() / step.derivative();
+		}
+		Assert.assertEquals(Math.cbrt(2), x, 1e-15);
+		double[][] jacobian = DualCalculation.jacobian(new Formula[] {f, g}, "x");
+		Assert.assertEquals(3 * x * x, jacobian[1][0], 1e-12);
+		// the same value as Formula.result(), the conjugate of a real number is 1
+		Formula c = new Formula("x * conjugate(x)");
+		c.set("x", 3);
+		DualScalar conjugate = DualCalculation.derivative(c, "x");
+		Assert.assertEquals(c.result().getDouble(0), conjugate.value(), 1e-15);
+		Assert.assertEquals(3, conjugate.value(), 1e-15);
+		Assert.assertEquals(1, conjugate.derivative(), 1e-15);
+		try {
+			Formula h = new Formula("î * x");
+			h.set("x", 1);
+			DualCalculation.gradient(h, "x");
+			Assert.fail("complex constants can't be differentiated");
+		} catch (IllegalArgumentException e) {
+			// only real calculations
+		}
+	}
+
+}
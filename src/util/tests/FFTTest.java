@@ -0,0 +1,165 @@
+package util.tests;
+
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import util.hypercomplex.Binary;
+import util.hypercomplex.BinaryArray;
+import util.hypercomplex.Complex;
+import util.hypercomplex.ComplexArray;
+import util.hypercomplex.Dual;
+import util.hypercomplex.DualArray;
+import util.hypercomplex.FFT;
+import util.hypercomplex.Hypercomplex;
+
+public class FFTTest {
+
+	@Test
+	public void testFFT() {
+		// the same as the plain dft, for powers of two and all other sizes
+		Random random = new Random(3);
+		for (int n : new int[] {1, 2, 3, 8, 12, 17, 64, 100}) {
+			ComplexArray x = randomComplex(random, n);
+			ComplexArray spectrum = x.copy();
+			FFT.fft(spectrum);
+			for (int k = 0; k < n; ++k) {
+				Hypercomplex expected = new Complex();
+				for (int j = 0; j < n; ++j) {
+					expected = expected.plus(x.get(j).times(new Complex("p", 1, -2 * Math.PI * j * k / n)));
+				}
+				Assert.assertTrue(n + ": " + expected + " != " + spectrum.get(k), expected.minus(spectrum.get(k)).r() < 1e-12 * n);
+			}
+			FFT.ifft(spectrum);
+			assertClose(x, spectrum, 1e-13);
+		}
+		// slices are transformed in place, the rest stays
+		ComplexArray x = randomComplex(random, 20);
+		ComplexArray y = x.copy();
+		FFT.fft(y.slice(4, 12));
+		Assert.assertEquals(x.get(3), y.get(3));
+		Assert.assertEquals(x.get(12), y.get(12));
+		ComplexArray part = x.slice(4, 12).copy();
+		FFT.fft(part);
+		assertClose(part, y.slice(4, 12), 0);
+	}
+
+	@Test
+	public void testParallelFFT() {
+		// large sizes are done in parallel, that mustn't change anything
+		Random random = new Random(5);
+		int n = 1 << 16;
+		ComplexArray x = randomComplex(random, n);
+		ComplexArray spectrum = x.copy();
+		FFT.fft(spectrum);
+		for (int k : new int[] {0, 1, 777, n - 1}) {
+			double re = 0, im = 0;
+			for (int j = 0; j < n; ++j) {
+				double angle = -2 * Math.PI * ((long)j * k % n) / n;
+				re += x.re(j) * Math.cos(angle) - x.im(j) * Math.sin(angle);
+				im += x.re(j) * Math.sin(angle) + x.im(j) * Math.cos(angle);
+			}
+			Assert.assertEquals(re, spectrum.re(k), 1e-9);
+			Assert.assertEquals(im, spectrum.im(k), 1e-9);
+		}
+		FFT.ifft(spectrum);
+		assertClose(x, spectrum, 1e-12);
+	}
+
+	@Test
+	public void testConvolution() {
+		// the cyclic convolutions must be the same as the plain ones in each algebra
+		Random random = new Random(9);
+		for (int n : new int[] {1, 5, 16}) {
+			ComplexArray cx = randomComplex(random, n), cy = randomComplex(random, n);
+			BinaryArray bx = new BinaryArray(cx.copy().reBuffer().array(), cx.copy().imBuffer().array());
+			BinaryArray by = new BinaryArray(cy.copy().reBuffer().array(), cy.copy().imBuffer().array());
+			DualArray dx = new DualArray(cx.copy().reBuffer().array(), cx.copy().imBuffer().array());
+			DualArray dy = new DualArray(cy.copy().reBuffer().array(), cy.copy().imBuffer().array());
+			ComplexArray c = FFT.convolve(cx, cy);
+			BinaryArray b = FFT.convolve(bx, by);
+			DualArray d = FFT.convolve(dx, dy);
+			for (int k = 0; k < n; ++k) {
+				Hypercomplex cExpected = new Complex(), bExpected = new Binary(), dExpected = new Dual();
+				for (int j = 0; j < n; ++j) {
+					int l = (k - j + n) % n;
+					cExpected = cExpected.plus(cx.get(j).times(cy.get(l)));
+					bExpected = bExpected.plus(bx.get(j).times(by.get(l)));
+					dExpected = dExpected.plus(dx.get(j).times(dy.get(l)));
+				}
+				Assert.assertTrue(cExpected.minus(c.get(k)).r() < 1e-12);
+				Assert.assertTrue(bExpected.minus(b.get(k)).r() < 1e-12);
+				Assert.assertTrue(dExpected.minus(d.get(k)).r() < 1e-12);
+			}
+			// and the spectra transform back
+			ComplexArray[] spectra = FFT.fft(bx);
+			assertClose(new ComplexArray(bx.reBuffer().array(), bx.imBuffer().array()),
+					toComplex(FFT.ifftBinary(spectra[0], spectra[1])), 1e-13);
+			spectra = FFT.fft(dx);
+			assertClose(new ComplexArray(dx.reBuffer().array(), dx.imBuffer().array()),
+					toComplex(FFT.ifftDual(spectra[0], spectra[1])), 1e-13);
+		}
+	}
+
+	@Test
+	public void testSizeMismatch() {
+		// operands of different sizes (here a shorter slice) are refused instead of read past their end
+		ComplexArray c = randomComplex(new Random(10), 16);
+		BinaryArray b = new BinaryArray(c.copy().reBuffer().array(), c.copy().imBuffer().array());
+		DualArray d = new DualArray(c.copy().reBuffer().array(), c.copy().imBuffer().array());
+		int rejected = 0;
+		try {
+			FFT.convolve(c.slice(0, 8), c.slice(8, 12));
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			FFT.convolve(b, b.slice(0, 15));
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			FFT.convolve(d.slice(4, 16), d);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			FFT.ifftBinary(c, c.slice(0, 8));
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			FFT.ifftDual(c.slice(0, 8), c.slice(8, 12));
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		Assert.assertEquals(5, rejected);
+	}
+
+	private static ComplexArray toComplex(BinaryArray x) {
+		return new ComplexArray(x.reBuffer().array(), x.imBuffer().array());
+	}
+
+	private static ComplexArray toComplex(DualArray x) {
+		return new ComplexArray(x.reBuffer().array(), x.imBuffer().array());
+	}
+
+	private static ComplexArray randomComplex(Random random, int n) {
+		ComplexArray result = new ComplexArray(n);
+		for (int k = 0; k < n; ++k) {
+			result.set(k, random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1);
+		}
+		return result;
+	}
+
+	private static void assertClose(ComplexArray expected, ComplexArray actual, double delta) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int k = 0; k < expected.size(); ++k) {
+			Assert.assertEquals(expected.re(k), actual.re(k), delta);
+			Assert.assertEquals(expected.im(k), actual.im(k), delta);
+		}
+	}
+
+}
@@ -3,6 +3,8 @@ package util.tests;
 import junit.framework.Assert;
 import org.junit.Test;
 
+import util.hypercomplex.Binary;
+import util.hypercomplex.Complex;
 import util.tinker.PolynominalGuess;
 
 public class GuesserTest {
@@ -12,6 +14,10 @@ public class GuesserTest {
 		System.out.println(new PolynominalGuess(3,
 				2.53, 3.04, 3.70, 4.45, 5.31, 6.12, 6.90
 				));
+		// squares, cubes and binary numbers (the factored equations are shared)
+		Assert.assertEquals(new Complex(25), new PolynominalGuess(3, 1, 4, 9, 16).guess());
+		Assert.assertEquals(new Complex(125), new PolynominalGuess(4, 1, 8, 27, 64).guess());
+		Assert.assertEquals(new Binary(4, 5), new PolynominalGuess(new Binary(1, 2), new Binary(2, 3), new Binary(3, 4)).guess());
 	}
 
 }
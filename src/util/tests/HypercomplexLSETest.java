@@ -1,12 +1,19 @@
 package util.tests;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import junit.framework.Assert;
 
 import org.junit.Test;
 
+import util.hypercomplex.Binary;
 import util.hypercomplex.Complex;
+import util.hypercomplex.Dual;
 import util.hypercomplex.Hypercomplex;
+import util.hypercomplex.HypercomplexBatchLSE;
 import util.hypercomplex.HypercomplexLSE;
+import util.hypercomplex.HypercomplexLU;
 
 public class HypercomplexLSETest {
 	
@@ -52,8 +59,244 @@ public class HypercomplexLSETest {
 				1, 1, 1, 1, 1,		3,
 				16, 8, 4, 2, 1, 	3,
 				81, 27, 9, 3, 1,	9);
+		HypercomplexLU lu = lse.lu();
 		lse.solve();
 		System.out.println(lse);
+		// the same solution from the decomposition
+		Hypercomplex[] x = lu.solve(new Complex(-3), new Complex(-3), new Complex(3), new Complex(3), new Complex(9));
+		for (int i = 0; i < 5; ++i) {
+			Assert.assertEquals(lse.getComplexData().get(i).get(5), x[i]);
+		}
+	}
+
+	@Test
+	public void testLU() {
+		Random random = new Random(5);
+		for (String type : new String[] {"complex", "binary", "dual"}) {
+			int n = 12;
+			Hypercomplex[] a = new Hypercomplex[n * n], b = new Hypercomplex[n];
+			for (int i = 0; i < a.length; ++i) {
+				a[i] = number(type, random.nextGaussian(), random.nextGaussian());
+			}
+			for (int i = 0; i < n; ++i) {
+				b[i] = number(type, random.nextGaussian(), random.nextGaussian());
+			}
+			HypercomplexLU lu = new HypercomplexLU(n, a);
+			Assert.assertFalse(lu.isSingular());
+			Hypercomplex[] x = lu.solve(b);
+			Assert.assertEquals(b[0].getClass(), x[0].getClass());
+			assertResidual(n, a, x, b);
+			// several right hand sides at once give the same solutions
+			double[] many = new double[3 * 2 * n];
+			for (int k = 0; k < 3; ++k) {
+				for (int i = 0; i < n; ++i) {
+					many[2 * (k * n + i)] = b[i].re() * (k + 1);
+					many[2 * (k * n + i) + 1] = b[i].im() * (k + 1);
+				}
+			}
+			Assert.assertTrue(lu.solve(many, 3));
+			for (int k = 0; k < 3; ++k) {
+				for (int i = 0; i < n; ++i) {
+					Assert.assertEquals(x[i].re() * (k + 1), many[2 * (k * n + i)], 1e-9);
+					Assert.assertEquals(x[i].im() * (k + 1), many[2 * (k * n + i) + 1], 1e-9);
+				}
+			}
+		}
+		// the pivot has to be invertible: 1 + E is a zero divisor
+		Hypercomplex[] a = {new Binary(1, 1), new Binary(1), new Binary(1), new Binary(2, 1)};
+		Hypercomplex[] b = {new Binary(3), new Binary(1, 2)};
+		HypercomplexLU lu = new HypercomplexLU(2, a);
+		assertResidual(2, a, lu.solve(b), b);
+		Assert.assertEquals(a[0].times(a[3]).minus(a[1].times(a[2])), lu.determinant());
+		// the first column holds only zero divisors, but the matrix is invertible (det == 8 * E)
+		a = new Hypercomplex[] {new Binary(1, 1), new Binary(1, -1), new Binary(0), new Binary(1, -1), new Binary(1, 1), new Binary(0),
+			new Binary(0), new Binary(0), new Binary(2)};
+		b = new Hypercomplex[] {new Binary(1), new Binary(2, 3), new Binary(0, 1)};
+		lu = new HypercomplexLU(3, a);
+		Assert.assertFalse(lu.isSingular());
+		assertResidual(3, a, lu.solve(b), b);
+		Assert.assertEquals(new Binary(0, 8), lu.determinant());
+		// 1-norm condition of a diagonal matrix
+		lu = new HypercomplexLU(2, new Dual(1), new Dual(0), new Dual(0), new Dual(1e-6));
+		Assert.assertEquals(1e6, lu.conditionEstimate(), 1);
+		// singular
+		lu = new HypercomplexLU(2, new Complex(1), new Complex(2), new Complex(2), new Complex(4));
+		Assert.assertTrue(lu.isSingular());
+		Assert.assertTrue(lu.solve(new Complex(1), new Complex(1)) == null);
+		Assert.assertEquals(Double.POSITIVE_INFINITY, lu.conditionEstimate());
+		// the hilbert matrix is badly conditioned (cond_1(H_6) == 2.9070e7)
+		Hypercomplex[] hilbert = new Hypercomplex[36];
+		for (int i = 0; i < 6; ++i) {
+			for (int j = 0; j < 6; ++j) {
+				hilbert[6 * i + j] = new Complex(1d / (i + j + 1));
+			}
+		}
+		double condition = new HypercomplexLU(6, hilbert).conditionEstimate();
+		Assert.assertTrue("" + condition, condition > 2.9e7 / 3 && condition < 2.91e7);
+	}
+
+	@Test
+	public void testBlockedLU() {
+		// big matrices are factored in (parallel) blocks, that mustn't change the solutions
+		Random random = new Random(7);
+		int n = 400;
+		for (String type : new String[] {"complex", "binary", "dual"}) {
+			Hypercomplex[] a = new Hypercomplex[n * n], b = new Hypercomplex[n];
+			for (int i = 0; i < a.length; ++i) {
+				a[i] = number(type, random.nextGaussian(), random.nextGaussian());
+			}
+			for (int i = 0; i < n; ++i) {
+				b[i] = number(type, random.nextGaussian(), random.nextGaussian());
+			}
+			HypercomplexLU lu = new HypercomplexLU(n, a);
+			Assert.assertFalse(lu.isSingular());
+			assertResidual(n, a, lu.solve(b), b);
+			// a column of zeros
+			for (int i = 0; i < n; ++i) {
+				a[i * n + n - 1] = number(type, 0, 0);
+			}
+			Assert.assertTrue(new HypercomplexLU(n, a).isSingular());
+		}
+	}
+
+	@Test
+	public void testBatch() {
+		// the closed forms (2 to 4) and the elimination give the solutions of the decomposition
+		Random random = new Random(13);
+		for (String type : new String[] {"complex", "binary", "dual"}) {
+			for (int n = 1; n <= 6; ++n) {
+				int count = 20;
+				double[] matrices = new double[2 * n * n * count], b = new double[2 * n * count];
+				for (int i = 0; i < matrices.length; ++i) {
+					matrices[i] = random.nextGaussian();
+				}
+				for (int i = 0; i < b.length; ++i) {
+					b[i] = random.nextGaussian();
+				}
+				double[] x = b.clone();
+				byte[] status = new byte[count];
+				Assert.assertEquals(count, new HypercomplexBatchLSE(type, n).solve(matrices, x, x, status, count));
+				for (int k = 0; k < count; ++k) {
+					double[] expected = Arrays.copyOfRange(b, 2 * n * k, 2 * n * (k + 1));
+					new HypercomplexLU(type, n, Arrays.copyOfRange(matrices, 2 * n * n * k, 2 * n * n * (k + 1))).solve(expected, 1);
+					Assert.assertEquals(HypercomplexBatchLSE.OK, status[k]);
+					for (int i = 0; i < 2 * n; ++i) {
+						Assert.assertEquals(type + " " + n, expected[i], x[2 * n * k + i], 1e-9 * Math.max(1, Math.abs(expected[i])));
+					}
+				}
+			}
+		}
+		// singular (1 + E is a zero divisor), zero, not finite and fine in one batch
+		double[] matrices = {
+				1, 1, 2, 2, 3, 3, 4, 4,
+				0, 0, 0, 0, 0, 0, 0, 0,
+				1, 0, Double.NaN, 0, 0, 0, 1, 0,
+				2, 0, 0, 0, 0, 0, 4, 1};
+		double[] b = {1, 0, 1, 0, 1, 0, 1, 0, 1, 0, 1, 0, 2, 0, 4, 1};
+		double[] x = new double[b.length];
+		byte[] status = new byte[4];
+		Assert.assertEquals(1, new HypercomplexBatchLSE("binary", 2).solve(matrices, b, x, status, 4));
+		Assert.assertEquals(HypercomplexBatchLSE.SINGULAR, status[0]);
+		Assert.assertEquals(HypercomplexBatchLSE.SINGULAR, status[1]);
+		Assert.assertEquals(HypercomplexBatchLSE.NOT_FINITE, status[2]);
+		Assert.assertEquals(HypercomplexBatchLSE.OK, status[3]);
+		Assert.assertTrue(Double.isNaN(x[0]));
+		Assert.assertEquals(1, x[12], 1e-15);
+		Assert.assertEquals(1, x[14], 1e-15);
+		Assert.assertEquals(0, x[15], 1e-15);
+		// columns of zero divisors in invertible matrices, solved in closed form (n == 3) and by elimination (n == 6)
+		for (int n : new int[] {3, 6}) {
+			double[] matrix = new double[2 * n * n], right = new double[2 * n], solution = new double[2 * n];
+			matrix[0] = matrix[1] = matrix[at(n, 1, 1)] = matrix[at(n, 1, 1) + 1] = 1;
+			matrix[at(n, 0, 1)] = matrix[at(n, 1, 0)] = 1;
+			matrix[at(n, 0, 1) + 1] = matrix[at(n, 1, 0) + 1] = -1;
+			for (int i = 2; i < n; ++i) {
+				matrix[at(n, i, i)] = 2;
+			}
+			for (int i = 0; i < 2 * n; ++i) {
+				right[i] = i + 1;
+			}
+			status = new byte[1];
+			Assert.assertEquals(1, new HypercomplexBatchLSE("binary", n).solve(matrix, right, solution, status, 1));
+			double[] expected = right.clone();
+			Assert.assertTrue(new HypercomplexLU("binary", n, matrix).solve(expected, 1));
+			for (int i = 0; i < 2 * n; ++i) {
+				Assert.assertEquals(expected[i], solution[i], 1e-12);
+			}
+		}
+		// a big batch is split over the threads
+		int count = 100000;
+		matrices = new double[8 * count];
+		b = new double[4 * count];
+		for (int k = 0; k < count; ++k) {
+			matrices[8 * k] = matrices[8 * k + 6] = k + 1;
+			matrices[8 * k + 3] = 1;
+			b[4 * k] = b[4 * k + 2] = k + 1;
+		}
+		status = new byte[count];
+		Assert.assertEquals(count, new HypercomplexBatchLSE("complex", 2).solve(matrices, b, b, status, count));
+		for (int k = 0; k < count; k += 999) {
+			// (k + 1) * x0 + i * x1 == k + 1, (k + 1) * x1 == k + 1
+			Assert.assertEquals(1, b[4 * k], 1e-12);
+			Assert.assertEquals(-1d / (k + 1), b[4 * k + 1], 1e-12);
+			Assert.assertEquals(1, b[4 * k + 2], 1e-12);
+		}
+	}
+
+	@Test
+	public void testLUPerformance() {
+		// the decomposition against the elimination of HypercomplexLSE, to see from which size on it pays
+		Random random = new Random(11);
+		for (int n : new int[] {2, 4, 8, 16, 32, 64, 128}) {
+			double[] augmented = new double[n * (n + 1)];
+			Hypercomplex[] a = new Hypercomplex[n * n], b = new Hypercomplex[n];
+			for (int i = 0; i < n; ++i) {
+				for (int j = 0; j <= n; ++j) {
+					augmented[i * (n + 1) + j] = random.nextGaussian();
+					if (j < n) {
+						a[i * n + j] = new Complex(augmented[i * (n + 1) + j]);
+					} else {
+						b[i] = new Complex(augmented[i * (n + 1) + j]);
+					}
+				}
+			}
+			int runs = Math.max(1, 4096 / (n * n));
+			long start = System.nanoTime();
+			for (int k = 0; k < runs; ++k) {
+				new HypercomplexLSE(n, augmented).solve();
+			}
+			long lse = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int k = 0; k < runs; ++k) {
+				new HypercomplexLU(n, a).solve(b);
+			}
+			long lu = System.nanoTime() - start;
+			System.out.println("n = " + n + ": HypercomplexLSE " + lse / runs / 1e6 + " ms, HypercomplexLU " + lu / runs / 1e6 + " ms");
+		}
+	}
+
+	private static int at(int n, int i, int j) {
+		return 2 * (i * n + j);
+	}
+
+	private static Hypercomplex number(String type, double re, double im) {
+		if (type.equals("binary")) {
+			return new Binary(re, im);
+		}
+		if (type.equals("dual")) {
+			return new Dual(re, im);
+		}
+		return new Complex(re, im);
+	}
+
+	private static void assertResidual(int n, Hypercomplex[] a, Hypercomplex[] x, Hypercomplex[] b) {
+		for (int i = 0; i < n; ++i) {
+			Hypercomplex sum = b[i].times(0);
+			for (int j = 0; j < n; ++j) {
+				sum = sum.plus(a[i * n + j].times(x[j]));
+			}
+			Assert.assertTrue(sum + " != " + b[i], sum.minus(b[i]).r() < 1e-8);
+		}
 	}
 
 }
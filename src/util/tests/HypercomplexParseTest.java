@@ -1,13 +1,20 @@
 package util.tests;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+
 import junit.framework.Assert;
 
 import org.junit.Test;
 
 import util.hypercomplex.Binary;
 import util.hypercomplex.Complex;
+import util.hypercomplex.ComplexArray;
 import util.hypercomplex.Dual;
 import util.hypercomplex.Hypercomplex;
+import util.hypercomplex.HypercomplexScanner;
+import util.hypercomplex.HypercomplexScanner.Status;
 
 public class HypercomplexParseTest {
 
@@ -58,5 +65,61 @@ public class HypercomplexParseTest {
 			Assert.assertEquals(di1.toString(), test.toString());
 		}
 	}
+
+	@Test
+	public void testScanner() throws IOException {
+		HypercomplexScanner scanner = new HypercomplexScanner();
+		Assert.assertEquals(Status.OK, scanner.tryParse("1e-2 + 1e5î"));
+		Assert.assertEquals(0.01, scanner.re());
+		Assert.assertEquals(1e5, scanner.im());
+		Assert.assertEquals('î', scanner.unit());
+		Assert.assertEquals(new Complex(0.01, 1e5), Hypercomplex.parseHypercomplex("1e-2 + 1e5î"));
+		Assert.assertEquals(new Complex(-1, -1), HypercomplexScanner.parse("-1 - î"));
+		Assert.assertEquals(new Binary(Math.PI, Math.E), HypercomplexScanner.parse("pi + eÊ"));
+		Assert.assertEquals(new Dual(0, 3.1), HypercomplexScanner.parse(" 3.1 * ê "));
+		Assert.assertTrue(HypercomplexScanner.parse("2Ê").isBinary());
+		// the unit of a literal decides its kind (these were complex numbers before the scanner)
+		Assert.assertEquals(new Dual(1, 2), Hypercomplex.parseHypercomplex("1 + 2ê"));
+		Assert.assertEquals(new Dual(0.5, -2), Hypercomplex.parseHypercomplex("0.5 - 2ê"));
+		Assert.assertEquals(new Binary(0, 2), Hypercomplex.parseHypercomplex("2*Ê"));
+		Assert.assertEquals(new Binary(1, -1), Hypercomplex.parseHypercomplex("1 - 1Ê"));
+		Assert.assertTrue(Hypercomplex.parseHypercomplex("1 + 2ê").isDual());
+		Assert.assertTrue(Hypercomplex.parseHypercomplex("1 - 1Ê").isBinary());
+		Assert.assertEquals(Status.EMPTY, scanner.tryParse("  "));
+		// not a literal: the status tells where, nothing is thrown
+		Assert.assertEquals(Status.INVALID, scanner.tryParse("1 + 2î + 3Ê"));
+		Assert.assertEquals(10, scanner.errorIndex());
+		Assert.assertEquals(Status.INVALID, scanner.tryParse("cos(1)"));
+		Assert.assertEquals(Status.INVALID, scanner.tryParse("2e"));
+		Assert.assertEquals(Status.INVALID, scanner.tryParse("1 2"));
+		// but parseHypercomplex still calculates expressions
+		Assert.assertEquals(new Complex(Math.cos(1)), Hypercomplex.parseHypercomplex("cos(1)"));
+		// a range of a char buffer
+		CharBuffer buffer = CharBuffer.wrap("x=0.25-4.5î;");
+		Assert.assertEquals(Status.OK, scanner.tryParse(buffer, 2, 11));
+		Assert.assertEquals(new Complex(0.25, -4.5), scanner.result());
+		// exactly what Double.parseDouble() reads, also for long mantissas and big exponents
+		for (String number : new String[] {"0.1", "123456789.987654321", "1.7976931348623157e308", "4.9e-324", "0.30000000000000004", ".5", "7.", "1E22", "1e23"}) {
+			Assert.assertEquals(number, Double.parseDouble(number), HypercomplexScanner.parse(number).re(), 0);
+		}
+		for (int i = 0; i < Tests.MULTITEST_COUNT; ++i) {
+			Complex c = new Complex(Math.random() * 2e3 - 1e3, Math.random() * 2e-3 - 1e-3);
+			Assert.assertEquals(c.re(), HypercomplexScanner.parse(Double.toString(c.re())).re(), 0);
+			Assert.assertEquals(c.toString(), HypercomplexScanner.parse(c.toString()).toString());
+		}
+		// whole files
+		ComplexArray all = HypercomplexScanner.parseAll(new StringReader("1 + 2î\n\n-3.5;4î\r\n1e-2 + 1e5î\n"));
+		Assert.assertEquals(4, all.size());
+		Assert.assertEquals(new Complex(1, 2), all.get(0));
+		Assert.assertEquals(new Complex(-3.5), all.get(1));
+		Assert.assertEquals(new Complex(0, 4), all.get(2));
+		Assert.assertEquals(new Complex(0.01, 1e5), all.get(3));
+		try {
+			HypercomplexScanner.parseAll(new StringReader("1\n2Ê"));
+			Assert.fail("binary literal in a complex array");
+		} catch (NumberFormatException e) {
+			Assert.assertTrue(e.getMessage().startsWith("line 2"));
+		}
+	}
 	
 }
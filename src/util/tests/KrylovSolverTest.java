@@ -0,0 +1,197 @@
+package util.tests;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import util.hypercomplex.Complex;
+import util.hypercomplex.ComplexArray;
+import util.hypercomplex.ComplexOperator;
+import util.hypercomplex.KrylovListener;
+import util.hypercomplex.KrylovSolver;
+import util.hypercomplex.SparseComplexMatrix;
+
+public class KrylovSolverTest {
+
+	@Test
+	public void testSparseComplexMatrix() {
+		// duplicates are added up, zeros left out, any order
+		SparseComplexMatrix a = new SparseComplexMatrix(3,
+				new int[] {2, 0, 0, 1, 2, 0, 1},
+				new int[] {0, 2, 0, 1, 0, 1, 2},
+				new double[] {1, 5, 2, 3, 1, 0, 4},
+				new double[] {0, 0, 1, 0, 1, 0, 0});
+		Assert.assertEquals(3, a.size());
+		Assert.assertEquals(5, a.nonZeros());
+		Assert.assertEquals(new Complex(2, 1), a.get(0, 0));
+		Assert.assertEquals(new Complex(2, 1), a.get(2, 0));
+		Assert.assertEquals(new Complex(), a.get(0, 1));
+		Assert.assertFalse(a.isSymmetric());
+		ComplexArray x = new ComplexArray(3);
+		x.set(0, 1, 0);
+		x.set(1, 0, 1);
+		x.set(2, 1, 1);
+		ComplexArray y = a.times(x);
+		Assert.assertEquals(new Complex(7, 6), y.get(0));
+		Assert.assertEquals(new Complex(4, 7), y.get(1));
+		Assert.assertEquals(new Complex(2, 1), y.get(2));
+		Assert.assertEquals(new Complex(3), a.diagonal().get(1));
+		// big matrices are multiplied in parallel, that mustn't change anything
+		int g = 100;
+		SparseComplexMatrix helmholtz = helmholtz(g, 0);
+		Assert.assertTrue(helmholtz.isSymmetric());
+		Assert.assertTrue(helmholtz.nonZeros() > 40000);
+		x = random(new Random(1), g * g);
+		y = helmholtz.times(x);
+		ComplexArray expected = new ComplexArray(g * g);
+		stencil(g, 0).apply(x, expected);
+		for (int k = 0; k < g * g; ++k) {
+			Assert.assertEquals(expected.re(k), y.re(k), 1e-12);
+			Assert.assertEquals(expected.im(k), y.im(k), 1e-12);
+		}
+	}
+
+	@Test
+	public void testKrylovSolver() {
+		int g = 30, n = g * g;
+		Random random = new Random(2);
+		ComplexArray b = random(random, n);
+		// complex symmetric: all three
+		SparseComplexMatrix a = helmholtz(g, 0);
+		KrylovSolver solver = new KrylovSolver(a, a.jacobi());
+		ComplexArray x = new ComplexArray(n);
+		Assert.assertTrue(solver.cocg(b, x));
+		assertSolution(a, b, x);
+		Assert.assertEquals(solver.getIterations() + 1, solver.getResidualHistory().length);
+		Assert.assertTrue(solver.getResidualHistory()[solver.getIterations()] <= KrylovSolver.DEFAULT_TOLERANCE);
+		x = new ComplexArray(n);
+		Assert.assertTrue(solver.bicgstab(b, x));
+		assertSolution(a, b, x);
+		x = new ComplexArray(n);
+		Assert.assertTrue(solver.gmres(b, x));
+		assertSolution(a, b, x);
+		// the gmres residual doesn't grow within a cycle
+		double[] history = solver.getResidualHistory();
+		for (int k = 1; k < history.length; ++k) {
+			Assert.assertTrue(k % KrylovSolver.DEFAULT_RESTART == 1 || history[k] <= history[k - 1] * (1 + 1e-12));
+		}
+		// the solution is a good guess
+		Assert.assertTrue(solver.gmres(b, x));
+		Assert.assertEquals(0, solver.getIterations());
+		// not symmetric (convection): bicgstab and gmres, also matrix-free
+		a = helmholtz(g, 0.3);
+		Assert.assertFalse(a.isSymmetric());
+		for (ComplexOperator operator : new ComplexOperator[] {a, stencil(g, 0.3)}) {
+			solver = new KrylovSolver(operator, a.jacobi());
+			x = new ComplexArray(n);
+			Assert.assertTrue(solver.bicgstab(b, x));
+			assertSolution(a, b, x);
+			x = new ComplexArray(n);
+			Assert.assertTrue(solver.gmres(b, x, 50));
+			assertSolution(a, b, x);
+		}
+		// the listener gets every residual and can stop the solver
+		final ArrayList<Double> residuals = new ArrayList<Double>();
+		solver = new KrylovSolver(a);
+		solver.setListener(new KrylovListener() {
+			@Override
+			public boolean iteration(int iteration, double residual) {
+				residuals.add(residual);
+				return iteration < 3;
+			}
+		});
+		Assert.assertFalse(solver.bicgstab(b, new ComplexArray(n)));
+		Assert.assertEquals(3, solver.getIterations());
+		Assert.assertEquals(3, residuals.size());
+		Assert.assertEquals(residuals.get(2), solver.getResidualHistory()[3]);
+	}
+
+	/**
+	 * the 5-point laplacian on a g x g grid minus k² with damping (complex symmetric),
+	 * plus a convection term (not symmetric)
+	 */
+	private static SparseComplexMatrix helmholtz(int g, double convection) {
+		ArrayList<int[]> positions = new ArrayList<int[]>();
+		ArrayList<double[]> values = new ArrayList<double[]>();
+		for (int i = 0; i < g; ++i) {
+			for (int j = 0; j < g; ++j) {
+				int k = i * g + j;
+				positions.add(new int[] {k, k});
+				values.add(new double[] {4 - 0.5, 0.2});
+				int[][] neighbours = {{i - 1, j}, {i + 1, j}, {i, j - 1}, {i, j + 1}};
+				for (int[] neighbour : neighbours) {
+					if (neighbour[0] >= 0 && neighbour[0] < g && neighbour[1] >= 0 && neighbour[1] < g) {
+						positions.add(new int[] {k, neighbour[0] * g + neighbour[1]});
+						values.add(new double[] {-1 + (neighbour[1] > j ? convection : 0), 0});
+					}
+				}
+			}
+		}
+		int count = positions.size();
+		int[] rows = new int[count], columns = new int[count];
+		double[] re = new double[count], im = new double[count];
+		for (int k = 0; k < count; ++k) {
+			rows[k] = positions.get(k)[0];
+			columns[k] = positions.get(k)[1];
+			re[k] = values.get(k)[0];
+			im[k] = values.get(k)[1];
+		}
+		return new SparseComplexMatrix(g * g, rows, columns, re, im);
+	}
+
+	/**
+	 * the same matrix, matrix-free
+	 */
+	private static ComplexOperator stencil(final int g, final double convection) {
+		return new ComplexOperator() {
+			@Override
+			public void apply(ComplexArray x, ComplexArray result) {
+				for (int i = 0; i < g; ++i) {
+					for (int j = 0; j < g; ++j) {
+						int k = i * g + j;
+						double re = 3.5 * x.re(k) - 0.2 * x.im(k), im = 3.5 * x.im(k) + 0.2 * x.re(k);
+						if (i > 0) {
+							re -= x.re(k - g);
+							im -= x.im(k - g);
+						}
+						if (i < g - 1) {
+							re -= x.re(k + g);
+							im -= x.im(k + g);
+						}
+						if (j > 0) {
+							re -= x.re(k - 1);
+							im -= x.im(k - 1);
+						}
+						if (j < g - 1) {
+							re += (convection - 1) * x.re(k + 1);
+							im += (convection - 1) * x.im(k + 1);
+						}
+						result.set(k, re, im);
+					}
+				}
+			}
+		};
+	}
+
+	private static ComplexArray random(Random random, int n) {
+		ComplexArray result = new ComplexArray(n);
+		for (int k = 0; k < n; ++k) {
+			result.set(k, random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1);
+		}
+		return result;
+	}
+
+	private static void assertSolution(SparseComplexMatrix a, ComplexArray b, ComplexArray x) {
+		ComplexArray r = b.minus(a.times(x));
+		double residual = 0, norm = 0;
+		for (int k = 0; k < b.size(); ++k) {
+			residual += r.re(k) * r.re(k) + r.im(k) * r.im(k);
+			norm += b.re(k) * b.re(k) + b.im(k) * b.im(k);
+		}
+		Assert.assertTrue("" + Math.sqrt(residual / norm), Math.sqrt(residual / norm) < 1e-9);
+	}
+
+}
@@ -0,0 +1,161 @@
+package util.tests;
+
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import util.hypercomplex.Binary;
+import util.hypercomplex.BinaryArray;
+import util.hypercomplex.BinaryPolynominal;
+import util.hypercomplex.Complex;
+import util.hypercomplex.ComplexArray;
+import util.hypercomplex.Polynominal;
+
+public class PolynominalTest {
+
+	@Test
+	public void testEvaluate() {
+		// (1 + i) + 2z + z³
+		Polynominal p = new Polynominal(new Complex(1, 1), new Complex(2), new Complex(), new Complex(1), new Complex());
+		Assert.assertEquals(3, p.degree());
+		Complex z = new Complex(0.5, -2);
+		Assert.assertTrue(p.evaluate(z).minus(new Complex(1, 1).plus(z.times(2)).plus(z.pow(3))).r() < Tests.DELTA);
+		// p' = 2 + 3z²
+		Assert.assertTrue(p.derivative().evaluate(z).minus(z.pow(2).times(3).plus(new Complex(2))).r() < Tests.DELTA);
+	}
+
+	@Test
+	public void testKnownRoots() {
+		// (z - 1)(z + 2)(z - i)(z - 3 + 2i)
+		Complex[] expected = {new Complex(1), new Complex(-2), new Complex(0, 1), new Complex(3, -2)};
+		Polynominal p = new Polynominal(fromRoots(expected));
+		ComplexArray roots = p.roots();
+		Assert.assertEquals(4, roots.size());
+		for (Complex root : expected) {
+			double nearest = Double.MAX_VALUE;
+			for (int k = 0; k < roots.size(); ++k) {
+				nearest = Math.min(nearest, roots.get(k).minus(root).r());
+			}
+			Assert.assertTrue(root + " not found in " + roots, nearest < 1e-10);
+		}
+	}
+
+	@Test
+	public void testDegree200() {
+		Random random = new Random(17);
+		double[] re = new double[201], im = new double[201];
+		for (int k = 0; k <= 200; ++k) {
+			re[k] = random.nextGaussian();
+			im[k] = random.nextGaussian();
+		}
+		Polynominal p = new Polynominal(re, im);
+		Polynominal d = p.derivative();
+		ComplexArray roots = null;
+		// the best of a few runs (after warming up) against 100 newton sweeps over all roots with the scalar evaluate()
+		long time = Long.MAX_VALUE, sweeps = Long.MAX_VALUE;
+		for (int run = 0; run < 4; ++run) {
+			long start = System.nanoTime();
+			roots = p.roots();
+			time = Math.min(time, System.nanoTime() - start);
+			start = System.nanoTime();
+			for (int sweep = 0; sweep < 100; ++sweep) {
+				for (int k = 0; k < roots.size(); ++k) {
+					p.evaluate(roots.get(k)).by(d.evaluate(roots.get(k)));
+				}
+			}
+			sweeps = Math.min(sweeps, System.nanoTime() - start);
+		}
+		System.out.println("degree 200: roots() " + time / 1e6 + " ms, 100 newton sweeps " + sweeps / 1e6 + " ms");
+		Assert.assertEquals(200, roots.size());
+		Assert.assertTrue("took " + time / 1e6 + " ms, 100 newton sweeps " + sweeps / 1e6 + " ms", time < sweeps);
+		assertRoots(p, roots);
+		// a nearby polynominal, starting from the old roots
+		re[0] += 1e-3;
+		im[100] -= 1e-3;
+		Polynominal q = new Polynominal(re, im);
+		int iterations = q.refineRoots(roots);
+		Assert.assertTrue(iterations + " iterations", iterations <= 8);
+		assertRoots(q, roots);
+	}
+
+	@Test
+	public void testBinaryRoots() {
+		// z² - 1 has the roots 1, -1, E and -E
+		BinaryPolynominal p = new BinaryPolynominal(new Binary(-1), new Binary(), new Binary(1));
+		BinaryArray roots = p.roots();
+		Assert.assertEquals(4, roots.size());
+		for (int k = 0; k < roots.size(); ++k) {
+			Assert.assertTrue(p.evaluate(roots.get(k)).r() < 1e-10);
+			Assert.assertTrue(Math.abs(Math.abs(roots.re(k)) + Math.abs(roots.im(k)) - 1) < 1e-10);
+		}
+		// (2 + E) - (3 + E) * z + z²: A part 1 - 2z + z² (double root 1), B part 3 - 4z + z² (roots 1 and 3)
+		p = new BinaryPolynominal(new Binary(2, 1), new Binary(-3, -1), new Binary(1));
+		roots = p.roots();
+		// every pair of a root of the A part and one of the B part, with the double root twice
+		Assert.assertEquals(4, roots.size());
+		for (int k = 0; k < roots.size(); ++k) {
+			Binary z = roots.get(k);
+			Assert.assertTrue(z + ": " + p.evaluate(z), p.evaluate(z).r() < 1e-6);
+		}
+		// z² + 1 has no binary roots (both parts have only complex ones)
+		Assert.assertEquals(0, new BinaryPolynominal(new Binary(1), new Binary(), new Binary(1)).roots().size());
+		// the A part is zero, but the B part 1 + z² has no real root, so there's no root at all
+		Binary b = Binary.fromDiagonalBasis(0, 1);
+		Assert.assertEquals(0, new BinaryPolynominal(b, new Binary(), b).roots().size());
+		// the A part is zero and the B part -1 + z has the root 1, so every A part makes a root
+		Assert.assertTrue(new BinaryPolynominal(b.times(-1), b).roots() == null);
+	}
+
+	@Test
+	public void testNoCoefficients() {
+		int rejected = 0;
+		try {
+			new Polynominal(new Complex[0]);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			new Polynominal(new double[0]);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			new BinaryPolynominal();
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		Assert.assertEquals(3, rejected);
+	}
+
+	private static void assertRoots(Polynominal p, ComplexArray roots) {
+		Polynominal d = p.derivative();
+		for (int k = 0; k < roots.size(); ++k) {
+			// newton's error estimate |p / p'| has to be tiny
+			double error = p.evaluate(roots.get(k)).r() / d.evaluate(roots.get(k)).r();
+			Assert.assertTrue(roots.get(k) + ": " + error, error < 1e-10 * Math.max(1, roots.get(k).r()));
+		}
+	}
+
+	private static Complex[] fromRoots(Complex[] roots) {
+		Complex[] result = {new Complex(1)};
+		for (Complex root : roots) {
+			Complex[] next = new Complex[result.length + 1];
+			next[result.length] = new Complex();
+			for (int k = 0; k < next.length; ++k) {
+				Complex c = new Complex();
+				if (k > 0) {
+					c = c.plus(result[k - 1]);
+				}
+				if (k < result.length) {
+					c = c.minus(result[k].times(root));
+				}
+				next[k] = c;
+			}
+			result = next;
+		}
+		return result;
+	}
+
+}
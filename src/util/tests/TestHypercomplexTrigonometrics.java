@@ -1,13 +1,24 @@
 package util.tests;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Random;
+
 import junit.framework.Assert;
 
 import org.junit.Test;
 
 import util.hypercomplex.Binary;
+import util.hypercomplex.BinaryArray;
 import util.hypercomplex.Complex;
+import util.hypercomplex.ComplexArray;
 import util.hypercomplex.Hypercomplex;
 import util.hypercomplex.Dual;
+import util.hypercomplex.DualArray;
+import util.hypercomplex.HypercomplexArray;
+import util.hypercomplex.TrigBundle;
 
 public class TestHypercomplexTrigonometrics {
 	
@@ -276,4 +287,133 @@ public class TestHypercomplexTrigonometrics {
 		
 	}
 
+	@Test
+	public void testHypercomplexArrays() throws Exception {
+
+		// the arrays must give the same values as the single numbers, element by element
+		Random random = new Random(7);
+		ArrayList<Complex> complex = new ArrayList<Complex>();
+		ArrayList<Binary> binary = new ArrayList<Binary>();
+		ArrayList<Dual> dual = new ArrayList<Dual>();
+		for (int k = 0; k < 100; ++k) {
+			complex.add(new Complex(random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1));
+			binary.add(new Binary(random.nextDouble() * 0.5 + 0.2, random.nextDouble() * 0.2 - 0.1));
+			dual.add(new Dual(random.nextDouble() * 0.5 + 0.1, random.nextDouble() * 2 - 1));
+		}
+		String[] functions = {"inverse", "conjugate", "exp", "ln",
+				"sin", "cos", "tan", "cot", "sec", "csc", "asin", "acos", "atan", "acot", "asec", "acsc",
+				"sinh", "cosh", "tanh", "coth", "sech", "csch", "asinh", "acosh", "atanh", "acoth", "asech", "acsch"};
+		HypercomplexArray<?>[] arrays = {new ComplexArray(complex), new BinaryArray(binary), new DualArray(dual)};
+		for (HypercomplexArray<?> array : arrays) {
+			for (String function : functions) {
+				HypercomplexArray<?> result = (HypercomplexArray<?>)array.getClass().getMethod(function).invoke(array);
+				Method single = Hypercomplex.class.getMethod(function);
+				for (int k = 0; k < array.size(); ++k) {
+					Hypercomplex expected;
+					try {
+						expected = (Hypercomplex)single.invoke(array.get(k));
+					} catch (InvocationTargetException e) {
+						expected = null; // an intermediate result was null (outside of the domain)
+					}
+					assertSame(function, expected, result.get(k));
+				}
+			}
+		}
+
+		// powers
+		ComplexArray c = new ComplexArray(complex);
+		BinaryArray b = new BinaryArray(binary);
+		DualArray d = new DualArray(dual);
+		Complex w = new Complex(0.5, -1.5);
+		ComplexArray cPow = c.pow(w);
+		BinaryArray bPow = b.pow(new Binary(1.5, 0.5));
+		DualArray dPow = d.pow(new Dual(2.5, 0.5));
+		DualArray dNegative = d.times(-1).pow(3);
+		ComplexArray cProduct = c.times(c.slice(0, 100)).plus(w);
+		for (int k = 0; k < c.size(); ++k) {
+			assertSame("pow", complex.get(k).pow(w), cPow.get(k));
+			assertSame("pow", binary.get(k).pow(new Binary(1.5, 0.5)), bPow.get(k));
+			assertSame("pow", dual.get(k).pow(new Dual(2.5, 0.5)), dPow.get(k));
+			assertSame("pow", dual.get(k).times(-1).pow(3), dNegative.get(k));
+			assertSame("times", complex.get(k).times(complex.get(k)).plus(w), cProduct.get(k));
+		}
+		Assert.assertTrue(Double.isNaN(new BinaryArray(new double[] {1}, new double[] {2}).ln().re(0)));
+
+		// slices and buffers share the columns
+		ComplexArray slice = c.slice(10, 20);
+		Assert.assertEquals(10, slice.size());
+		Assert.assertEquals(complex.get(15), slice.get(5));
+		slice.set(5, Complex.I);
+		Assert.assertEquals(Complex.I, c.get(15));
+		DoubleBuffer buffer = slice.imBuffer();
+		Assert.assertEquals(10, buffer.remaining());
+		buffer.put(5, 2);
+		Assert.assertEquals(new Complex(0, 2), c.get(15));
+		Assert.assertEquals(new Complex(0, 2), c.copy().get(15));
+		Assert.assertEquals(complex.get(16), slice.toList().get(6));
+
+		// the operands of element wise operations must have the same size, a shorter slice mustn't read past its end
+		for (HypercomplexArray<?> array : arrays) {
+			HypercomplexArray<?> part = array.slice(10, 20), shorter = array.slice(50, 55);
+			for (String function : new String[] {"plus", "minus", "times", "by", "pow"}) {
+				Method method = array.getClass().getMethod(function, HypercomplexArray.class);
+				for (HypercomplexArray<?>[] operands : new HypercomplexArray<?>[][] {{part, shorter}, {shorter, part}, {array, part}}) {
+					boolean catched = false;
+					try {
+						method.invoke(operands[0], operands[1]);
+					} catch (InvocationTargetException e) {
+						catched = e.getCause() instanceof IllegalArgumentException;
+					}
+					Assert.assertTrue(function, catched);
+				}
+			}
+			Assert.assertEquals(10, ((HypercomplexArray<?>)array.getClass().getMethod("times", HypercomplexArray.class)
+					.invoke(part, array.slice(30, 40))).size());
+		}
+	}
+
+	@Test
+	public void testTrigBundle() {
+
+		// sincos and the bundles have to give the same values as the single functions
+		Random random = new Random(11);
+		for (int i = 0; i < Tests.MULTITEST_COUNT; ++i) {
+			double re = random.nextDouble() * 4 - 2, im = random.nextDouble() * 4 - 2;
+			for (Hypercomplex x : new Hypercomplex[] {new Complex(re, im), new Binary(re, im), new Dual(re, im)}) {
+				Hypercomplex sin = x.sin(), cos = x.cos(), sinh = x.sinh(), cosh = x.cosh();
+				Hypercomplex[] sincos = x.sincos(), sinhcosh = x.sinhcosh();
+				assertSame("sin", sin, sincos[0]);
+				assertSame("cos", cos, sincos[1]);
+				assertSame("sinh", sinh, sinhcosh[0]);
+				assertSame("cosh", cosh, sinhcosh[1]);
+				Assert.assertEquals(sin.getClass(), sincos[0].getClass());
+				TrigBundle trig = x.trig(), trigh = x.trigh();
+				assertSame("tan", sin.by(cos), trig.tan());
+				assertSame("cot", cos.by(sin), trig.cot());
+				assertSame("sec", cos.inverse(), trig.sec());
+				assertSame("csc", sin.inverse(), trig.csc());
+				assertSame("tanh", sinh.by(cosh), trigh.tan());
+				assertSame("coth", cosh.by(sinh), trigh.cot());
+				assertSame("sech", cosh.inverse(), trigh.sec());
+				assertSame("csch", sinh.inverse(), trigh.csc());
+				assertSame("tan", sin.by(cos), x.tan());
+				assertSame("csch", sinh.inverse(), x.csch());
+			}
+		}
+		// one exponential for both hyperbolic parts, but still exact for tiny and huge arguments
+		Assert.assertEquals(1e-12, new Complex(0, 1e-12).sin().im(), 1e-28);
+		Assert.assertEquals(Math.sinh(0.3), new Complex(0, 0.3).sin().im(), 1e-16);
+		Assert.assertEquals(Math.cosh(0.3), new Complex(0.3, 0).cosh().re(), 1e-16);
+		Assert.assertEquals(Math.sinh(-30), new Complex(-30, 0).sinh().re(), 1);
+		Assert.assertTrue(Double.isInfinite(new Complex(800, 0).cosh().re()));
+	}
+
+	private static void assertSame(String function, Hypercomplex expected, Hypercomplex actual) {
+		if (expected == null || Double.isNaN(expected.re()) || Double.isNaN(expected.im())) {
+			Assert.assertTrue(function, Double.isNaN(actual.re()) || Double.isNaN(actual.im()));
+		} else {
+			Assert.assertEquals(function + " " + expected + " != " + actual, expected, actual);
+		}
+	}
+
 }
@@ -133,4 +133,27 @@ public class Tests {
 		return factor >= 1 && factor - 1 < DELTA * inaccuracy;
 	}
 	
+	/**
+	 * The number of the lowest mantissa bits that are ignored by hashValue().
+	 * The rest gives a relative grid of 2^-20 (about 1e-6), way coarser than DELTA.
+	 */
+	private final static int HASH_IGNORED_BITS = 32;
+	
+	/**
+	 * Returns a hash code for a value, that fits compareValue():
+	 * values smaller than DELTA hash like zero and the others are rounded to a relative grid,
+	 * that is much coarser than DELTA. So values that compare as equal get the same hash code,
+	 * unless they lie right at the edge of the grid (which is rare and unavoidable with a tolerance).
+	 * @param value the value
+	 * @return the hash code
+	 */
+	public static int hashValue(double value) {
+		if (!(Math.abs(value) >= DELTA)) { // also NaN
+			return 0;
+		}
+		long bits = Double.doubleToLongBits(value);
+		bits = (bits + (1L << (HASH_IGNORED_BITS - 1))) >>> HASH_IGNORED_BITS;
+		return (int)(bits ^ (bits >>> 32));
+	}
+	
 }
@@ -4,6 +4,7 @@ package util.tests;
 import org.junit.Test;
 
 import util.hypercomplex.ultracomplex.Ultra;
+import util.hypercomplex.ultracomplex.UltraBatch;
 
 public class UltraPerformanceTest {
 
@@ -246,6 +247,70 @@ public class UltraPerformanceTest {
 		
 	}
 
+	@Test
+	public void testBatchPerformance() {
+		int size = 100000;
+		Ultra[] a = new Ultra[size];
+		Ultra[] b = new Ultra[size];
+		for (int k = 0; k < size; ++k) {
+			a[k] = new Ultra(2, 3, 5, 7, 11, 13, 17, 19).times(1.0 / (k + 1));
+			b[k] = new Ultra(3, 5, 7, 11, 13, 17, 19, 2).times(1.0 / (k + 1));
+		}
+		UltraBatch x = new UltraBatch(a);
+		UltraBatch y = new UltraBatch(b);
+
+		System.out.print("a[k].times(b[k]): ");
+		start();
+		for (int i = 0; i < TESTS; ++i) {
+			for (int k = 0; k < size; ++k) {
+				a[k].times(b[k]);
+			}
+		}
+		end();
+		System.out.println(" ms / " + size + " operations");
+		System.out.print("x.times(y): ");
+		start();
+		for (int i = 0; i < TESTS; ++i) {
+			x.times(y);
+		}
+		end();
+		System.out.println(" ms / " + size + " operations");
+
+		System.out.print("a[k].by(b[k]): ");
+		start();
+		for (int i = 0; i < TESTS; ++i) {
+			for (int k = 0; k < size; ++k) {
+				a[k].by(b[k]);
+			}
+		}
+		end();
+		System.out.println(" ms / " + size + " operations");
+		System.out.print("x.by(y): ");
+		start();
+		for (int i = 0; i < TESTS; ++i) {
+			x.by(y);
+		}
+		end();
+		System.out.println(" ms / " + size + " operations");
+
+		System.out.print("a[k].exp(): ");
+		start();
+		for (int i = 0; i < TESTS; ++i) {
+			for (int k = 0; k < size; ++k) {
+				a[k].exp();
+			}
+		}
+		end();
+		System.out.println(" ms / " + size + " operations");
+		System.out.print("x.exp(): ");
+		start();
+		for (int i = 0; i < TESTS; ++i) {
+			x.exp();
+		}
+		end();
+		System.out.println(" ms / " + size + " operations");
+	}
+
 	void start() {
 		start = System.currentTimeMillis();
 	}
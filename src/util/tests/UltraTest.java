@@ -1,5 +1,8 @@
 package util.tests;
 
+import java.util.HashSet;
+import java.util.Random;
+
 import junit.framework.Assert;
 
 import org.junit.Test;
@@ -8,7 +11,15 @@ import util.hypercomplex.Binary;
 import util.hypercomplex.Complex;
 import util.hypercomplex.Dual;
 import util.hypercomplex.Hypercomplex;
+import util.hypercomplex.ultracomplex.Component;
+import util.hypercomplex.ultracomplex.LnOptions;
+import util.hypercomplex.ultracomplex.UltraBatch;
+import util.hypercomplex.ultracomplex.UltraFunction;
+import util.hypercomplex.ultracomplex.UltraOperator;
+import util.hypercomplex.ultracomplex.UltraParallel;
 import util.hypercomplex.ultracomplex.Ultra;
+import util.hypercomplex.ultracomplex.UltraAccumulator;
+import util.hypercomplex.ultracomplex.UltraLSE;
 
 public class UltraTest {
 
@@ -226,6 +237,465 @@ public class UltraTest {
 		
 	}
 	
+	@Test
+	public void testLSE() {
+		// all eight components
+		Random random = new Random(17);
+		int n = 3;
+		Ultra[] x = new Ultra[n], augmented = new Ultra[n * (n + 1)];
+		for (int j = 0; j < n; ++j) {
+			x[j] = randomUltra(random);
+		}
+		for (int i = 0; i < n; ++i) {
+			Ultra sum = new Ultra();
+			for (int j = 0; j < n; ++j) {
+				augmented[i * (n + 1) + j] = randomUltra(random);
+				sum = sum.plus(augmented[i * (n + 1) + j].times(x[j]));
+			}
+			augmented[i * (n + 1) + n] = sum;
+		}
+		UltraLSE lse = new UltraLSE(n, augmented);
+		Assert.assertTrue(lse.solve());
+		Assert.assertEquals(0, lse.getNullity());
+		Ultra[] solution = lse.getSolution();
+		for (int j = 0; j < n; ++j) {
+			Assert.assertTrue(x[j] + " != " + solution[j], x[j].equals(solution[j]));
+		}
+		// 1 + binary unit is a zero divisor, the other row has to be the pivot
+		Ultra zeroDivisor = new Ultra(1, 1, 0, 0, 0, 0, 0, 0);
+		lse = new UltraLSE(2,
+				zeroDivisor, new Ultra(1), new Ultra(3, 1, 0, 0, 0, 0, 0, 0),
+				new Ultra(2), new Ultra(3), new Ultra(8));
+		Assert.assertTrue(lse.solve());
+		solution = lse.getSolution();
+		Assert.assertEquals(new Ultra(1), solution[0]);
+		Assert.assertEquals(new Ultra(2), solution[1]);
+		// dependent equations: one free variable
+		lse = new UltraLSE(2, new Ultra(1), new Ultra(1), new Ultra(2), new Ultra(2), new Ultra(2), new Ultra(4));
+		Assert.assertFalse(lse.solve());
+		Assert.assertTrue(lse.isConsistent());
+		Assert.assertEquals(1, lse.getNullity());
+		Assert.assertEquals(new Ultra(2), lse.getSolution()[0]);
+		lse = new UltraLSE(2, new Ultra(1), new Ultra(1), new Ultra(2), new Ultra(2), new Ultra(2), new Ultra(5));
+		Assert.assertFalse(lse.solve());
+		Assert.assertFalse(lse.isConsistent());
+		// a column of zero divisors only determines the part of x along (1 + Ê) / 2, the other part is zero
+		lse = new UltraLSE(2, zeroDivisor, new Ultra(), zeroDivisor, new Ultra(), new Ultra(1), new Ultra(3));
+		Assert.assertFalse(lse.solve());
+		Assert.assertTrue(lse.isConsistent());
+		Assert.assertEquals(1, lse.getRank());
+		Assert.assertEquals(new Ultra(3), lse.getSolution()[1]);
+		Assert.assertEquals(new Ultra(0.5, 0.5, 0, 0, 0, 0, 0, 0), lse.getSolution()[0]);
+		// only zero divisors in the column, but together the rows determine x == 1
+		Ultra plus = zeroDivisor, minus = new Ultra(1, -1, 0, 0, 0, 0, 0, 0);
+		lse = new UltraLSE(1, plus, plus, minus, minus);
+		Assert.assertTrue(lse.solve());
+		Assert.assertEquals(1, lse.getRank());
+		Assert.assertEquals(0, lse.getNullity());
+		Assert.assertEquals(new Ultra(1), lse.getSolution()[0]);
+		// (1 + Ê) * x == 1 + Ê is solved by x == 1, but also by 1 + t * (1 - Ê)
+		lse = new UltraLSE(1, plus, plus);
+		Assert.assertFalse(lse.solve());
+		Assert.assertTrue(lse.isConsistent());
+		Assert.assertEquals(1, lse.getNullity());
+		Assert.assertEquals(plus, plus.times(lse.getSolution()[0]));
+		// (1 + Ê) * x == 1 has no solution
+		lse = new UltraLSE(1, plus, new Ultra(1));
+		Assert.assertFalse(lse.solve());
+		Assert.assertFalse(lse.isConsistent());
+		// dual unit: ê * x == ê leaves the dual part of x free, ê * x == 1 has no solution
+		Ultra dual = new Ultra(0, 0, 0, 0, 1, 0, 0, 0);
+		lse = new UltraLSE(1, dual, dual);
+		Assert.assertFalse(lse.solve());
+		Assert.assertTrue(lse.isConsistent());
+		Assert.assertEquals(dual, dual.times(lse.getSolution()[0]));
+		lse = new UltraLSE(1, dual, new Ultra(1));
+		Assert.assertFalse(lse.solve());
+		Assert.assertFalse(lse.isConsistent());
+	}
+
+	private static Ultra randomUltra(Random random) {
+		return new Ultra(random.nextGaussian(), random.nextGaussian(), random.nextGaussian(), random.nextGaussian(),
+				random.nextGaussian(), random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+	}
+
+	@Test
+	public void testMultiplication() {
+		
+		/**
+		 * the written out product must match the multiplication and sign tables of the components.
+		 * also for the kernels of the complex, binary, dual, complex-binary and dual-complex numbers.
+		 */
+		int[] masks = {0x05, 0x03, 0x11, 0x0F, 0x55, 0xFF, 0x07, 0x33};
+		Random random = new Random(42);
+		for (int n = 0; n < 100; ++n) {
+			double[] x = new double[8];
+			double[] y = new double[8];
+			int mask = masks[n % masks.length];
+			for (int i = 0; i < 8; ++i) {
+				if ((mask & 1 << i) != 0) {
+					x[i] = random.nextDouble() * 10 - 5;
+					y[i] = random.nextDouble() * 10 - 5;
+				}
+			}
+			double[] expected = new double[8];
+			for (int i = 0; i < 8; ++i) {
+				for (int j = 0; j < 8; ++j) {
+					int code = Component.multiplicationCode(i, j);
+					if (code >= 0) {
+						expected[code] += Component.signFactor(i, j) * x[i] * y[j];
+					}
+				}
+			}
+			Ultra a = new Ultra(x[0], x[1], x[2], x[3], x[4], x[5], x[6], x[7]);
+			Ultra b = new Ultra(y[0], y[1], y[2], y[3], y[4], y[5], y[6], y[7]);
+			Ultra product = a.times(b);
+			Assert.assertEquals(mask, a.populatedMask());
+			for (int i = 0; i < 8; ++i) {
+				Assert.assertEquals(expected[i], product.getDouble(i), 0);
+			}
+			
+			// the destination may be one of the factors
+			Ultra dest = new Ultra(a);
+			Ultra.multiplyInto(dest, b, dest);
+			Assert.assertEquals(product, dest);
+			dest = new Ultra(b);
+			Ultra.multiplyInto(a, dest, dest);
+			Assert.assertEquals(product, dest);
+		}
+	}
+	
+	@Test
+	public void testAccumulator() {
+		
+		/**
+		 * the accumulator changes itself, but must give the same results as the usual operations.
+		 */
+		Ultra a = new Ultra(2, 3, 5, 7, 11, 13, 17, 19);
+		Ultra b = new Ultra(3, 5, 7, 11, 13, 17, 19, 2);
+		UltraAccumulator sum = new UltraAccumulator(a);
+		Assert.assertEquals(a.plus(b), sum.addTo(b));
+		Assert.assertEquals(a, sum.subtractFrom(b));
+		Assert.assertEquals(a.times(3), sum.scale(3));
+		Assert.assertEquals(a.times(3).times(b), sum.multiplyBy(b));
+		Assert.assertEquals(a.times(3).times(b).plus(a.times(b)), sum.fma(a, b));
+		Assert.assertEquals(b, sum.setFrom(b));
+		Assert.assertEquals(new Ultra(2), sum.setFrom(2));
+		
+		// horner scheme of 1 + a + a^2 + a^3
+		Ultra x = new Ultra(0.5, 0.1, 0.2, 0, 0.3, 0, 0, 0);
+		sum.setFrom(1).multiplyBy(x).addTo(Ultra.ONE).multiplyBy(x).addTo(Ultra.ONE).multiplyBy(x).addTo(Ultra.ONE);
+		Assert.assertEquals(Ultra.ONE.plus(x).plus(x.times(x)).plus(x.times(x).times(x)), sum);
+		
+		// the copy doesn't change with the accumulator
+		Ultra copy = sum.toUltra();
+		sum.scale(2);
+		Assert.assertFalse(copy.equals(sum));
+		Assert.assertEquals(copy.times(2), sum);
+	}
+	
+	@Test
+	public void testConjugate() {
+		
+		/**
+		 * for every combination of populated components the conjugate of the nested subalgebras
+		 * must give a real determinant and the same inverse as the product of all sign combinations.
+		 */
+		Random random = new Random(42);
+		for (int mask = 0; mask < 128; ++mask) {
+			double[] x = new double[8];
+			x[0] = random.nextDouble() + 1;
+			for (int i = 1; i < 8; ++i) {
+				if ((mask & 1 << (i - 1)) != 0) {
+					x[i] = random.nextDouble() - 0.5;
+				}
+			}
+			Ultra a = new Ultra(x[0], x[1], x[2], x[3], x[4], x[5], x[6], x[7]);
+			Assert.assertEquals(mask << 1 | 1, a.populatedMask());
+			Assert.assertEquals(new Ultra(a.det()), a.times(a.conjugate()));
+			// the product of all sign combinations gets inaccurate with many populated components
+			Ultra inverseByFactors = a.conjugateByFactors().by(a.detByFactors());
+			Assert.assertTrue(Ultra.ONE.equals(a.times(inverseByFactors), 1e6));
+			Assert.assertTrue(inverseByFactors.equals(a.inverse(), 1e6));
+			Assert.assertEquals(Ultra.ONE, a.times(a.inverse()));
+		}
+	}
+	
+	@Test
+	public void testExp() {
+		
+		/**
+		 * exp() in one pass must match the product of the exp() of all components:
+		 * exp(x * Ê) == cosh(x) + sinh(x) * Ê, exp(x * î) == cos(x) + sin(x) * î, exp(x * îÊ) == cos(x) + sin(x) * îÊ
+		 * and exp(x * ê) == 1 + x * ê, for all components with ê.
+		 */
+		Random random = new Random(42);
+		for (int n = 0; n < 100; ++n) {
+			double[] x = new double[8];
+			for (int i = 0; i < 8; ++i) {
+				x[i] = random.nextDouble() * 4 - 2;
+			}
+			Ultra a = new Ultra(x[0], x[1], x[2], x[3], x[4], x[5], x[6], x[7]);
+			Ultra product = new Ultra(Math.exp(x[0]));
+			product = product.times(new Ultra(Math.cosh(x[1])).plus(Ultra.unit(1).times(Math.sinh(x[1]))));
+			product = product.times(new Ultra(Math.cos(x[2])).plus(Ultra.unit(2).times(Math.sin(x[2]))));
+			product = product.times(new Ultra(Math.cos(x[3])).plus(Ultra.unit(3).times(Math.sin(x[3]))));
+			for (int i = 4; i < 8; ++i) {
+				product = product.times(Ultra.ONE.plus(Ultra.unit(i).times(x[i])));
+			}
+			Assert.assertEquals(product, a.exp());
+			Assert.assertEquals(Ultra.ONE, a.exp().times(a.times(-1).exp()));
+			
+			// the trigonometric functions share one exp()
+			Ultra sin = a.sin();
+			Ultra cos = a.cos();
+			Assert.assertEquals(Ultra.ONE, sin.times(sin).plus(cos.times(cos)));
+			Assert.assertEquals(sin.by(cos), a.tan());
+			Assert.assertEquals(cos.by(sin), a.cot());
+			Ultra sinh = a.sinh();
+			Ultra cosh = a.cosh();
+			Assert.assertEquals(Ultra.ONE, cosh.times(cosh).minus(sinh.times(sinh)));
+			Assert.assertEquals(sinh.by(cosh), a.tanh());
+			Assert.assertEquals(cosh.by(sinh), a.coth());
+		}
+	}
+	
+	@Test
+	public void testLn() {
+		
+		/**
+		 * exp(ln(x)) must give back x for all kinds of populated components,
+		 * the closed form alone must already be close and ln(exp(x)) == x for small components (principal value).
+		 */
+		Random random = new Random(42);
+		for (int n = 0; n < 256; ++n) {
+			Ultra a = new Ultra();
+			for (int i = 0; i < 8; ++i) {
+				if ((n & (1 << i)) != 0 || i == 0) {
+					a = a.plus(Ultra.unit(i).times(random.nextDouble() * 4 - 2));
+				}
+			}
+			if (a.det() == 0) {
+				continue;
+			}
+			Assert.assertEquals(a, a.ln().exp());
+			Assert.assertTrue(a.equals(a.ln(new LnOptions(0, 0)).exp(), 1e3));
+			Ultra small = a.times(0.25);
+			Assert.assertEquals(small, small.exp().ln());
+		}
+		
+		// the tolerance is honoured, ln(1) == 0
+		Ultra a = new Ultra(-1.5, 0.7, 0.3, -1.1, 0.4, -0.2, 1.3, 0.9);
+		Ultra residual = a.ln(new LnOptions(1e-6, 8)).exp().minus(a);
+		Assert.assertTrue(residual.length() <= 1e-6 * a.length());
+		Assert.assertEquals(new Ultra(), Ultra.ONE.ln());
+	}
+	
+	@Test
+	public void testPow() {
+		
+		/**
+		 * integer powers must equal repeated multiplication, also where ln() isn't defined (like for 1 + Ê),
+		 * sqrt() squared must give back the number.
+		 */
+		Random random = new Random(42);
+		for (int n = 0; n < 256; ++n) {
+			Ultra a = new Ultra();
+			for (int i = 0; i < 8; ++i) {
+				if ((n & (1 << i)) != 0 || i == 0) {
+					a = a.plus(Ultra.unit(i).times(random.nextDouble() * 4 - 2));
+				}
+			}
+			Ultra power = new Ultra(1);
+			for (int k = 0; k <= 7; ++k) {
+				Assert.assertEquals(power, a.pow(k));
+				Assert.assertEquals(power, a.pow(new Ultra(k)));
+				power = power.times(a);
+			}
+			Ultra sqrt = a.sqrt();
+			Assert.assertEquals(a, sqrt.times(sqrt));
+			if (a.det() == 0) {
+				continue;
+			}
+			Assert.assertEquals(a.inverse().times(a.inverse()).times(a.inverse()), a.pow(-3));
+			Assert.assertEquals(a.pow(2).times(sqrt), a.pow(new Ultra(2.5)));
+			Assert.assertTrue(sqrt.equals(a.pow(new Ultra(0.5, 0, 1e-300, 0, 0, 0, 0, 0)), 1e3));
+		}
+		Ultra a = new Ultra(1, 1, 0, 0, 0, 0, 0, 0);
+		Assert.assertEquals(new Ultra(2, 2, 0, 0, 0, 0, 0, 0), a.pow(new Ultra(2)));
+		Assert.assertEquals(a.times(Math.sqrt(0.5)), a.sqrt());
+		Assert.assertEquals(new Ultra(0, 0, 1, 0, 0, 0, 0, 0), new Ultra(-1).sqrt());
+		Assert.assertEquals(new Ultra(1), new Ultra().pow(0));
+	}
+	
+	@Test
+	public void testHashCode() {
+		
+		/**
+		 * equal numbers must have the same hash code, so they can be used as keys.
+		 */
+		Random random = new Random(42);
+		HashSet<Ultra> set = new HashSet<Ultra>();
+		for (int n = 0; n < 1000; ++n) {
+			Ultra a = new Ultra(random.nextInt(10), random.nextInt(2), 0, random.nextInt(2), 0, 0, random.nextInt(2), 0);
+			Ultra b = a.times(1 + 1e-14);
+			Assert.assertEquals(a, b);
+			Assert.assertEquals(a.hashCode(), b.hashCode());
+			Assert.assertTrue(a.equalsExact(new Ultra(a)));
+			set.add(b);
+		}
+		Assert.assertEquals(10 * 2 * 2 * 2, set.size());
+		Assert.assertEquals(new Ultra().hashCode(), new Ultra(-0d, 1e-12, 0, 0, 0, 0, 0, 0).hashCode());
+		Assert.assertFalse(new Ultra(1).equalsExact(new Ultra(1 + 1e-14)));
+	}
+	
+	@Test
+	public void testBatch() {
+		
+		/**
+		 * every operation of a batch must give the same numbers as the one of Ultra.
+		 */
+		Random random = new Random(42);
+		int size = 256;
+		Ultra[] a = new Ultra[size];
+		Ultra[] b = new Ultra[size];
+		for (int n = 0; n < size; ++n) {
+			a[n] = new Ultra();
+			b[n] = new Ultra();
+			for (int i = 0; i < 8; ++i) {
+				if ((n & (1 << i)) != 0 || i == 0) {
+					a[n] = a[n].plus(Ultra.unit(i).times(random.nextDouble() * 2 - 1));
+					b[n] = b[n].plus(Ultra.unit(i).times(random.nextDouble() * 2 - 1));
+				}
+			}
+		}
+		UltraBatch x = new UltraBatch(a);
+		UltraBatch y = new UltraBatch(b);
+		Ultra power = new Ultra(1.5, 0, 0.5, 0, 0, 0, 0, 0);
+		UltraBatch[] results = {x, x.plus(y), x.minus(y), x.times(y), x.times(power), x.times(3), x.exp(), x.sin(), x.cos(),
+				x.by(y), x.ln(), x.pow(y), x.pow(power)};
+		for (int n = 0; n < size; ++n) {
+			Ultra[] expected = {a[n], a[n].plus(b[n]), a[n].minus(b[n]), a[n].times(b[n]), a[n].times(power), a[n].times(3),
+					a[n].exp(), a[n].sin(), a[n].cos(), a[n].by(b[n]), a[n].ln(), a[n].pow(b[n]), a[n].pow(power)};
+			boolean invertible = a[n].det() != 0 && b[n].det() != 0;
+			for (int j = 0; j < expected.length; ++j) {
+				if (j < 9) {
+					Assert.assertEquals(expected[j], results[j].get(n));
+				} else if (invertible) {
+					Assert.assertTrue(expected[j].equals(results[j].get(n), 1e3));
+				}
+			}
+		}
+		// batches of different sizes are refused instead of read past their end
+		UltraBatch shorter = new UltraBatch(size - 1);
+		int rejected = 0;
+		try {
+			x.plus(shorter);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			shorter.minus(x);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			x.times(shorter);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		Assert.assertEquals(3, rejected);
+	}
+	
+	@Test
+	public void testBulk() {
+		
+		/**
+		 * the bulk operations must give the same results as simple loops, for all grain sizes.
+		 * the reductions mustn't depend on the threads.
+		 */
+		Random random = new Random(42);
+		int size = 5000;
+		Ultra[] a = new Ultra[size];
+		Ultra[] b = new Ultra[size];
+		for (int n = 0; n < size; ++n) {
+			a[n] = new Ultra(random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble(),
+					random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble()).times(0.001);
+			b[n] = a[n].plus(Ultra.ONE);
+		}
+		UltraFunction sin = new UltraFunction() {
+			@Override
+			public Ultra apply(Ultra x) {
+				return x.sin();
+			}
+		};
+		UltraOperator times = new UltraOperator() {
+			@Override
+			public Ultra apply(Ultra x, Ultra y) {
+				return x.times(y);
+			}
+		};
+		Ultra sum = new Ultra();
+		Ultra product = new Ultra(1);
+		for (int n = 0; n < size; ++n) {
+			sum = sum.plus(a[n]);
+			product = product.times(b[n]);
+		}
+		for (int grain : new int[] {1, 7, 1024, size}) {
+			Ultra[] out = new Ultra[size];
+			UltraParallel.map(a, sin, out, grain);
+			for (int n = 0; n < size; ++n) {
+				Assert.assertEquals(a[n].sin(), out[n]);
+			}
+			UltraParallel.zipWith(a, b, times, out, grain);
+			for (int n = 0; n < size; ++n) {
+				Assert.assertEquals(a[n].times(b[n]), out[n]);
+			}
+			Assert.assertEquals(sum, UltraParallel.reduce(a, new UltraOperator() {
+				@Override
+				public Ultra apply(Ultra x, Ultra y) {
+					return x.plus(y);
+				}
+			}, new Ultra(), grain));
+			Ultra reduced = UltraParallel.reduce(b, times, new Ultra(1), grain);
+			Assert.assertEquals(product, reduced);
+			for (int i = 0; i < 3; ++i) {
+				Ultra again = UltraParallel.reduce(b, times, new Ultra(1), grain);
+				for (int j = 0; j < 8; ++j) {
+					Assert.assertEquals(reduced.getDouble(j), again.getDouble(j), 0);
+				}
+			}
+		}
+		Assert.assertEquals(sum, UltraParallel.sum(a));
+		Assert.assertEquals(product, UltraParallel.product(b));
+		Assert.assertEquals(new Ultra(1), UltraParallel.product(new Ultra[0]));
+		// arrays of different lengths are refused before anything is written
+		Ultra[] shorter = new Ultra[size - 1];
+		int rejected = 0;
+		try {
+			UltraParallel.zipWith(a, shorter, times, a, 7);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			UltraParallel.zipWith(shorter, b, times, shorter, 7);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			UltraParallel.zipWith(a, b, times, shorter, 7);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		try {
+			UltraParallel.map(a, sin, shorter, 7);
+		} catch (IllegalArgumentException e) {
+			++rejected;
+		}
+		Assert.assertEquals(4, rejected);
+		Assert.assertEquals(sum, UltraParallel.sum(a));
+	}
+	
 	public static void printTrig(Ultra x) {
 		System.out.println("########################################");
 		System.out.print("x: ");
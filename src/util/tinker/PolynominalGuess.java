@@ -1,48 +1,41 @@
 package util.tinker;
 
-import util.hypercomplex.Binary;
+import java.util.concurrent.ConcurrentHashMap;
+
 import util.hypercomplex.Complex;
-import util.hypercomplex.Dual;
 import util.hypercomplex.Hypercomplex;
-import util.hypercomplex.HypercomplexLSE;
+import util.hypercomplex.HypercomplexLU;
 
 public class PolynominalGuess {
 	
+	/**
+	 * the factored matrices of the equations, per type and number of variables.
+	 * they don't depend on the numbers, so each one is factored only once.
+	 */
+	private static final ConcurrentHashMap<String, HypercomplexLU> EQUATIONS = new ConcurrentHashMap<String, HypercomplexLU>();
+	
 	private int maxVariables;
-	private HypercomplexLSE lse;
 	private Hypercomplex guess;
 	
-	private static Hypercomplex[] getEquation(int variables, int x, Hypercomplex value) {
-		boolean complex = value.isComplex();
-		boolean binary = value.isBinary();
-		boolean dual = value.isDual();
-		Hypercomplex[] result = new Hypercomplex[variables + 1];
-		int count = 0;
-		for (int i = variables - 1; i >= 0; --i) {
-			if (complex)  {
-				result[count++] = new Complex(Math.pow(x, i));
-			} else if (binary) {
-				result[count++] = new Binary(Math.pow(x, i));
-			} else if (dual) {
-				result[count++] = new Dual(Math.pow(x, i));
+	/**
+	 * the equations p(x) == value for x == variables, ..., 1 with the coefficients of p as variables
+	 * (the one of x^(variables - 1) first)
+	 */
+	private static HypercomplexLU getEquations(String type, int variables) {
+		String key = type + variables;
+		HypercomplexLU lu = EQUATIONS.get(key);
+		if (lu == null) {
+			double[] matrix = new double[2 * variables * variables];
+			for (int equ = 0; equ < variables; ++equ) {
+				int x = variables - equ;
+				for (int i = variables - 1, var = 0; i >= 0; --i, ++var) {
+					matrix[2 * (equ * variables + var)] = Math.pow(x, i);
+				}
 			}
+			lu = new HypercomplexLU(type, variables, matrix);
+			EQUATIONS.putIfAbsent(key, lu);
 		}
-		result[variables] = value;
-		return result;
-	}
-	
-	private static Hypercomplex[] getEquation(Hypercomplex[][] equations) {
-		if (equations.length == 0 || equations[0].length == 0) {
-			return null;
-		}
-		Hypercomplex[] result = new Hypercomplex[equations.length * equations[0].length];
-		int count = 0;
-		for (int i = 0; i < equations.length; ++i) {
-			for (int j = 0; j < equations[i].length; ++j) {
-				result[count++] = equations[i][j];
-			}
-		}
-		return result;
+		return lu;
 	}
 
 	private static Hypercomplex[] doubleToHypercomplex(double... arr) {
@@ -63,13 +56,13 @@ public class PolynominalGuess {
 	
 	public PolynominalGuess(int maxVariables, Hypercomplex... numbers) {
 		this.maxVariables = Math.min(maxVariables, numbers.length);
-		Hypercomplex[][] equations = new Hypercomplex[this.maxVariables][];
+		Hypercomplex[] values = new Hypercomplex[this.maxVariables];
 		for (int i = 0; i < this.maxVariables; ++i) {
-			equations[i] = getEquation(this.maxVariables, this.maxVariables - i, numbers[numbers.length - this.maxVariables + i]);
+			values[i] = numbers[numbers.length - this.maxVariables + i];
 		}
-		lse = new HypercomplexLSE(this.maxVariables, getEquation(equations));
-		lse.solve();
-		guess = lse.getComplexData().get(this.maxVariables - 1).get(this.maxVariables);
+		String type = values[0].isBinary() ? "binary" : values[0].isDual() ? "dual" : "complex";
+		// the guess is p(0), the constant coefficient
+		guess = getEquations(type, this.maxVariables).solve(values)[this.maxVariables - 1];
 	}
 	
 	public PolynominalGuess(Hypercomplex... numbers) {